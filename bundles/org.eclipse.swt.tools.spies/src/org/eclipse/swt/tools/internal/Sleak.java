@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -249,7 +249,11 @@ void refreshObject () {
 	if (check.getSelection ()) {
 		ByteArrayOutputStream stream = new ByteArrayOutputStream ();
 		PrintStream s = new PrintStream (stream);
-		errors [index].printStackTrace (s);
+		if (errors [index] != null) {
+			errors [index].printStackTrace (s);
+		} else {
+			s.println ("Allocation stack not sampled");
+		}
 		text.setText (stream.toString ());
 		text.setVisible (true);
 		canvas.setVisible (false);
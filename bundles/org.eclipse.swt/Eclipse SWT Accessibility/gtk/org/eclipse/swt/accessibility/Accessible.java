@@ -143,6 +143,7 @@ public class Accessible {
 		if (listener == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
 		if (accessibleListeners == null) accessibleListeners = new ArrayList<>();
 		accessibleListeners.add (listener);
+		AccessibleObject.generation++;
 	}
 
 	/**
@@ -171,6 +172,7 @@ public class Accessible {
 		if (listener == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
 		if (accessibleControlListeners == null) accessibleControlListeners = new ArrayList<>();
 		accessibleControlListeners.add (listener);
+		AccessibleObject.generation++;
 	}
 
 	/**
@@ -584,6 +586,7 @@ public class Accessible {
 		if (accessibleControlListeners != null) {
 			accessibleControlListeners.remove(listener);
 			if (accessibleControlListeners.isEmpty()) accessibleControlListeners = null;
+			AccessibleObject.generation++;
 		}
 	}
 
@@ -612,6 +615,7 @@ public class Accessible {
 		if (accessibleListeners != null) {
 			accessibleListeners.remove(listener);
 			if (accessibleListeners.isEmpty()) accessibleListeners = null;
+			AccessibleObject.generation++;
 		}
 	}
 
@@ -18,8 +18,8 @@ import org.eclipse.swt.internal.gtk.*;
 import org.eclipse.swt.*;
 
 class AccessibleFactory {
-	static final Map<LONG, Accessible> Accessibles = new HashMap<> (9);
-	static final Map<LONG, LONG> Factories = new HashMap<> (9);
+	static final LongHashMap<Accessible> Accessibles = new LongHashMap<> (9);
+	static final LongHashMap<LONG> Factories = new LongHashMap<> (9);
 	static final String SWT_TYPE_PREFIX = "SWTAccessible"; //$NON-NLS-1$
 	static final String CHILD_TYPENAME = "Child"; //$NON-NLS-1$
 	static final String FACTORY_TYPENAME = "SWTFactory"; //$NON-NLS-1$
@@ -311,7 +311,7 @@ class AccessibleFactory {
 
 	static long /*int*/ getParentType (long /*int*/ widgetType) {
 		LONG type = null;
-		while (widgetType != 0 && (type = Factories.get(new LONG(widgetType))) == null) {
+		while (widgetType != 0 && (type = Factories.get (widgetType)) == null) {
 			widgetType = OS.g_type_parent (widgetType);
 		}
 		if (type == null) return 0;
@@ -319,7 +319,7 @@ class AccessibleFactory {
 	}
 
 	static long /*int*/ atkObjectFactory_create_accessible (long /*int*/ widget) {
-		Accessible accessible = Accessibles.get (new LONG (widget));
+		Accessible accessible = Accessibles.get (widget);
 		if (accessible == null) {
 			/*
 			* we don't care about this control, so create it with the parent's
@@ -618,15 +618,15 @@ class AccessibleFactory {
 			long /*int*/ swtFactoryType = OS.g_type_register_static (ATK.ATK_TYPE_OBJECT_FACTORY(), factoryName, info, 0);
 			long /*int*/ parentType = ATK.atk_object_factory_get_accessible_type(factory);
 			ATK.atk_registry_set_factory_type (registry, widgetType, swtFactoryType);
-			Factories.put (new LONG (widgetType), new LONG (parentType));
+			Factories.put (widgetType, new LONG (parentType));
 		}
 		if (AccessibleObject.DEBUG) AccessibleObject.print("-->Register=" + accessible.control + " " + widget); //$NON-NLS-1$
-		Accessibles.put (new LONG (widget), accessible);
+		Accessibles.put (widget, accessible);
 	}
 
 	static void unregisterAccessible (Accessible accessible) {
 		long /*int*/ widget = accessible.getControlHandle ();
-		Accessibles.remove (new LONG (widget));
+		Accessibles.remove (widget);
 		if (AccessibleObject.DEBUG) AccessibleObject.print("-->Deregister=" + accessible.control + " " + widget); //$NON-NLS-1$
 	}
 }
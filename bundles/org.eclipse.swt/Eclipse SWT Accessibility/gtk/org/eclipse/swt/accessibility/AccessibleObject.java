@@ -27,6 +27,15 @@ class AccessibleObject {
 	AccessibleObject parent;
 	AccessibleObject[] children;
 	/*
+	* The result of the last getChildren event. The objects of the children
+	* are only created when they are first asked for, see getChild().
+	*/
+	Object[] childList;
+	/* Listener results that are kept while CACHE is set */
+	int cacheGeneration = -1, cacheMask;
+	String cachedName;
+	int cachedRole, cachedState;
+	/*
 	* a lightweight object does not correspond to a concrete gtk widget, but
 	* to a logical child of a widget (eg.- a CTabItem, which is simply drawn)
 	*/
@@ -36,9 +45,19 @@ class AccessibleObject {
 	static long /*int*/ descriptionPtr = -1;
 	static long /*int*/ keybindingPtr = -1;
 	static long /*int*/ namePtr = -1;
-	static final Map<LONG, AccessibleObject> AccessibleObjects = new HashMap<> (9);
+	static final LongHashMap<AccessibleObject> AccessibleObjects = new LongHashMap<> (9);
 	static final boolean DEBUG = Device.DEBUG;
 
+	/*
+	* When set, the children, names, roles and states returned by the
+	* listeners are kept until the application reports a change through
+	* the Accessible or adds or removes a listener. Off by default, since
+	* applications are not required to report every change.
+	*/
+	static final boolean CACHE = "true".equals (System.getProperty ("org.eclipse.swt.internal.gtk.accessibleCache")); //$NON-NLS-1$
+	static final int CACHE_CHILDREN = 1, CACHE_NAME = 2, CACHE_ROLE = 4, CACHE_STATE = 8;
+	static int generation;
+
 	static final int ROW_ROLE;
 	static {
 
@@ -57,7 +76,7 @@ class AccessibleObject {
 		ATK.atk_object_initialize (handle, widget);
 		this.accessible = accessible;
 		this.isLightweight = isLightweight;
-		AccessibleObjects.put (new LONG (handle), this);
+		AccessibleObjects.put (handle, this);
 		if (DEBUG) print("new AccessibleObject: " + handle + " control=" + accessible.control + " lw=" + isLightweight);
 	}
 
@@ -1020,10 +1039,16 @@ class AccessibleObject {
 			if (length > 0) {
 				AccessibleEvent event = new AccessibleEvent (accessible);
 				event.childID = object.id;
-				if (parentResult != 0) event.result = getString (parentResult);
-				for (int i = 0; i < length; i++) {
-					AccessibleListener listener = listeners.get (i);
-					listener.getName (event);
+				if (object.isCached (CACHE_NAME)) {
+					event.result = object.cachedName;
+				} else {
+					if (parentResult != 0) event.result = getString (parentResult);
+					for (int i = 0; i < length; i++) {
+						AccessibleListener listener = listeners.get (i);
+						listener.getName (event);
+					}
+					object.cachedName = event.result;
+					object.setCached (CACHE_NAME);
 				}
 				if (DEBUG) print ("---> " + event.result);
 				if (event.result == null) return parentResult;
@@ -1117,9 +1142,15 @@ class AccessibleObject {
 				AccessibleControlEvent event = new AccessibleControlEvent (accessible);
 				event.childID = object.id;
 				event.detail = -1;
-				for (int i = 0; i < length; i++) {
-					AccessibleControlListener listener = listeners.get (i);
-					listener.getRole (event);
+				if (object.isCached (CACHE_ROLE)) {
+					event.detail = object.cachedRole;
+				} else {
+					for (int i = 0; i < length; i++) {
+						AccessibleControlListener listener = listeners.get (i);
+						listener.getRole (event);
+					}
+					object.cachedRole = event.detail;
+					object.setCached (CACHE_ROLE);
 				}
 				if (DEBUG) print ("---> " + event.detail);
 				if (event.detail != -1) {
@@ -1208,8 +1239,7 @@ class AccessibleObject {
 					}
 				}
 			}
-			object.updateChildren ();
-			AccessibleObject accObject = object.getChildByIndex ((int)/*64*/index);
+			AccessibleObject accObject = object.getChild ((int)/*64*/index);
 			if (accObject != null) {
 				return OS.g_object_ref (accObject.handle);
 			}
@@ -1236,9 +1266,15 @@ class AccessibleObject {
 				AccessibleControlEvent event = new AccessibleControlEvent (accessible);
 				event.childID = object.id;
 				event.detail = -1;
-				for (int i = 0; i < length; i++) {
-					AccessibleControlListener listener = listeners.get (i);
-					listener.getState (event);
+				if (object.isCached (CACHE_STATE)) {
+					event.detail = object.cachedState;
+				} else {
+					for (int i = 0; i < length; i++) {
+						AccessibleControlListener listener = listeners.get (i);
+						listener.getState (event);
+					}
+					object.cachedState = event.detail;
+					object.setCached (CACHE_STATE);
 				}
 				if (event.detail != -1) {
 					/*	Convert from win32 state values to atk state values */
@@ -3419,7 +3455,7 @@ class AccessibleObject {
 	}
 
 	static AccessibleObject getAccessibleObject (long /*int*/ atkObject) {
-		AccessibleObject object = AccessibleObjects.get (new LONG (atkObject));
+		AccessibleObject object = AccessibleObjects.get (atkObject);
 		if (object == null) return null;
 		if (object.accessible == null) return null;
 		Control control = object.accessible.control;
@@ -3436,14 +3472,72 @@ class AccessibleObject {
 				if (child != null && child.id == childId) return child;
 			}
 		}
-		return null;
+		/* Fetch the children once, and find the child in that same list */
+		if (childList == null || !isCached (CACHE_CHILDREN)) updateChildList ();
+		return getListedChildByID (childId);
 	}
 
-	AccessibleObject getChildByIndex (int childIndex) {
-		if (children != null && childIndex < children.length) return children [childIndex];
+	/*
+	* Returns the child with the id in the child list that was fetched last,
+	* without fetching the children again.
+	*/
+	AccessibleObject getListedChildByID (int childId) {
+		if (childId == ACC.CHILDID_SELF) return this;
+		if (childId == ACC.CHILDID_NONE || childId == ACC.CHILDID_MULTIPLE) return null;
+		for (int i = 0; i < childList.length; i++) {
+			Object child = childList [i];
+			if (child instanceof Integer && ((Integer)child).intValue () == childId) return ensureChild (i);
+		}
 		return null;
 	}
 
+	/*
+	* Returns the child at the index, creating its object if it has not been
+	* asked for since the last getChildren event.
+	*/
+	AccessibleObject getChild (int childIndex) {
+		if (childList == null || !isCached (CACHE_CHILDREN)) updateChildList ();
+		return ensureChild (childIndex);
+	}
+
+	/*
+	* Returns the child at the index of the current child list, creating its
+	* object if needed, without fetching the children again.
+	*/
+	AccessibleObject ensureChild (int childIndex) {
+		if (childIndex < 0 || childIndex >= children.length) return null;
+		AccessibleObject object = children [childIndex];
+		if (object != null) return object;
+		Object child = childList [childIndex];
+		if (child instanceof Integer) {
+			int id = ((Integer)child).intValue();
+			List<AccessibleControlListener> listeners = accessible.accessibleControlListeners;
+			int length = size(listeners);
+			AccessibleControlEvent event = new AccessibleControlEvent (accessible);
+			event.childID = id;
+			for (int i = 0; i < length; i++) {
+				AccessibleControlListener listener = listeners.get (i);
+				listener.getChild (event);
+			}
+			if (event.accessible != null) {
+				object = event.accessible.getAccessibleObject();
+				if (object != null)	OS.g_object_ref(object.handle);
+			} else {
+				object = AccessibleFactory.createChildAccessible (accessible, id);
+			}
+			if (object != null) object.id = id;
+		} else if (child instanceof Accessible) {
+			object = ((Accessible)child).getAccessibleObject();
+			if (object != null)	OS.g_object_ref(object.handle);
+		}
+		if (object != null) {
+			object.index = childIndex;
+			object.parent = this;
+			children [childIndex] = object;
+		}
+		return object;
+	}
+
 	String getText () {
 		List<AccessibleControlListener> listeners = accessible.accessibleControlListeners;
 		int length = size(listeners);
@@ -3479,10 +3573,7 @@ class AccessibleObject {
 		GObjectClass objectClassStruct = new GObjectClass ();
 		ATK.memmove (objectClassStruct, gObjectClass);
 		ATK.call (objectClassStruct.finalize, atkObject);
-		AccessibleObject object = AccessibleObjects.get (new LONG (atkObject));
-		if (object != null) {
-			AccessibleObjects.remove (new LONG (atkObject));
-		}
+		AccessibleObjects.remove (atkObject);
 		return 0;
 	}
 
@@ -3588,6 +3679,7 @@ class AccessibleObject {
 			}
 			children = null;
 		}
+		childList = null;
 		// TODO remove from children from parent?
 		if (isLightweight) {
 			OS.g_object_unref(handle);
@@ -3610,10 +3702,12 @@ class AccessibleObject {
 	}
 
 	void selectionChanged () {
+		generation++;
 		OS.g_signal_emit_by_name (handle, ATK.selection_changed);
 	}
 
 	void sendEvent(int event, Object eventData) {
+		generation++;
 		switch (event) {
 			case ACC.EVENT_SELECTION_CHANGED:
 				OS.g_signal_emit_by_name (handle, ATK.selection_changed);
@@ -3812,16 +3906,18 @@ class AccessibleObject {
 	}
 
 	void sendEvent(int event, Object eventData, int childID) {
-		updateChildren ();
-		AccessibleObject accObject = getChildByID (childID);
+		generation++;
+		updateChildList ();
+		AccessibleObject accObject = getListedChildByID (childID);
 		if (accObject != null) {
 			accObject.sendEvent(event, eventData);
 		}
 	}
 
 	void setFocus (int childID) {
-		updateChildren ();
-		AccessibleObject accObject = getChildByID (childID);
+		generation++;
+		updateChildList ();
+		AccessibleObject accObject = getListedChildByID (childID);
 		if (accObject != null) {
 			OS.g_signal_emit_by_name (accObject.handle, ATK.focus_event, 1, 0);
 			ATK.atk_object_notify_state_change(accObject.handle, ATK.ATK_STATE_FOCUSED, true);
@@ -3829,10 +3925,12 @@ class AccessibleObject {
 	}
 
 	void textCaretMoved(int index) {
+		generation++;
 		OS.g_signal_emit_by_name (handle, ATK.text_caret_moved, index);
 	}
 
 	void textChanged(int type, int startIndex, int length) {
+		generation++;
 		if (type == ACC.TEXT_DELETE) {
 			OS.g_signal_emit_by_name (handle, ATK.text_changed_delete, startIndex, length);
 		} else {
@@ -3841,10 +3939,35 @@ class AccessibleObject {
 	}
 
 	void textSelectionChanged() {
+		generation++;
 		OS.g_signal_emit_by_name (handle, ATK.text_selection_changed);
 	}
 
-	void updateChildren () {
+	/*
+	* Returns whether the listener results in the mask are cached and have
+	* not been invalidated by a change since they were stored.
+	*/
+	boolean isCached (int mask) {
+		if (!CACHE) return false;
+		if (cacheGeneration != generation) {
+			cacheGeneration = generation;
+			cacheMask = 0;
+		}
+		return (cacheMask & mask) != 0;
+	}
+
+	void setCached (int mask) {
+		if (!CACHE) return;
+		isCached (0);
+		cacheMask |= mask;
+	}
+
+	/*
+	* Fetches the children from the listeners. The objects of the children
+	* that are still at the same index are kept and the others are released.
+	* No object is created for a new child until getChild() asks for it.
+	*/
+	void updateChildList () {
 		List<AccessibleControlListener> listeners = accessible.accessibleControlListeners;
 		int length = size(listeners);
 		AccessibleControlEvent event = new AccessibleControlEvent (accessible);
@@ -3853,50 +3976,31 @@ class AccessibleObject {
 			AccessibleControlListener listener = listeners.get (i);
 			listener.getChildren (event);
 		}
-		Object[] children = event.children;
+		Object[] childList = event.children != null ? event.children : new Object [0];
 		AccessibleObject[] oldChildren = this.children;
-		int count = children != null ? children.length : 0;
+		int count = childList.length;
 		AccessibleObject[] newChildren = new AccessibleObject[count];
-		for (int i = 0; i < count; i++) {
-			Object child = children [i];
-			AccessibleObject object = null;
-			if (child instanceof Integer) {
-				int id = ((Integer)child).intValue();
-				object = oldChildren != null && i < oldChildren.length ? oldChildren [i] : null;
-				if (object == null || object.id != id) {
-					event = new AccessibleControlEvent (accessible);
-					event.childID = id;
-					for (int j = 0; j < length; j++) {
-						AccessibleControlListener listener = listeners.get (j);
-						listener.getChild (event);
-					}
-					if (event.accessible != null) {
-						object = event.accessible.getAccessibleObject();
-						if (object != null)	OS.g_object_ref(object.handle);
-					} else {
-						object = AccessibleFactory.createChildAccessible (accessible, id);
-					}
-					object.id = id;
-				} else {
-					OS.g_object_ref(object.handle);
-				}
-			} else if (child instanceof Accessible) {
-				object = ((Accessible)child).getAccessibleObject();
-				if (object != null)	OS.g_object_ref(object.handle);
-			}
-			if (object != null) {
-				object.index = i;
-				object.parent = this;
-				newChildren[i] = object;
-			}
-		}
 		if (oldChildren != null) {
 			for (int i = 0; i < oldChildren.length; i++) {
 				AccessibleObject object = oldChildren [i];
-				if (object != null) OS.g_object_unref(object.handle);
+				if (object == null) continue;
+				Object child = i < count ? childList [i] : null;
+				boolean keep = false;
+				if (child instanceof Integer) {
+					keep = object.id == ((Integer)child).intValue();
+				} else if (child instanceof Accessible) {
+					keep = object == ((Accessible)child).getAccessibleObject();
+				}
+				if (keep) {
+					newChildren [i] = object;
+				} else {
+					OS.g_object_unref(object.handle);
+				}
 			}
 		}
+		this.childList = childList;
 		this.children = newChildren;
+		setCached (CACHE_CHILDREN);
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2012 IBM Corporation and others.
+ * Copyright (c) 2003, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.swt.browser;
 
+import java.util.concurrent.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.widgets.*;
 
@@ -663,6 +665,81 @@ public Object evaluate (String script, boolean trusted) throws SWTException {
 	return webBrowser.evaluate (script, trusted);
 }
 
+/**
+ * Evaluates the specified script without waiting for it to complete, and
+ * returns a future of its result.
+ * <p>
+ * The script and its result are as described in <code>evaluate(String)</code>.
+ * Where the browser runs scripts asynchronously, the future is completed later
+ * from the event loop of the user-interface thread, and the caller does not
+ * run a nested event loop while the script is evaluated. Otherwise the script
+ * is evaluated before this method returns. If evaluating the script causes a
+ * javascript error to be thrown, or the script returns a value of unsupported
+ * type, the future is completed exceptionally with an <code>SWTException</code>.
+ * </p>
+ *
+ * @param script the script with javascript commands
+ *
+ * @return a future of the return value, if any, of executing the script
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the script is null</li>
+ * </ul>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_THREAD_INVALID_ACCESS when called from the wrong thread</li>
+ *    <li>ERROR_WIDGET_DISPOSED when the widget has been disposed</li>
+ * </ul>
+ *
+ * @see Browser#evaluate(String)
+ *
+ * @since 3.106
+ */
+public CompletableFuture<Object> evaluateAsync (String script) {
+	checkWidget();
+	if (script == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return webBrowser.evaluateAsync (script);
+}
+
+/**
+ * Evaluates the specified scripts, in order, without waiting for them to
+ * complete, and returns a future of their results.
+ * <p>
+ * Each script and its result are as described in <code>evaluate(String)</code>.
+ * Where the browser runs scripts asynchronously, all of the scripts are sent
+ * to it at once and the future is completed later from the event loop of the
+ * user-interface thread. If evaluating any of the scripts causes a javascript
+ * error to be thrown, or returns a value of unsupported type, the future is
+ * completed exceptionally with an <code>SWTException</code>.
+ * </p>
+ *
+ * @param scripts the scripts with javascript commands
+ *
+ * @return a future of the return values of executing the scripts, in the
+ * order of the scripts
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the scripts array or any of the scripts is null</li>
+ * </ul>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_THREAD_INVALID_ACCESS when called from the wrong thread</li>
+ *    <li>ERROR_WIDGET_DISPOSED when the widget has been disposed</li>
+ * </ul>
+ *
+ * @see Browser#evaluateAsync(String)
+ *
+ * @since 3.106
+ */
+public CompletableFuture<Object[]> evaluateAsync (String[] scripts) {
+	checkWidget();
+	if (scripts == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < scripts.length; i++) {
+		if (scripts[i] == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	}
+	return webBrowser.evaluateAsync (scripts);
+}
+
 /**
  * Navigate to the next session history item.
  *
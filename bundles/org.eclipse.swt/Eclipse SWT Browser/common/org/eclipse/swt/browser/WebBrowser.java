@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2016 IBM Corporation and others.
+ * Copyright (c) 2003, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@ package org.eclipse.swt.browser;
 
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.widgets.*;
@@ -409,6 +410,30 @@ public Object evaluate (String script, boolean trusted) throws SWTException {
 	return evaluate(script);
 }
 
+CompletableFuture<Object> evaluateAsync (String script) {
+	CompletableFuture<Object> future = new CompletableFuture<> ();
+	try {
+		future.complete (evaluate (script));
+	} catch (SWTException e) {
+		future.completeExceptionally (e);
+	}
+	return future;
+}
+
+CompletableFuture<Object[]> evaluateAsync (String[] scripts) {
+	CompletableFuture<Object[]> future = new CompletableFuture<> ();
+	try {
+		Object[] result = new Object[scripts.length];
+		for (int i = 0; i < scripts.length; i++) {
+			result[i] = evaluate (scripts[i]);
+		}
+		future.complete (result);
+	} catch (SWTException e) {
+		future.completeExceptionally (e);
+	}
+	return future;
+}
+
 public Object evaluate (String script) throws SWTException {
 	// Developer note:
 	// Webkit1 & Mozilla use this mechanism.
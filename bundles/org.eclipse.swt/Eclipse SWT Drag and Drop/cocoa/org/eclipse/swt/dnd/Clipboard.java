@@ -11,6 +11,8 @@
 package org.eclipse.swt.dnd;
 
 
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.cocoa.*;
 import org.eclipse.swt.widgets.*;
@@ -305,6 +307,73 @@ public Object getContents(Transfer transfer, int clipboards) {
 	return null;
 }
 
+/**
+ * Retrieve the data of the specified type currently available on the specified
+ * clipboard without waiting for it, and pass it to the consumer once it has
+ * been received. Refer to the specific subclass of <code>Transfer</code> to
+ * determine the type of object passed.
+ *
+ * <p>Unlike <code>getContents</code>, this method returns immediately and does
+ * not run the event loop. The consumer is called later from the event loop of
+ * the user-interface thread, with <code>null</code> if no data of this type is
+ * available. It is not called if the receiver is disposed first.</p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @param clipboards on which to look for data
+ * @param consumer the consumer of the data
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer or consumer is null</li>
+ * </ul>
+ *
+ * @see #getContents(Transfer, int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.106
+ */
+public void getContentsAsync(Transfer transfer, int clipboards, Consumer<Object> consumer) {
+	checkWidget();
+	if (transfer == null || consumer == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	display.asyncExec(() -> {
+		if (isDisposed()) return;
+		consumer.accept(getContents(transfer, clipboards));
+	});
+}
+
+/**
+ * Retrieve the data of the specified type currently available on the system
+ * clipboard without waiting for it, and pass it to the consumer once it has
+ * been received.
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @param consumer the consumer of the data
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer or consumer is null</li>
+ * </ul>
+ *
+ * @see #getContentsAsync(Transfer, int, Consumer)
+ *
+ * @since 3.106
+ */
+public void getContentsAsync(Transfer transfer, Consumer<Object> consumer) {
+	getContentsAsync(transfer, DND.CLIPBOARD, consumer);
+}
+
 /**
  * Returns <code>true</code> if the clipboard has been disposed,
  * and <code>false</code> otherwise.
@@ -473,6 +542,80 @@ public void setContents(Object[] data, Transfer[] dataTypes, int clipboards) {
 	}
 }
 
+/**
+ * Place data of the specified type on the specified clipboard, providing
+ * the data only when it is requested. More than one type of data can be
+ * placed on the specified clipboard at the same time. Setting the data
+ * clears any previous data from the specified clipboard, regardless of type.
+ *
+ * <p>Each supplier is invoked at most once, on the user-interface thread.
+ * Where the platform lets the clipboard request the data, the supplier is
+ * invoked the first time its type is requested and the result is kept until
+ * the data on the clipboard is replaced; elsewhere all suppliers are invoked
+ * before this method returns. A supplier that returns <code>null</code> or
+ * data that is not valid for its transfer agent provides no data for that
+ * type, and is not invoked again.</p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param suppliers the suppliers of the data to be set in the clipboard
+ * @param dataTypes the transfer agents that will convert the data to its
+ * platform specific format; each entry in the suppliers array must have a
+ * corresponding dataType
+ * @param clipboards on which to set the data
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if suppliers is null or datatypes is null
+ *          or the length of suppliers is not the same as the length of dataTypes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *  @exception SWTError <ul>
+ *    <li>ERROR_CANNOT_SET_CLIPBOARD - if the clipboard is locked or otherwise unavailable</li>
+ * </ul>
+ *
+ * @see #setContents(Object[], Transfer[], int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.106
+ */
+public void setContentSuppliers(Supplier<?>[] suppliers, Transfer[] dataTypes, int clipboards) {
+	checkWidget();
+	if (suppliers == null || dataTypes == null || suppliers.length != dataTypes.length || suppliers.length == 0) {
+		DND.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	for (int i = 0; i < suppliers.length; i++) {
+		if (suppliers[i] == null || dataTypes[i] == null) {
+			DND.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+	}
+	/* The clipboard can not request the data later, so get it now */
+	Object[] data = new Object[suppliers.length];
+	Transfer[] types = new Transfer[suppliers.length];
+	int count = 0;
+	for (int i = 0; i < suppliers.length; i++) {
+		Object value = suppliers[i].get();
+		if (value == null || !dataTypes[i].validate(value)) continue;
+		data[count] = value;
+		types[count++] = dataTypes[i];
+	}
+	if (count == 0) {
+		clearContents(clipboards);
+		return;
+	}
+	if (count != data.length) {
+		System.arraycopy(data, 0, data = new Object[count], 0, count);
+		System.arraycopy(types, 0, types = new Transfer[count], 0, count);
+	}
+	setContents(data, types, clipboards);
+}
+
 /**
  * Returns an array of the data types currently available on the system
  * clipboard. Use with Transfer.isSupportedType.
@@ -531,6 +674,66 @@ public TransferData[] getAvailableTypes(int clipboards) {
 	return result;
 }
 
+/**
+ * Requests the data types currently available on the specified clipboard
+ * without waiting for them, and passes them to the consumer once they have
+ * been received. Use with Transfer.isSupportedType.
+ *
+ * <p>Unlike <code>getAvailableTypes</code>, this method returns immediately
+ * and does not run the event loop. The consumer is called later from the event
+ * loop of the user-interface thread. It is not called if the receiver is
+ * disposed first.</p>
+ *
+ * @param clipboards from which to get the data types
+ * @param consumer the consumer of the data types
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if consumer is null</li>
+ * </ul>
+ *
+ * @see #getAvailableTypes(int)
+ * @see Transfer#isSupportedType
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.106
+ */
+public void getAvailableTypesAsync(int clipboards, Consumer<TransferData[]> consumer) {
+	checkWidget();
+	if (consumer == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	display.asyncExec(() -> {
+		if (isDisposed()) return;
+		consumer.accept(getAvailableTypes(clipboards));
+	});
+}
+
+/**
+ * Requests the data types currently available on the system clipboard
+ * without waiting for them, and passes them to the consumer once they have
+ * been received. Use with Transfer.isSupportedType.
+ *
+ * @param consumer the consumer of the data types
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if consumer is null</li>
+ * </ul>
+ *
+ * @see #getAvailableTypesAsync(int, Consumer)
+ *
+ * @since 3.106
+ */
+public void getAvailableTypesAsync(Consumer<TransferData[]> consumer) {
+	getAvailableTypesAsync(DND.CLIPBOARD, consumer);
+}
+
 /**
  * Returns a platform specific list of the data types currently available on the
  * system clipboard.
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.dnd;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.function.*;
+
+import org.eclipse.swt.internal.gtk.*;
+
+/**
+ * The class <code>ChannelTransfer</code> provides a platform specific
+ * mechanism for converting a stream of bytes, read from a java
+ * <code>ReadableByteChannel</code>, to a platform specific representation
+ * and vice versa, without holding the whole data in the java heap.
+ *
+ * <p>When data is set, it is a <code>Supplier&lt;ReadableByteChannel&gt;</code>.
+ * The data may be requested many times, for example once for every paste, so
+ * the supplier is asked for a new channel for every request. The channel is
+ * read in chunks, directly into platform memory, and is closed once it has
+ * been read. When data is retrieved, it is a <code>ReadableByteChannel</code>
+ * that reads the platform memory in chunks. That channel should be closed
+ * by the application to release the platform memory; a channel that is not
+ * closed only releases it when it is garbage collected.</p>
+ *
+ * <p><code>ChannelTransfer</code> is never used directly but is sub-classed
+ * by transfer agents that define the platform specific type names and ids,
+ * as described in <code>ByteArrayTransfer</code>.</p>
+ *
+ * @see ByteArrayTransfer
+ * @see Transfer
+ *
+ * @since 3.106
+ */
+public abstract class ChannelTransfer extends ByteArrayTransfer {
+
+	/* The size of the chunks read from and written to channels */
+	static final int CHUNK_SIZE = 64 * 1024;
+
+/**
+ * This implementation of <code>javaToNative</code> asks the supplier for
+ * a new <code>ReadableByteChannel</code>, reads it to its end into platform
+ * memory and closes it.
+ *
+ * @param object a <code>Supplier&lt;ReadableByteChannel&gt;</code> of channels containing the data to be converted
+ * @param transferData an empty <code>TransferData</code> object that will
+ *  	be filled in on return with the platform specific format of the data
+ *
+ * @see Transfer#nativeToJava
+ */
+@Override
+protected void javaToNative (Object object, TransferData transferData) {
+	transferData.result = 0;
+	if (!checkSupplier(object) || !isSupportedType(transferData)) {
+		DND.error(DND.ERROR_INVALID_DATA);
+	}
+	ReadableByteChannel channel = openChannel(object);
+	if (channel == null) return;
+	byte[] chunk = new byte[CHUNK_SIZE];
+	ByteBuffer buffer = ByteBuffer.wrap(chunk);
+	long /*int*/ pValue = 0;
+	int length = 0, capacity = 0;
+	boolean failed = false;
+	try {
+		try {
+			while (!failed) {
+				buffer.clear();
+				int count = channel.read(buffer);
+				if (count == -1) break;
+				if (length + (long)count > capacity) {
+					long newCapacity = Math.min(Integer.MAX_VALUE, Math.max((long)length + count, Math.max(CHUNK_SIZE, (long)capacity * 2)));
+					long /*int*/ ptr = newCapacity < (long)length + count ? 0 : OS.g_realloc(pValue, (int)newCapacity);
+					if (ptr == 0) {
+						failed = true;
+						break;
+					}
+					pValue = ptr;
+					capacity = (int)newCapacity;
+				}
+				OS.memmove(pValue + length, chunk, count);
+				length += count;
+			}
+		} finally {
+			channel.close();
+		}
+	} catch (IOException e) {
+		failed = true;
+	}
+	if (failed || length == 0) {
+		if (pValue != 0) OS.g_free(pValue);
+		return;
+	}
+	transferData.length = length;
+	transferData.format = 8;
+	transferData.pValue = pValue;
+	transferData.result = 1;
+}
+
+/**
+ * This implementation of <code>nativeToJava</code> copies the data into
+ * platform memory owned by the returned <code>ReadableByteChannel</code>.
+ * The channel should be closed to release that memory as soon as it has
+ * been read; otherwise the memory is released when the channel is garbage
+ * collected.
+ *
+ * @param transferData the platform specific representation of the data to be
+ * converted
+ * @return a <code>ReadableByteChannel</code> of the data if the conversion was
+ * 		successful; otherwise null
+ *
+ * @see Transfer#javaToNative
+ */
+@Override
+protected Object nativeToJava(TransferData transferData) {
+	if (!isSupportedType(transferData) || transferData.pValue == 0) return null;
+	int size = transferData.format * transferData.length / 8;
+	if (size <= 0) return null;
+	long /*int*/ pValue = OS.g_malloc(size);
+	if (pValue == 0) return null;
+	OS.memmove(pValue, transferData.pValue, size);
+	return new NativeChannel(pValue, size);
+}
+
+@Override
+protected boolean validate(Object object) {
+	return checkSupplier(object);
+}
+
+boolean checkSupplier(Object object) {
+	return object instanceof Supplier;
+}
+
+/*
+* Returns a new open channel from the supplier, or null when the supplier
+* fails or does not return one. The data may be requested again later, so
+* a failure of one request is not an error.
+*/
+static ReadableByteChannel openChannel(Object supplier) {
+	Object channel;
+	try {
+		channel = ((Supplier<?>)supplier).get();
+	} catch (RuntimeException e) {
+		return null;
+	}
+	if (!(channel instanceof ReadableByteChannel)) return null;
+	if (!((ReadableByteChannel)channel).isOpen()) return null;
+	return (ReadableByteChannel)channel;
+}
+
+/*
+* Reads platform memory in chunks and frees it when closed, or when it
+* is garbage collected without having been closed.
+*/
+static class NativeChannel implements ReadableByteChannel {
+	long /*int*/ pValue;
+	int size, position;
+	byte[] chunk;
+
+	NativeChannel(long /*int*/ pValue, int size) {
+		this.pValue = pValue;
+		this.size = size;
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		if (pValue == 0) throw new ClosedChannelException();
+		if (position == size) return -1;
+		int count = Math.min(dst.remaining(), size - position);
+		if (count == 0) return 0;
+		if (dst.hasArray()) {
+			int offset = dst.arrayOffset() + dst.position();
+			if (offset == 0) {
+				OS.memmove(dst.array(), pValue + position, count);
+			} else {
+				if (chunk == null) chunk = new byte[CHUNK_SIZE];
+				count = Math.min(count, chunk.length);
+				OS.memmove(chunk, pValue + position, count);
+				System.arraycopy(chunk, 0, dst.array(), offset, count);
+			}
+			dst.position(dst.position() + count);
+		} else {
+			if (chunk == null) chunk = new byte[CHUNK_SIZE];
+			count = Math.min(count, chunk.length);
+			OS.memmove(chunk, pValue + position, count);
+			dst.put(chunk, 0, count);
+		}
+		position += count;
+		return count;
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return pValue != 0;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (pValue != 0) OS.g_free(pValue);
+		pValue = 0;
+	}
+
+	/*
+	* The channel is returned to the application by a paste or a drop and
+	* nothing else refers to it, so the memory is freed here when the
+	* application drops the channel without closing it.
+	*/
+	@Override
+	protected void finalize() {
+		close();
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
 package org.eclipse.swt.dnd;
 
 
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.gtk.*;
@@ -33,7 +35,7 @@ public class Clipboard {
 
 	static long /*int*/ GTKCLIPBOARD;
 	static long /*int*/ GTKPRIMARYCLIPBOARD;
-	private static long /*int*/ TARGET;
+	static long /*int*/ TARGET;
 
 	static {
 		GTKCLIPBOARD = OS.gtk_clipboard_get(OS.GDK_NONE);
@@ -322,6 +324,70 @@ public Object getContents(Transfer transfer, int clipboards) {
 	return result;
 }
 
+/**
+ * Retrieve the data of the specified type currently available on the specified
+ * clipboard without waiting for it, and pass it to the consumer once it has
+ * been received. Refer to the specific subclass of <code>Transfer</code> to
+ * determine the type of object passed.
+ *
+ * <p>Unlike <code>getContents</code>, this method returns immediately and does
+ * not run the event loop. The consumer is called later from the event loop of
+ * the user-interface thread, with <code>null</code> if no data of this type is
+ * available. It is not called if the receiver is disposed first.</p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @param clipboards on which to look for data
+ * @param consumer the consumer of the data
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer or consumer is null</li>
+ * </ul>
+ *
+ * @see #getContents(Transfer, int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.106
+ */
+public void getContentsAsync(Transfer transfer, int clipboards, Consumer<Object> consumer) {
+	checkWidget();
+	if (transfer == null || consumer == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	ClipboardProxy._getInstance(display).request(this, transfer, clipboards, consumer);
+}
+
+/**
+ * Retrieve the data of the specified type currently available on the system
+ * clipboard without waiting for it, and pass it to the consumer once it has
+ * been received.
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @param consumer the consumer of the data
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer or consumer is null</li>
+ * </ul>
+ *
+ * @see #getContentsAsync(Transfer, int, Consumer)
+ *
+ * @since 3.106
+ */
+public void getContentsAsync(Transfer transfer, Consumer<Object> consumer) {
+	getContentsAsync(transfer, DND.CLIPBOARD, consumer);
+}
+
 /**
  * Returns <code>true</code> if the clipboard has been disposed,
  * and <code>false</code> otherwise.
@@ -460,7 +526,70 @@ public void setContents(Object[] data, Transfer[] dataTypes, int clipboards) {
 		}
 	}
 	ClipboardProxy proxy = ClipboardProxy._getInstance(display);
-	if (!proxy.setData(this, data, dataTypes, clipboards)) {
+	if (!proxy.setData(this, data, null, dataTypes, clipboards)) {
+		DND.error(DND.ERROR_CANNOT_SET_CLIPBOARD);
+	}
+}
+
+/**
+ * Place data of the specified type on the specified clipboard, providing
+ * the data only when it is requested. More than one type of data can be
+ * placed on the specified clipboard at the same time. Setting the data
+ * clears any previous data from the specified clipboard, regardless of type.
+ *
+ * <p>Each supplier is invoked at most once, on the user-interface thread.
+ * Where the platform lets the clipboard request the data, the supplier is
+ * invoked the first time its type is requested and the result is kept until
+ * the data on the clipboard is replaced; elsewhere all suppliers are invoked
+ * before this method returns. A supplier that returns <code>null</code> or
+ * data that is not valid for its transfer agent provides no data for that
+ * type, and is not invoked again.</p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param suppliers the suppliers of the data to be set in the clipboard
+ * @param dataTypes the transfer agents that will convert the data to its
+ * platform specific format; each entry in the suppliers array must have a
+ * corresponding dataType
+ * @param clipboards on which to set the data
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if suppliers is null or datatypes is null
+ *          or the length of suppliers is not the same as the length of dataTypes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *  @exception SWTError <ul>
+ *    <li>ERROR_CANNOT_SET_CLIPBOARD - if the clipboard is locked or otherwise unavailable</li>
+ * </ul>
+ *
+ * @see #setContents(Object[], Transfer[], int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.106
+ */
+public void setContentSuppliers(Supplier<?>[] suppliers, Transfer[] dataTypes, int clipboards) {
+	checkWidget();
+	if (suppliers == null || dataTypes == null || suppliers.length != dataTypes.length || suppliers.length == 0) {
+		DND.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	for (int i = 0; i < suppliers.length; i++) {
+		if (suppliers[i] == null || dataTypes[i] == null) {
+			DND.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+	}
+	/*
+	* The proxy clears the entry of a supplier when it is invoked, so it
+	* works on a copy of the array.
+	*/
+	ClipboardProxy proxy = ClipboardProxy._getInstance(display);
+	if (!proxy.setData(this, new Object[suppliers.length], suppliers.clone(), dataTypes, clipboards)) {
 		DND.error(DND.ERROR_CANNOT_SET_CLIPBOARD);
 	}
 }
@@ -537,6 +666,72 @@ public TransferData[] getAvailableTypes(int clipboards) {
 	return result == null ? new TransferData[0] : result;
 }
 
+/**
+ * Requests the data types currently available on the specified clipboard
+ * without waiting for them, and passes them to the consumer once they have
+ * been received. Use with Transfer.isSupportedType.
+ *
+ * <p>Unlike <code>getAvailableTypes</code>, this method returns immediately
+ * and does not run the event loop. The consumer is called later from the event
+ * loop of the user-interface thread. It is not called if the receiver is
+ * disposed first.</p>
+ *
+ * @param clipboards from which to get the data types
+ * @param consumer the consumer of the data types
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if consumer is null</li>
+ * </ul>
+ *
+ * @see #getAvailableTypes(int)
+ * @see Transfer#isSupportedType
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.106
+ */
+public void getAvailableTypesAsync(int clipboards, Consumer<TransferData[]> consumer) {
+	checkWidget();
+	if (consumer == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	ClipboardProxy._getInstance(display).request(this, null, clipboards, result -> consumer.accept((TransferData[]) result));
+}
+
+/**
+ * Requests the data types currently available on the system clipboard
+ * without waiting for them, and passes them to the consumer once they have
+ * been received. Use with Transfer.isSupportedType.
+ *
+ * @param consumer the consumer of the data types
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if consumer is null</li>
+ * </ul>
+ *
+ * @see #getAvailableTypesAsync(int, Consumer)
+ *
+ * @since 3.106
+ */
+public void getAvailableTypesAsync(Consumer<TransferData[]> consumer) {
+	getAvailableTypesAsync(DND.CLIPBOARD, consumer);
+}
+
+static TransferData[] toTransferData(int[] types) {
+	TransferData[] result = new TransferData[types.length];
+	for (int i = 0; i < types.length; i++) {
+		result[i] = new TransferData();
+		result[i].type = types[i];
+	}
+	return result;
+}
+
 /**
  * Returns a platform specific list of the data types currently available on the
  * system clipboard.
@@ -648,7 +843,7 @@ long /*int*/ gtk_clipboard_wait_for_contents(long /*int*/ clipboard, long /*int*
 	long duration = System.currentTimeMillis() - startTime;
 	if (selection_data == 0 && duration > 5000) {
 		// Bug 241957: In case of timeout take clipboard ownership to unblock future calls
-		ClipboardProxy._getInstance(display).setData(this, new String[] {" "},
+		ClipboardProxy._getInstance(display).setData(this, new String[] {" "}, null,
 				new Transfer[] { TextTransfer.getInstance() },
 				clipboard == GTKCLIPBOARD ? DND.CLIPBOARD : DND.SELECTION_CLIPBOARD);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
 package org.eclipse.swt.dnd;
 
 
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.gtk.*;
@@ -21,8 +23,10 @@ class ClipboardProxy {
 	 * This class will remember the data and provide it when requested.
 	 */
 	Object[] clipboardData;
+	Supplier<?>[] clipboardSuppliers;
 	Transfer[] clipboardDataTypes;
 	Object[] primaryClipboardData;
+	Supplier<?>[] primaryClipboardSuppliers;
 	Transfer[] primaryClipboardDataTypes;
 
 	long /*int*/ clipboardOwner = OS.gtk_window_new(0);
@@ -31,6 +35,20 @@ class ClipboardProxy {
 	Clipboard activePrimaryClipboard = null;
 	Callback getFunc;
 	Callback clearFunc;
+	Callback receivedFunc;
+
+	/* Pending asynchronous requests, keyed by the user data passed to GTK */
+	LongHashMap<Request> requests = new LongHashMap<Request>();
+	int requestId;
+
+	static class Request {
+		Clipboard owner;
+		Transfer transfer;
+		int[] typeIds;
+		int clipboards, index;
+		int[] types = new int[0];
+		Consumer<Object> consumer;
+	}
 
 	static String ID = "CLIPBOARD PROXY OBJECT"; //$NON-NLS-1$
 
@@ -54,6 +72,8 @@ ClipboardProxy(Display display) {
 	if (getFunc.getAddress() == 0) SWT.error(SWT.ERROR_NO_MORE_CALLBACKS);
 	clearFunc = new Callback( this, "clearFunc", 2); //$NON-NLS-1$
 	if (clearFunc.getAddress() == 0) SWT.error(SWT.ERROR_NO_MORE_CALLBACKS);
+	receivedFunc = new Callback( this, "receivedFunc", 3); //$NON-NLS-1$
+	if (receivedFunc.getAddress() == 0) SWT.error(SWT.ERROR_NO_MORE_CALLBACKS);
 }
 
 void clear (Clipboard owner, int clipboards) {
@@ -69,11 +89,13 @@ long /*int*/ clearFunc(long /*int*/ clipboard,long /*int*/ user_data_or_owner){
 	if (clipboard == Clipboard.GTKCLIPBOARD) {
 		activeClipboard = null;
 		clipboardData = null;
+		clipboardSuppliers = null;
 		clipboardDataTypes = null;
 	}
 	if (clipboard == Clipboard.GTKPRIMARYCLIPBOARD) {
 		activePrimaryClipboard = null;
 		primaryClipboardData = null;
+		primaryClipboardSuppliers = null;
 		primaryClipboardDataTypes = null;
 	}
 	return 1;
@@ -92,9 +114,17 @@ void dispose () {
 	getFunc = null;
 	if (clearFunc != null) clearFunc.dispose();
 	clearFunc = null;
+	/*
+	* GTK calls receivedFunc once for every pending request, also after
+	* the display is disposed, so the callback is released only when the
+	* last pending request has finished.
+	*/
+	if (requests.isEmpty()) releaseReceivedFunc();
 	clipboardData = null;
+	clipboardSuppliers = null;
 	clipboardDataTypes = null;
 	primaryClipboardData = null;
+	primaryClipboardSuppliers = null;
 	primaryClipboardDataTypes = null;
 	if (clipboardOwner != 0) OS.gtk_widget_destroy (clipboardOwner);
 	clipboardOwner = 0;
@@ -119,6 +149,21 @@ long /*int*/ getFunc(long /*int*/ clipboard, long /*int*/ selection_data, long /
 	}
 	if (index == -1) return 0;
 	Object[] data = (clipboard == Clipboard.GTKCLIPBOARD) ? clipboardData : primaryClipboardData;
+	if (data[index] == null) {
+		/*
+		* The data was set with suppliers. Get it the first time it is
+		* requested and keep it until the clipboard contents change.
+		* The supplier is cleared before it is invoked, so that it is
+		* not invoked again when it provides no valid data.
+		*/
+		Supplier<?>[] suppliers = (clipboard == Clipboard.GTKCLIPBOARD) ? clipboardSuppliers : primaryClipboardSuppliers;
+		if (suppliers == null || suppliers[index] == null) return 0;
+		Supplier<?> supplier = suppliers[index];
+		suppliers[index] = null;
+		Object value = supplier.get();
+		if (value == null || !types[index].validate(value)) return 0;
+		data[index] = value;
+	}
 	types[index].javaToNative(data[index], tdata);
 	if (tdata.format < 8 || tdata.format % 8 != 0) {
 		return 0;
@@ -128,7 +173,87 @@ long /*int*/ getFunc(long /*int*/ clipboard, long /*int*/ selection_data, long /
 	return 1;
 }
 
-boolean setData(Clipboard owner, Object[] data, Transfer[] dataTypes, int clipboards) {
+/*
+* Requests the contents of a transfer, or the available types when the
+* transfer is null, without waiting for the owner of the clipboard. The
+* targets are tried in the order used by Clipboard.getContents() and the
+* result is passed to the consumer from the event loop.
+*/
+void request(Clipboard owner, Transfer transfer, int clipboards, Consumer<Object> consumer) {
+	Request request = new Request();
+	request.owner = owner;
+	request.transfer = transfer;
+	request.typeIds = transfer != null ? transfer.getTypeIds() : new int[] {0};
+	request.clipboards = clipboards;
+	request.consumer = consumer;
+	long /*int*/ id = ++requestId;
+	if (id == 0) id = ++requestId;
+	requests.put(id, request);
+	requestNext(id, request);
+}
+
+void requestNext(long /*int*/ id, Request request) {
+	while (request.index < request.typeIds.length * 2) {
+		int index = request.index++;
+		boolean primary = (index & 1) != 0;
+		if ((request.clipboards & (primary ? DND.SELECTION_CLIPBOARD : DND.CLIPBOARD)) == 0) continue;
+		long /*int*/ clipboard = primary ? Clipboard.GTKPRIMARYCLIPBOARD : Clipboard.GTKCLIPBOARD;
+		long /*int*/ target = request.transfer != null ? request.typeIds[index / 2] : Clipboard.TARGET;
+		OS.gtk_clipboard_request_contents(clipboard, target, receivedFunc.getAddress(), id);
+		return;
+	}
+	requests.remove(id);
+	deliver(request, request.transfer != null ? null : Clipboard.toTransferData(request.types));
+}
+
+void deliver(final Request request, final Object result) {
+	if (display == null || display.isDisposed()) return;
+	display.asyncExec(() -> {
+		if (!request.owner.isDisposed()) request.consumer.accept(result);
+	});
+}
+
+long /*int*/ receivedFunc(long /*int*/ clipboard, long /*int*/ selection_data, long /*int*/ user_data) {
+	if (display == null) {
+		requests.remove(user_data);
+		if (requests.isEmpty()) releaseReceivedFunc();
+		return 0;
+	}
+	Request request = requests.get(user_data);
+	if (request == null) return 0;
+	int length = selection_data != 0 ? OS.gtk_selection_data_get_length(selection_data) : -1;
+	if (length >= 0) {
+		if (request.transfer != null) {
+			TransferData tdata = new TransferData();
+			tdata.type = OS.gtk_selection_data_get_data_type(selection_data);
+			tdata.pValue = OS.gtk_selection_data_get_data(selection_data);
+			tdata.length = length;
+			tdata.format = OS.gtk_selection_data_get_format(selection_data);
+			Object result = request.transfer.nativeToJava(tdata);
+			requests.remove(user_data);
+			deliver(request, result);
+			return 0;
+		}
+		int format = OS.gtk_selection_data_get_format(selection_data);
+		if (length != 0 && format != 0) {
+			int[] types = new int[length * 8 / format];
+			OS.memmove(types, OS.gtk_selection_data_get_data(selection_data), length);
+			int[] newTypes = new int[request.types.length + types.length];
+			System.arraycopy(request.types, 0, newTypes, 0, request.types.length);
+			System.arraycopy(types, 0, newTypes, request.types.length, types.length);
+			request.types = newTypes;
+		}
+	}
+	requestNext(user_data, request);
+	return 0;
+}
+
+void releaseReceivedFunc() {
+	if (receivedFunc != null) receivedFunc.dispose();
+	receivedFunc = null;
+}
+
+boolean setData(Clipboard owner, Object[] data, Supplier<?>[] suppliers, Transfer[] dataTypes, int clipboards) {
 	GtkTargetEntry[] entries = new  GtkTargetEntry [0];
 	long /*int*/ pTargetsList = 0;
 	try {
@@ -158,6 +283,7 @@ boolean setData(Clipboard owner, Object[] data, Transfer[] dataTypes, int clipbo
 		}
 		if ((clipboards & DND.CLIPBOARD) != 0) {
 			clipboardData = data;
+			clipboardSuppliers = suppliers;
 			clipboardDataTypes = dataTypes;
 			long /*int*/ getFuncProc = getFunc.getAddress();
 			long /*int*/ clearFuncProc = clearFunc.getAddress();
@@ -179,6 +305,7 @@ boolean setData(Clipboard owner, Object[] data, Transfer[] dataTypes, int clipbo
 		}
 		if ((clipboards & DND.SELECTION_CLIPBOARD) != 0) {
 			primaryClipboardData = data;
+			primaryClipboardSuppliers = suppliers;
 			primaryClipboardDataTypes = dataTypes;
 			long /*int*/ getFuncProc = getFunc.getAddress();
 			long /*int*/ clearFuncProc = clearFunc.getAddress();
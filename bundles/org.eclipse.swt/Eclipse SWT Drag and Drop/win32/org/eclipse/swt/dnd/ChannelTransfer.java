@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.dnd;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.function.*;
+
+import org.eclipse.swt.internal.ole.win32.*;
+
+/**
+ * The class <code>ChannelTransfer</code> provides a platform specific
+ * mechanism for converting a stream of bytes, read from a java
+ * <code>ReadableByteChannel</code>, to a platform specific representation
+ * and vice versa.
+ *
+ * <p>When data is set, it is a <code>Supplier&lt;ReadableByteChannel&gt;</code>.
+ * The data may be requested many times, for example once for every paste, so
+ * the supplier is asked for a new channel for every request. The channel is
+ * read in chunks and is closed once it has been read. When data is retrieved,
+ * it is a <code>ReadableByteChannel</code> that must be closed by the
+ * application.</p>
+ *
+ * <p>On this platform, the data is held in the java heap while it is
+ * converted.</p>
+ *
+ * <p><code>ChannelTransfer</code> is never used directly but is sub-classed
+ * by transfer agents that define the platform specific type names and ids,
+ * as described in <code>ByteArrayTransfer</code>.</p>
+ *
+ * @see ByteArrayTransfer
+ * @see Transfer
+ *
+ * @since 3.106
+ */
+public abstract class ChannelTransfer extends ByteArrayTransfer {
+
+	/* The size of the chunks read from channels */
+	static final int CHUNK_SIZE = 64 * 1024;
+
+/**
+ * This implementation of <code>javaToNative</code> asks the supplier for
+ * a new <code>ReadableByteChannel</code>, reads it to its end and closes it.
+ *
+ * @param object a <code>Supplier&lt;ReadableByteChannel&gt;</code> of channels containing the data to be converted
+ * @param transferData an empty <code>TransferData</code> object that will
+ *  	be filled in on return with the platform specific format of the data
+ *
+ * @see Transfer#nativeToJava
+ */
+@Override
+protected void javaToNative (Object object, TransferData transferData) {
+	if (!checkSupplier(object) || !isSupportedType(transferData)) {
+		DND.error(DND.ERROR_INVALID_DATA);
+	}
+	byte[] bytes = readChannel(openChannel(object));
+	if (bytes == null) {
+		transferData.result = COM.E_FAIL;
+		return;
+	}
+	super.javaToNative(bytes, transferData);
+}
+
+/**
+ * This implementation of <code>nativeToJava</code> returns a
+ * <code>ReadableByteChannel</code> that reads the data.
+ *
+ * @param transferData the platform specific representation of the data to be
+ * converted
+ * @return a <code>ReadableByteChannel</code> of the data if the conversion was
+ * 		successful; otherwise null
+ *
+ * @see Transfer#javaToNative
+ */
+@Override
+protected Object nativeToJava(TransferData transferData) {
+	byte[] bytes = (byte[])super.nativeToJava(transferData);
+	if (bytes == null) return null;
+	return Channels.newChannel(new ByteArrayInputStream(bytes));
+}
+
+@Override
+protected boolean validate(Object object) {
+	return checkSupplier(object);
+}
+
+boolean checkSupplier(Object object) {
+	return object instanceof Supplier;
+}
+
+/*
+* Returns a new open channel from the supplier, or null when the supplier
+* fails or does not return one. The data may be requested again later, so
+* a failure of one request is not an error.
+*/
+static ReadableByteChannel openChannel(Object supplier) {
+	Object channel;
+	try {
+		channel = ((Supplier<?>)supplier).get();
+	} catch (RuntimeException e) {
+		return null;
+	}
+	if (!(channel instanceof ReadableByteChannel)) return null;
+	if (!((ReadableByteChannel)channel).isOpen()) return null;
+	return (ReadableByteChannel)channel;
+}
+
+/*
+* Reads the channel to its end and closes it. Returns null when the
+* channel is null, empty or cannot be read.
+*/
+static byte[] readChannel(ReadableByteChannel channel) {
+	if (channel == null) return null;
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	byte[] chunk = new byte[CHUNK_SIZE];
+	ByteBuffer buffer = ByteBuffer.wrap(chunk);
+	try {
+		try {
+			while (true) {
+				buffer.clear();
+				int count = channel.read(buffer);
+				if (count == -1) break;
+				out.write(chunk, 0, count);
+			}
+		} finally {
+			channel.close();
+		}
+	} catch (IOException e) {
+		return null;
+	}
+	return out.size() > 0 ? out.toByteArray() : null;
+}
+}
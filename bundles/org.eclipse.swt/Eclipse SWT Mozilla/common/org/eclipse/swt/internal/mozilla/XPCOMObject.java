@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.swt.internal.mozilla;
 
-import java.util.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
@@ -28,7 +27,7 @@ public class XPCOMObject {
 	static private final int MAX_VTABLE_LENGTH = 80;
 	static final int OS_OFFSET = IsSolaris ? 2 : 0;
 	static private Callback[][] Callbacks = new Callback[MAX_VTABLE_LENGTH + OS_OFFSET][MAX_ARG_COUNT];
-	static private Map<LONG, XPCOMObject> ObjectMap = new HashMap<> ();
+	static private LongHashMap<XPCOMObject> ObjectMap = new LongHashMap<> ();
 
 
 public XPCOMObject (int[] argCounts) {
@@ -47,7 +46,7 @@ public XPCOMObject (int[] argCounts) {
 	XPCOM.memmove (pVtable, callbackAddresses, C.PTR_SIZEOF * (argCounts.length + OS_OFFSET));
 	ppVtable = C.malloc (C.PTR_SIZEOF);
 	XPCOM.memmove (ppVtable, new long /*int*/[] {pVtable}, C.PTR_SIZEOF);
-	ObjectMap.put (new LONG (ppVtable), this);
+	ObjectMap.put (ppVtable, this);
 }
 
 public long /*int*/ getVtable () {
@@ -57,7 +56,7 @@ public long /*int*/ getVtable () {
 static long /*int*/ callback0 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -66,7 +65,7 @@ static long /*int*/ callback0 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback1 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -75,7 +74,7 @@ static long /*int*/ callback1 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback10 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -84,7 +83,7 @@ static long /*int*/ callback10 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback11 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -93,7 +92,7 @@ static long /*int*/ callback11 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback12 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -102,7 +101,7 @@ static long /*int*/ callback12 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback13 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -111,7 +110,7 @@ static long /*int*/ callback13 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback14 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -120,7 +119,7 @@ static long /*int*/ callback14 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback15 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -129,7 +128,7 @@ static long /*int*/ callback15 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback16 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -138,7 +137,7 @@ static long /*int*/ callback16 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback17 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -147,7 +146,7 @@ static long /*int*/ callback17 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback18 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -156,7 +155,7 @@ static long /*int*/ callback18 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback19 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -165,7 +164,7 @@ static long /*int*/ callback19 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback2 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -174,7 +173,7 @@ static long /*int*/ callback2 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback20 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -183,7 +182,7 @@ static long /*int*/ callback20 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback21 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -192,7 +191,7 @@ static long /*int*/ callback21 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback22 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -201,7 +200,7 @@ static long /*int*/ callback22 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback23 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -210,7 +209,7 @@ static long /*int*/ callback23 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback24 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -219,7 +218,7 @@ static long /*int*/ callback24 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback25 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -228,7 +227,7 @@ static long /*int*/ callback25 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback26 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -237,7 +236,7 @@ static long /*int*/ callback26 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback27 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -246,7 +245,7 @@ static long /*int*/ callback27 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback28 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -255,7 +254,7 @@ static long /*int*/ callback28 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback29 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -264,7 +263,7 @@ static long /*int*/ callback29 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback3 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -273,7 +272,7 @@ static long /*int*/ callback3 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback30 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -282,7 +281,7 @@ static long /*int*/ callback30 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback31 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -291,7 +290,7 @@ static long /*int*/ callback31 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback32 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -300,7 +299,7 @@ static long /*int*/ callback32 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback33 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -309,7 +308,7 @@ static long /*int*/ callback33 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback34 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -318,7 +317,7 @@ static long /*int*/ callback34 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback35 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -327,7 +326,7 @@ static long /*int*/ callback35 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback36 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -336,7 +335,7 @@ static long /*int*/ callback36 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback37 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -345,7 +344,7 @@ static long /*int*/ callback37 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback38 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -354,7 +353,7 @@ static long /*int*/ callback38 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback39 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -363,7 +362,7 @@ static long /*int*/ callback39 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback4 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -372,7 +371,7 @@ static long /*int*/ callback4 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback40 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -381,7 +380,7 @@ static long /*int*/ callback40 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback41 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -390,7 +389,7 @@ static long /*int*/ callback41 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback42 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -399,7 +398,7 @@ static long /*int*/ callback42 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback43 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -408,7 +407,7 @@ static long /*int*/ callback43 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback44 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -417,7 +416,7 @@ static long /*int*/ callback44 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback45 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -426,7 +425,7 @@ static long /*int*/ callback45 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback46 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -435,7 +434,7 @@ static long /*int*/ callback46 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback47 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -444,7 +443,7 @@ static long /*int*/ callback47 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback48 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -453,7 +452,7 @@ static long /*int*/ callback48 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback49 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -462,7 +461,7 @@ static long /*int*/ callback49 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback5 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -471,7 +470,7 @@ static long /*int*/ callback5 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback50 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -480,7 +479,7 @@ static long /*int*/ callback50 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback51 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -489,7 +488,7 @@ static long /*int*/ callback51 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback52 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -498,7 +497,7 @@ static long /*int*/ callback52 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback53 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -507,7 +506,7 @@ static long /*int*/ callback53 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback54 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -516,7 +515,7 @@ static long /*int*/ callback54 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback55 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -525,7 +524,7 @@ static long /*int*/ callback55 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback56 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -534,7 +533,7 @@ static long /*int*/ callback56 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback57 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -543,7 +542,7 @@ static long /*int*/ callback57 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback58 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -552,7 +551,7 @@ static long /*int*/ callback58 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback59 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -561,7 +560,7 @@ static long /*int*/ callback59 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback6 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -570,7 +569,7 @@ static long /*int*/ callback6 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback60 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -579,7 +578,7 @@ static long /*int*/ callback60 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback61 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -588,7 +587,7 @@ static long /*int*/ callback61 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback62 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -597,7 +596,7 @@ static long /*int*/ callback62 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback63 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -606,7 +605,7 @@ static long /*int*/ callback63 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback64 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -615,7 +614,7 @@ static long /*int*/ callback64 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback65 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -624,7 +623,7 @@ static long /*int*/ callback65 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback66 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -633,7 +632,7 @@ static long /*int*/ callback66 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback67 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -642,7 +641,7 @@ static long /*int*/ callback67 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback68 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -651,7 +650,7 @@ static long /*int*/ callback68 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback69 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -660,7 +659,7 @@ static long /*int*/ callback69 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback7 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -669,7 +668,7 @@ static long /*int*/ callback7 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback70 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -678,7 +677,7 @@ static long /*int*/ callback70 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback71 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -687,7 +686,7 @@ static long /*int*/ callback71 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback72 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -696,7 +695,7 @@ static long /*int*/ callback72 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback73 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -705,7 +704,7 @@ static long /*int*/ callback73 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback74 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -714,7 +713,7 @@ static long /*int*/ callback74 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback75 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -723,7 +722,7 @@ static long /*int*/ callback75 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback76 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -732,7 +731,7 @@ static long /*int*/ callback76 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback77 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -741,7 +740,7 @@ static long /*int*/ callback77 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback78 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -750,7 +749,7 @@ static long /*int*/ callback78 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback79 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -759,7 +758,7 @@ static long /*int*/ callback79 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback8 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -768,7 +767,7 @@ static long /*int*/ callback8 (long /*int*/[] callbackArgs) {
 static long /*int*/ callback9 (long /*int*/[] callbackArgs) {
 	// find the object on which this call was invoked
 	long /*int*/ address = callbackArgs[0];
-	XPCOMObject object = ObjectMap.get (new LONG (address));
+	XPCOMObject object = ObjectMap.get (address);
 	if (object == null) return XPCOM.NS_ERROR_FAILURE;
 	long /*int*/[] args = new long /*int*/[callbackArgs.length - 1];
 	System.arraycopy (callbackArgs, 1, args, 0, args.length);
@@ -783,7 +782,7 @@ public void dispose() {
 	C.free (ppVtable);
 
 	// remove this ppVtable from the list
-	ObjectMap.remove (new LONG (ppVtable));
+	ObjectMap.remove (ppVtable);
 
 	ppVtable = 0;
 }
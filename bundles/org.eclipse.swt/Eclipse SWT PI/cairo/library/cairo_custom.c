@@ -0,0 +1,48 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * Contributor(s):
+ *
+ * IBM
+ * -  Binding to permit interfacing between Cairo and SWT
+ * -  Copyright (C) 2017 IBM Corp.  All Rights Reserved.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+#include "swt.h"
+#include "cairo_structs.h"
+#include "cairo_stats.h"
+
+#ifndef Cairo_NATIVE
+#define Cairo_NATIVE(func) Java_org_eclipse_swt_internal_cairo_Cairo_##func
+#endif
+
+#ifndef NO__1swt_1cairo_1polyline
+JNIEXPORT void JNICALL Cairo_NATIVE(_1swt_1cairo_1polyline)
+	(JNIEnv *env, jclass that, jintLong arg0, jintArray arg1, jint arg2, jint arg3, jdouble arg4, jdouble arg5, jboolean arg6)
+{
+	jint *lparg1=NULL;
+	jint i;
+	Cairo_NATIVE_ENTER(env, that, _1swt_1cairo_1polyline_FUNC);
+	if (arg1 == NULL || arg3 <= 0) goto fail;
+	if ((lparg1 = (*env)->GetPrimitiveArrayCritical(env, arg1, NULL)) == NULL) goto fail;
+	cairo_move_to((cairo_t *)arg0, lparg1[arg2] + arg4, lparg1[arg2 + 1] + arg5);
+	for (i = 1; i < arg3; i++) {
+		cairo_line_to((cairo_t *)arg0, lparg1[arg2 + i * 2] + arg4, lparg1[arg2 + i * 2 + 1] + arg5);
+	}
+	if (arg6) cairo_close_path((cairo_t *)arg0);
+fail:
+	if (arg1 && lparg1) (*env)->ReleasePrimitiveArrayCritical(env, arg1, lparg1, JNI_ABORT);
+	Cairo_NATIVE_EXIT(env, that, _1swt_1cairo_1polyline_FUNC);
+}
+#endif
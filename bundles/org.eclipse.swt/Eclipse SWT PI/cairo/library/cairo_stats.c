@@ -15,7 +15,7 @@
  *
  * IBM
  * -  Binding to permit interfacing between Cairo and SWT
- * -  Copyright (C) 2005, 2016 IBM Corp.  All Rights Reserved.
+ * -  Copyright (C) 2005, 2017 IBM Corp.  All Rights Reserved.
  *
  * ***** END LICENSE BLOCK ***** */
 
@@ -138,6 +138,7 @@ char * Cairo_nativeFunctionNames[] = {
 	"_1cairo_1xlib_1surface_1create",
 	"_1cairo_1xlib_1surface_1get_1height",
 	"_1cairo_1xlib_1surface_1get_1width",
+	"_1swt_1cairo_1polyline",
 	"cairo_1path_1data_1t_1sizeof",
 	"cairo_1path_1t_1sizeof",
 	"cairo_1version",
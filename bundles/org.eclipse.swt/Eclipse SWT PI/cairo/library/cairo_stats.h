@@ -15,7 +15,7 @@
  *
  * IBM
  * -  Binding to permit interfacing between Cairo and SWT
- * -  Copyright (C) 2005, 2016 IBM Corp.  All Rights Reserved.
+ * -  Copyright (C) 2005, 2017 IBM Corp.  All Rights Reserved.
  *
  * ***** END LICENSE BLOCK ***** */
 
@@ -148,6 +148,7 @@ typedef enum {
 	_1cairo_1xlib_1surface_1create_FUNC,
 	_1cairo_1xlib_1surface_1get_1height_FUNC,
 	_1cairo_1xlib_1surface_1get_1width_FUNC,
+	_1swt_1cairo_1polyline_FUNC,
 	cairo_1path_1data_1t_1sizeof_FUNC,
 	cairo_1path_1t_1sizeof_FUNC,
 	cairo_1version_FUNC,
@@ -15,7 +15,7 @@
  *
  * IBM
  * -  Binding to permit interfacing between Cairo and SWT
- * -  Copyright (C) 2005, 2012 IBM Corp.  All Rights Reserved.
+ * -  Copyright (C) 2005, 2017 IBM Corp.  All Rights Reserved.
  *
  * ***** END LICENSE BLOCK ***** */
 package org.eclipse.swt.internal.cairo;
@@ -1253,6 +1253,24 @@ public static final void cairo_region_get_rectangle(long /*int*/ region, int nth
 		lock.unlock();
 	}
 }
+/**
+ * Adds the polyline of <code>count</code> points, starting at <code>offset</code>
+ * in <code>points</code>, to the current path of <code>cr</code>, in a single
+ * native call instead of one per point.
+ *
+ * @method flags=no_gen
+ * @param cr cast=(cairo_t *)
+ * @param points flags=no_out critical
+ */
+public static final native void _swt_cairo_polyline(long /*int*/ cr, int[] points, int offset, int count, double xOffset, double yOffset, boolean close);
+public static final void swt_cairo_polyline(long /*int*/ cr, int[] points, int offset, int count, double xOffset, double yOffset, boolean close) {
+	lock.lock();
+	try {
+		_swt_cairo_polyline(cr, points, offset, count, xOffset, yOffset, close);
+	} finally {
+		lock.unlock();
+	}
+}
 /**
  * @param dest cast=(void *)
  * @param src cast=(const void *)
@@ -248,6 +248,18 @@ JNIEXPORT jint JNICALL OS_NATIVE(GTypeQuery_1sizeof)
 }
 #endif
 
+#ifndef NO_GValue_1sizeof
+JNIEXPORT jint JNICALL OS_NATIVE(GValue_1sizeof)
+	(JNIEnv *env, jclass that)
+{
+	jint rc = 0;
+	OS_NATIVE_ENTER(env, that, GValue_1sizeof_FUNC);
+	rc = (jint)GValue_sizeof();
+	OS_NATIVE_EXIT(env, that, GValue_1sizeof_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_G_1OBJECT_1CLASS_1CONSTRUCTOR
 JNIEXPORT jintLong JNICALL OS_NATIVE(G_1OBJECT_1CLASS_1CONSTRUCTOR)
 	(JNIEnv *env, jclass that, jintLong arg0)
@@ -1878,6 +1890,50 @@ JNIEXPORT jboolean JNICALL OS_NATIVE(_1g_1app_1info_1supports_1uris)
 }
 #endif
 
+#ifndef NO__1g_1cancellable_1make_1pollfd
+JNIEXPORT jboolean JNICALL OS_NATIVE(_1g_1cancellable_1make_1pollfd)
+	(JNIEnv *env, jclass that, jintLong arg0, jintLong arg1)
+{
+	jboolean rc = 0;
+	OS_NATIVE_ENTER(env, that, _1g_1cancellable_1make_1pollfd_FUNC);
+	rc = (jboolean)g_cancellable_make_pollfd((GCancellable *)arg0, (GPollFD *)arg1);
+	OS_NATIVE_EXIT(env, that, _1g_1cancellable_1make_1pollfd_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO__1g_1cancellable_1new
+JNIEXPORT jintLong JNICALL OS_NATIVE(_1g_1cancellable_1new)
+	(JNIEnv *env, jclass that)
+{
+	jintLong rc = 0;
+	OS_NATIVE_ENTER(env, that, _1g_1cancellable_1new_FUNC);
+	rc = (jintLong)g_cancellable_new();
+	OS_NATIVE_EXIT(env, that, _1g_1cancellable_1new_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO__1g_1cancellable_1release_1fd
+JNIEXPORT void JNICALL OS_NATIVE(_1g_1cancellable_1release_1fd)
+	(JNIEnv *env, jclass that, jintLong arg0)
+{
+	OS_NATIVE_ENTER(env, that, _1g_1cancellable_1release_1fd_FUNC);
+	g_cancellable_release_fd((GCancellable *)arg0);
+	OS_NATIVE_EXIT(env, that, _1g_1cancellable_1release_1fd_FUNC);
+}
+#endif
+
+#ifndef NO__1g_1cancellable_1reset
+JNIEXPORT void JNICALL OS_NATIVE(_1g_1cancellable_1reset)
+	(JNIEnv *env, jclass that, jintLong arg0)
+{
+	OS_NATIVE_ENTER(env, that, _1g_1cancellable_1reset_FUNC);
+	g_cancellable_reset((GCancellable *)arg0);
+	OS_NATIVE_EXIT(env, that, _1g_1cancellable_1reset_FUNC);
+}
+#endif
+
 #ifndef NO__1g_1cclosure_1new
 JNIEXPORT jintLong JNICALL OS_NATIVE(_1g_1cclosure_1new)
 	(JNIEnv *env, jclass that, jintLong arg0, jintLong arg1, jintLong arg2)
@@ -2904,6 +2960,18 @@ fail:
 }
 #endif
 
+#ifndef NO__1g_1realloc
+JNIEXPORT jintLong JNICALL OS_NATIVE(_1g_1realloc)
+	(JNIEnv *env, jclass that, jintLong arg0, jintLong arg1)
+{
+	jintLong rc = 0;
+	OS_NATIVE_ENTER(env, that, _1g_1realloc_FUNC);
+	rc = (jintLong)g_realloc((gpointer)arg0, (gulong)arg1);
+	OS_NATIVE_EXIT(env, that, _1g_1realloc_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO__1g_1set_1prgname
 JNIEXPORT void JNICALL OS_NATIVE(_1g_1set_1prgname)
 	(JNIEnv *env, jclass that, jbyteArray arg0)
@@ -7950,6 +8018,16 @@ JNIEXPORT jintLong JNICALL OS_NATIVE(_1gtk_1clipboard_1get)
 }
 #endif
 
+#ifndef NO__1gtk_1clipboard_1request_1contents
+JNIEXPORT void JNICALL OS_NATIVE(_1gtk_1clipboard_1request_1contents)
+	(JNIEnv *env, jclass that, jintLong arg0, jintLong arg1, jintLong arg2, jintLong arg3)
+{
+	OS_NATIVE_ENTER(env, that, _1gtk_1clipboard_1request_1contents_FUNC);
+	gtk_clipboard_request_contents((GtkClipboard *)arg0, (GdkAtom)arg1, (GtkClipboardReceivedFunc)arg2, (gpointer)arg3);
+	OS_NATIVE_EXIT(env, that, _1gtk_1clipboard_1request_1contents_FUNC);
+}
+#endif
+
 #ifndef NO__1gtk_1clipboard_1set_1can_1store
 JNIEXPORT void JNICALL OS_NATIVE(_1gtk_1clipboard_1set_1can_1store)
 	(JNIEnv *env, jclass that, jintLong arg0, jintLong arg1, jint arg2)
@@ -10978,6 +11056,20 @@ fail:
 }
 #endif
 
+#ifndef NO__1gtk_1list_1store_1set_1valuesv
+JNIEXPORT void JNICALL OS_NATIVE(_1gtk_1list_1store_1set_1valuesv)
+	(JNIEnv *env, jclass that, jintLong arg0, jintLong arg1, jintArray arg2, jintLong arg3, jint arg4)
+{
+	jint *lparg2=NULL;
+	OS_NATIVE_ENTER(env, that, _1gtk_1list_1store_1set_1valuesv_FUNC);
+	if (arg2) if ((lparg2 = (*env)->GetIntArrayElements(env, arg2, NULL)) == NULL) goto fail;
+	gtk_list_store_set_valuesv((GtkListStore *)arg0, (GtkTreeIter *)arg1, (gint *)lparg2, (GValue *)arg3, (gint)arg4);
+fail:
+	if (arg2 && lparg2) (*env)->ReleaseIntArrayElements(env, arg2, lparg2, JNI_ABORT);
+	OS_NATIVE_EXIT(env, that, _1gtk_1list_1store_1set_1valuesv_FUNC);
+}
+#endif
+
 #ifndef NO__1gtk_1main
 JNIEXPORT void JNICALL OS_NATIVE(_1gtk_1main)
 	(JNIEnv *env, jclass that)
@@ -17764,6 +17856,16 @@ JNIEXPORT jintLong JNICALL OS_NATIVE(_1pango_1attribute_1copy)
 }
 #endif
 
+#ifndef NO__1pango_1attribute_1destroy
+JNIEXPORT void JNICALL OS_NATIVE(_1pango_1attribute_1destroy)
+	(JNIEnv *env, jclass that, jintLong arg0)
+{
+	OS_NATIVE_ENTER(env, that, _1pango_1attribute_1destroy_FUNC);
+	pango_attribute_destroy((PangoAttribute *)arg0);
+	OS_NATIVE_EXIT(env, that, _1pango_1attribute_1destroy_FUNC);
+}
+#endif
+
 #ifndef NO__1pango_1cairo_1context_1get_1font_1options
 JNIEXPORT jintLong JNICALL OS_NATIVE(_1pango_1cairo_1context_1get_1font_1options)
 	(JNIEnv *env, jclass that, jintLong arg0)
@@ -18734,6 +18836,16 @@ JNIEXPORT jintLong JNICALL OS_NATIVE(_1ubuntu_1menu_1proxy_1get)
 }
 #endif
 
+#ifndef NO_g_1cancellable_1cancel
+JNIEXPORT void JNICALL OS_NATIVE(g_1cancellable_1cancel)
+	(JNIEnv *env, jclass that, jintLong arg0)
+{
+	OS_NATIVE_ENTER(env, that, g_1cancellable_1cancel_FUNC);
+	g_cancellable_cancel((GCancellable *)arg0);
+	OS_NATIVE_EXIT(env, that, g_1cancellable_1cancel_FUNC);
+}
+#endif
+
 #ifndef NO_g_1main_1context_1wakeup
 JNIEXPORT void JNICALL OS_NATIVE(g_1main_1context_1wakeup)
 	(JNIEnv *env, jclass that, jintLong arg0)
@@ -18856,6 +18968,20 @@ JNIEXPORT void JNICALL OS_NATIVE(g_1value_1set_1int64)
 }
 #endif
 
+#ifndef NO_g_1value_1set_1string
+JNIEXPORT void JNICALL OS_NATIVE(g_1value_1set_1string)
+	(JNIEnv *env, jclass that, jintLong arg0, jbyteArray arg1)
+{
+	jbyte *lparg1=NULL;
+	OS_NATIVE_ENTER(env, that, g_1value_1set_1string_FUNC);
+	if (arg1) if ((lparg1 = (*env)->GetByteArrayElements(env, arg1, NULL)) == NULL) goto fail;
+	g_value_set_string((GValue *)arg0, (const gchar *)lparg1);
+fail:
+	if (arg1 && lparg1) (*env)->ReleaseByteArrayElements(env, arg1, lparg1, JNI_ABORT);
+	OS_NATIVE_EXIT(env, that, g_1value_1set_1string_FUNC);
+}
+#endif
+
 #ifndef NO_g_1value_1unset
 JNIEXPORT void JNICALL OS_NATIVE(g_1value_1unset)
 	(JNIEnv *env, jclass that, jintLong arg0)
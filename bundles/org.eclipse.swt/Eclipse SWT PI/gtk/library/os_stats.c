@@ -49,6 +49,7 @@ char * OS_nativeFunctionNames[] = {
 	"GTK_1WIDGET_1REQUISITION_1WIDTH",
 	"GTypeInfo_1sizeof",
 	"GTypeQuery_1sizeof",
+	"GValue_1sizeof",
 	"G_1OBJECT_1CLASS_1CONSTRUCTOR",
 	"G_1OBJECT_1CLASS_1SET_1CONSTRUCTOR",
 	"G_1TYPE_1BOOLEAN",
@@ -189,6 +190,10 @@ char * OS_nativeFunctionNames[] = {
 	"_1g_1app_1info_1launch_1default_1for_1uri",
 	"_1g_1app_1info_1should_1show",
 	"_1g_1app_1info_1supports_1uris",
+	"_1g_1cancellable_1make_1pollfd",
+	"_1g_1cancellable_1new",
+	"_1g_1cancellable_1release_1fd",
+	"_1g_1cancellable_1reset",
 	"_1g_1cclosure_1new",
 	"_1g_1closure_1ref",
 	"_1g_1closure_1sink",
@@ -294,6 +299,7 @@ char * OS_nativeFunctionNames[] = {
 	"_1g_1object_1set_1qdata",
 	"_1g_1object_1unref",
 	"_1g_1quark_1from_1string",
+	"_1g_1realloc",
 	"_1g_1set_1prgname",
 	"_1g_1signal_1add_1emission_1hook",
 	"_1g_1signal_1connect",
@@ -643,6 +649,7 @@ char * OS_nativeFunctionNames[] = {
 	"_1gtk_1check_1version",
 	"_1gtk_1clipboard_1clear",
 	"_1gtk_1clipboard_1get",
+	"_1gtk_1clipboard_1request_1contents",
 	"_1gtk_1clipboard_1set_1can_1store",
 	"_1gtk_1clipboard_1set_1with_1owner",
 	"_1gtk_1clipboard_1store",
@@ -855,6 +862,7 @@ char * OS_nativeFunctionNames[] = {
 	"_1gtk_1list_1store_1insert",
 	"_1gtk_1list_1store_1newv",
 	"_1gtk_1list_1store_1remove",
+	"_1gtk_1list_1store_1set_1valuesv",
 #ifndef JNI64
 	"_1gtk_1list_1store_1set__IIIII",
 #else
@@ -1444,6 +1452,7 @@ char * OS_nativeFunctionNames[] = {
 	"_1pango_1attr_1underline_1new",
 	"_1pango_1attr_1weight_1new",
 	"_1pango_1attribute_1copy",
+	"_1pango_1attribute_1destroy",
 	"_1pango_1cairo_1context_1get_1font_1options",
 	"_1pango_1cairo_1context_1set_1font_1options",
 	"_1pango_1cairo_1create_1layout",
@@ -1525,6 +1534,7 @@ char * OS_nativeFunctionNames[] = {
 	"_1swt_1fixed_1resize",
 	"_1swt_1fixed_1restack",
 	"_1ubuntu_1menu_1proxy_1get",
+	"g_1cancellable_1cancel",
 	"g_1main_1context_1wakeup",
 	"g_1strdup",
 	"g_1value_1get_1double",
@@ -1536,6 +1546,7 @@ char * OS_nativeFunctionNames[] = {
 	"g_1value_1set_1float",
 	"g_1value_1set_1int",
 	"g_1value_1set_1int64",
+	"g_1value_1set_1string",
 	"g_1value_1unset",
 	"gdk_1threads_1leave",
 	"imContextLast",
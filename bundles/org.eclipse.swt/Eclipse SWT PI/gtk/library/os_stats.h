@@ -59,6 +59,7 @@ typedef enum {
 	GTK_1WIDGET_1REQUISITION_1WIDTH_FUNC,
 	GTypeInfo_1sizeof_FUNC,
 	GTypeQuery_1sizeof_FUNC,
+	GValue_1sizeof_FUNC,
 	G_1OBJECT_1CLASS_1CONSTRUCTOR_FUNC,
 	G_1OBJECT_1CLASS_1SET_1CONSTRUCTOR_FUNC,
 	G_1TYPE_1BOOLEAN_FUNC,
@@ -199,6 +200,10 @@ typedef enum {
 	_1g_1app_1info_1launch_1default_1for_1uri_FUNC,
 	_1g_1app_1info_1should_1show_FUNC,
 	_1g_1app_1info_1supports_1uris_FUNC,
+	_1g_1cancellable_1make_1pollfd_FUNC,
+	_1g_1cancellable_1new_FUNC,
+	_1g_1cancellable_1release_1fd_FUNC,
+	_1g_1cancellable_1reset_FUNC,
 	_1g_1cclosure_1new_FUNC,
 	_1g_1closure_1ref_FUNC,
 	_1g_1closure_1sink_FUNC,
@@ -304,6 +309,7 @@ typedef enum {
 	_1g_1object_1set_1qdata_FUNC,
 	_1g_1object_1unref_FUNC,
 	_1g_1quark_1from_1string_FUNC,
+	_1g_1realloc_FUNC,
 	_1g_1set_1prgname_FUNC,
 	_1g_1signal_1add_1emission_1hook_FUNC,
 	_1g_1signal_1connect_FUNC,
@@ -653,6 +659,7 @@ typedef enum {
 	_1gtk_1check_1version_FUNC,
 	_1gtk_1clipboard_1clear_FUNC,
 	_1gtk_1clipboard_1get_FUNC,
+	_1gtk_1clipboard_1request_1contents_FUNC,
 	_1gtk_1clipboard_1set_1can_1store_FUNC,
 	_1gtk_1clipboard_1set_1with_1owner_FUNC,
 	_1gtk_1clipboard_1store_FUNC,
@@ -865,6 +872,7 @@ typedef enum {
 	_1gtk_1list_1store_1insert_FUNC,
 	_1gtk_1list_1store_1newv_FUNC,
 	_1gtk_1list_1store_1remove_FUNC,
+	_1gtk_1list_1store_1set_1valuesv_FUNC,
 #ifndef JNI64
 	_1gtk_1list_1store_1set__IIIII_FUNC,
 #else
@@ -1454,6 +1462,7 @@ typedef enum {
 	_1pango_1attr_1underline_1new_FUNC,
 	_1pango_1attr_1weight_1new_FUNC,
 	_1pango_1attribute_1copy_FUNC,
+	_1pango_1attribute_1destroy_FUNC,
 	_1pango_1cairo_1context_1get_1font_1options_FUNC,
 	_1pango_1cairo_1context_1set_1font_1options_FUNC,
 	_1pango_1cairo_1create_1layout_FUNC,
@@ -1535,6 +1544,7 @@ typedef enum {
 	_1swt_1fixed_1resize_FUNC,
 	_1swt_1fixed_1restack_FUNC,
 	_1ubuntu_1menu_1proxy_1get_FUNC,
+	g_1cancellable_1cancel_FUNC,
 	g_1main_1context_1wakeup_FUNC,
 	g_1strdup_FUNC,
 	g_1value_1get_1double_FUNC,
@@ -1546,6 +1556,7 @@ typedef enum {
 	g_1value_1set_1float_FUNC,
 	g_1value_1set_1int_FUNC,
 	g_1value_1set_1int64_FUNC,
+	g_1value_1set_1string_FUNC,
 	g_1value_1unset_FUNC,
 	gdk_1threads_1leave_FUNC,
 	imContextLast_FUNC,
@@ -760,6 +760,7 @@ public static final native int GInterfaceInfo_sizeof ();
 public static final native int GPollFD_sizeof ();
 public static final native int GTypeInfo_sizeof ();
 public static final native int GTypeQuery_sizeof ();
+public static final native int GValue_sizeof ();
 public static final native int GdkColor_sizeof();
 public static final native int GdkRGBA_sizeof();
 public static final native int GdkDragContext_sizeof();
@@ -2066,6 +2067,50 @@ public static final void g_closure_unref(long /*int*/ closure) {
 		lock.unlock();
 	}
 }
+public static final native long /*int*/ _g_cancellable_new();
+public static final long /*int*/ g_cancellable_new() {
+	lock.lock();
+	try {
+		return _g_cancellable_new();
+	} finally {
+		lock.unlock();
+	}
+}
+/**
+ * @param cancellable cast=(GCancellable *)
+ * @param pollfd cast=(GPollFD *)
+ */
+public static final native boolean _g_cancellable_make_pollfd(long /*int*/ cancellable, long /*int*/ pollfd);
+public static final boolean g_cancellable_make_pollfd(long /*int*/ cancellable, long /*int*/ pollfd) {
+	lock.lock();
+	try {
+		return _g_cancellable_make_pollfd(cancellable, pollfd);
+	} finally {
+		lock.unlock();
+	}
+}
+/** @param cancellable cast=(GCancellable *) */
+public static final native void _g_cancellable_release_fd(long /*int*/ cancellable);
+public static final void g_cancellable_release_fd(long /*int*/ cancellable) {
+	lock.lock();
+	try {
+		_g_cancellable_release_fd(cancellable);
+	} finally {
+		lock.unlock();
+	}
+}
+/** @param cancellable cast=(GCancellable *) */
+public static final native void _g_cancellable_reset(long /*int*/ cancellable);
+public static final void g_cancellable_reset(long /*int*/ cancellable) {
+	lock.lock();
+	try {
+		_g_cancellable_reset(cancellable);
+	} finally {
+		lock.unlock();
+	}
+}
+/** @param cancellable cast=(GCancellable *) */
+public static final native void g_cancellable_cancel(long /*int*/ cancellable);
 /** @param context cast=(GMainContext *) */
 public static final native boolean _g_main_context_acquire(long /*int*/ context);
 public static final boolean g_main_context_acquire(long /*int*/ context) {
@@ -2702,6 +2747,19 @@ public static final int g_quark_from_string(byte[] string) {
 		lock.unlock();
 	}
 }
+/**
+ * @param mem cast=(gpointer)
+ * @param size cast=(gulong)
+ */
+public static final native long /*int*/ _g_realloc(long /*int*/ mem, long /*int*/ size);
+public static final long /*int*/ g_realloc(long /*int*/ mem, long /*int*/ size) {
+	lock.lock();
+	try {
+		return _g_realloc(mem, size);
+	} finally {
+		lock.unlock();
+	}
+}
 /** @param prgname cast=(const gchar *),flags=no_out */
 public static final native void _g_set_prgname(byte[] prgname);
 public static final void g_set_prgname(byte[] prgname) {
@@ -3314,6 +3372,11 @@ public static final native long /*int*/ g_value_init (long /*int*/ value, long /
 public static final native int g_value_get_int (long /*int*/ value);
 /** @param value cast=(GValue *) */
 public static final native void g_value_set_int (long /*int*/ value, int v);
+/**
+ * @param value cast=(GValue *)
+ * @param v cast=(const gchar *),flags=no_out
+ */
+public static final native void g_value_set_string (long /*int*/ value, byte[] v);
 /** @param value cast=(GValue *) */
 public static final native double g_value_get_double (long /*int*/ value);
 /** @param value cast=(GValue *) */
@@ -6482,6 +6545,21 @@ public static final long /*int*/ gtk_clipboard_get(long /*int*/ selection) {
 		lock.unlock();
 	}
 }
+/**
+ * @param clipboard cast=(GtkClipboard *)
+ * @param target cast=(GdkAtom)
+ * @param callback cast=(GtkClipboardReceivedFunc)
+ * @param user_data cast=(gpointer)
+ */
+public static final native void _gtk_clipboard_request_contents(long /*int*/ clipboard, long /*int*/ target, long /*int*/ callback, long /*int*/ user_data);
+public static final void gtk_clipboard_request_contents(long /*int*/ clipboard, long /*int*/ target, long /*int*/ callback, long /*int*/ user_data) {
+	lock.lock();
+	try {
+		_gtk_clipboard_request_contents(clipboard, target, callback, user_data);
+	} finally {
+		lock.unlock();
+	}
+}
 /**
  * @param clipboard cast=(GtkClipboard *)
  * @param target cast=(const GtkTargetEntry *)
@@ -9142,6 +9220,22 @@ public static final void gtk_list_store_set(long /*int*/ store, long /*int*/ ite
 		lock.unlock();
 	}
 }
+/**
+ * @param store cast=(GtkListStore *)
+ * @param iter cast=(GtkTreeIter *)
+ * @param columns cast=(gint *),flags=no_out
+ * @param values cast=(GValue *)
+ * @param n_values cast=(gint)
+ */
+public static final native void _gtk_list_store_set_valuesv(long /*int*/ store, long /*int*/ iter, int[] columns, long /*int*/ values, int n_values);
+public static final void gtk_list_store_set_valuesv(long /*int*/ store, long /*int*/ iter, int[] columns, long /*int*/ values, int n_values) {
+	lock.lock();
+	try {
+		_gtk_list_store_set_valuesv(store, iter, columns, values, n_values);
+	} finally {
+		lock.unlock();
+	}
+}
 /** @method flags=const */
 public static final native int _gtk_major_version();
 public static final int gtk_major_version() {
@@ -15193,6 +15287,16 @@ public static final long /*int*/ pango_attribute_copy (long /*int*/ attribute) {
 		lock.unlock();
 	}
 }
+/** @param attribute cast=(PangoAttribute *) */
+public static final native void _pango_attribute_destroy (long /*int*/ attribute);
+public static final void pango_attribute_destroy (long /*int*/ attribute) {
+	lock.lock();
+	try {
+		_pango_attribute_destroy(attribute);
+	} finally {
+		lock.unlock();
+	}
+}
 public static final native long /*int*/ _pango_attr_background_new (short red, short green, short blue);
 public static final long /*int*/ pango_attr_background_new (short red, short green, short blue) {
 	lock.lock();
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.browser;
+
+import java.util.*;
+
+/*
+* Parses a JSON text into the java types that Browser.evaluate() returns:
+* null, Boolean, Double, String and Object[]. Nested arrays whose elements
+* are all numbers are returned as double[] without boxing, while the top
+* level array is always an Object[], as callers cast it. The text is parsed
+* in a single pass, without creating tokens. Objects are not supported and
+* throw an IllegalArgumentException, as does malformed text.
+*/
+class JSONParser {
+	final String text;
+	int index;
+
+	static final Object[] EMPTY = new Object[0];
+
+JSONParser (String text) {
+	this.text = text;
+}
+
+static Object parse (String text) {
+	JSONParser parser = new JSONParser (text);
+	Object result = parser.parseValue (false);
+	parser.end ();
+	return result;
+}
+
+/* Parses the arguments of a call, which are always an Object[] */
+static Object[] parseArguments (String text) {
+	JSONParser parser = new JSONParser (text);
+	parser.skipWhitespace ();
+	if (parser.peek () != '[') throw parser.error ();
+	Object[] result = parser.parseArray (false);
+	parser.end ();
+	return result;
+}
+
+static Object[] toObjectArray (Object value) {
+	if (value instanceof Object[]) return (Object[]) value;
+	if (value instanceof double[]) {
+		double[] numbers = (double[]) value;
+		Object[] result = new Object[numbers.length];
+		for (int i = 0; i < numbers.length; i++) result[i] = numbers[i];
+		return result;
+	}
+	return null;
+}
+
+void end () {
+	skipWhitespace ();
+	if (index != text.length ()) throw error ();
+}
+
+IllegalArgumentException error () {
+	return new IllegalArgumentException ("Invalid JSON at offset " + index); //$NON-NLS-1$
+}
+
+char peek () {
+	return index < text.length () ? text.charAt (index) : 0;
+}
+
+void skipWhitespace () {
+	int length = text.length ();
+	while (index < length) {
+		char c = text.charAt (index);
+		if (c != ' ' && c != '\t' && c != '\n' && c != '\r') break;
+		index++;
+	}
+}
+
+void expect (String word) {
+	if (!text.startsWith (word, index)) throw error ();
+	index += word.length ();
+}
+
+Object parseValue (boolean numberArrays) {
+	skipWhitespace ();
+	char c = peek ();
+	switch (c) {
+		case '[': return this.<Object>parseArray (numberArrays);
+		case '"': return parseString ();
+		case 't': expect ("true"); return Boolean.TRUE; //$NON-NLS-1$
+		case 'f': expect ("false"); return Boolean.FALSE; //$NON-NLS-1$
+		case 'n': expect ("null"); return null; //$NON-NLS-1$
+		default:
+			if (c == '-' || (c >= '0' && c <= '9')) return parseNumber ();
+	}
+	throw error ();
+}
+
+/*
+* Parses an array. When numberArrays is true, an array whose elements are
+* all numbers is returned as a double[], and the return type is an Object
+* that is either a double[] or an Object[].
+*/
+@SuppressWarnings("unchecked")
+<T> T parseArray (boolean numberArrays) {
+	index++;
+	skipWhitespace ();
+	if (peek () == ']') {
+		index++;
+		return (T) EMPTY;
+	}
+	double[] numbers = numberArrays ? new double[16] : null;
+	Object[] objects = numberArrays ? null : new Object[16];
+	int count = 0;
+	while (true) {
+		skipWhitespace ();
+		char c = peek ();
+		if (objects == null && (c == '-' || (c >= '0' && c <= '9'))) {
+			if (count == numbers.length) numbers = Arrays.copyOf (numbers, count * 2);
+			numbers[count++] = parseNumber ();
+		} else {
+			if (objects == null) {
+				objects = new Object[Math.max (16, numbers.length)];
+				for (int i = 0; i < count; i++) objects[i] = numbers[i];
+				numbers = null;
+			}
+			if (count == objects.length) objects = Arrays.copyOf (objects, count * 2);
+			objects[count++] = parseValue (true);
+		}
+		skipWhitespace ();
+		c = peek ();
+		index++;
+		if (c == ']') break;
+		if (c != ',') {
+			index--;
+			throw error ();
+		}
+	}
+	if (objects == null) return (T) Arrays.copyOf (numbers, count);
+	return (T) Arrays.copyOf (objects, count);
+}
+
+double parseNumber () {
+	int start = index, length = text.length ();
+	boolean negative = false;
+	if (peek () == '-') {
+		negative = true;
+		index++;
+	}
+	/* Integers of up to 15 digits are exact in a double and are parsed directly */
+	long value = 0;
+	int digits = 0;
+	while (index < length) {
+		char c = text.charAt (index);
+		if (c < '0' || c > '9') break;
+		value = value * 10 + (c - '0');
+		digits++;
+		index++;
+	}
+	if (digits == 0) throw error ();
+	char c = peek ();
+	if (c != '.' && c != 'e' && c != 'E' && digits <= 15) {
+		return negative ? -(double) value : value;
+	}
+	while (index < length) {
+		c = text.charAt (index);
+		if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+			index++;
+		} else {
+			break;
+		}
+	}
+	try {
+		return Double.parseDouble (text.substring (start, index));
+	} catch (NumberFormatException e) {
+		index = start;
+		throw error ();
+	}
+}
+
+String parseString () {
+	index++;
+	int length = text.length ();
+	int start = index;
+	/* Strings without escapes are returned as a single substring */
+	while (index < length) {
+		char c = text.charAt (index);
+		if (c == '"') return text.substring (start, index++);
+		if (c == '\\') break;
+		index++;
+	}
+	StringBuilder buffer = new StringBuilder (text.substring (start, index));
+	while (index < length) {
+		char c = text.charAt (index++);
+		if (c == '"') return buffer.toString ();
+		if (c != '\\') {
+			buffer.append (c);
+			continue;
+		}
+		if (index == length) break;
+		c = text.charAt (index++);
+		switch (c) {
+			case '"': case '\\': case '/': buffer.append (c); break;
+			case 'b': buffer.append ('\b'); break;
+			case 'f': buffer.append ('\f'); break;
+			case 'n': buffer.append ('\n'); break;
+			case 'r': buffer.append ('\r'); break;
+			case 't': buffer.append ('\t'); break;
+			case 'u': {
+				if (index + 4 > length) throw error ();
+				int value = 0;
+				for (int i = 0; i < 4; i++) {
+					c = text.charAt (index);
+					int digit;
+					if (c >= '0' && c <= '9') {
+						digit = c - '0';
+					} else if (c >= 'a' && c <= 'f') {
+						digit = c - 'a' + 10;
+					} else if (c >= 'A' && c <= 'F') {
+						digit = c - 'A' + 10;
+					} else {
+						throw error ();
+					}
+					value = value * 16 + digit;
+					index++;
+				}
+				buffer.append ((char) value);
+				break;
+			}
+			default: throw error ();
+		}
+	}
+	throw error ();
+}
+}
@@ -17,6 +17,7 @@ import java.lang.reflect.*;
 import java.net.*;
 import java.nio.charset.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
@@ -61,7 +62,7 @@ class WebKit extends WebBrowser {
 
 	static long /*int*/ PostString, WebViewType;
 	static boolean IsWebKit14orNewer, LibraryLoaded;
-	static Map<LONG, LONG> WindowMappings = new HashMap<> ();
+	static LongHashMap<LONG> WindowMappings = new LongHashMap<> ();
 
 	static final String ABOUT_BLANK = "about:blank"; //$NON-NLS-1$
 	static final String CLASSNAME_EXTERNAL = "External"; //$NON-NLS-1$
@@ -120,6 +121,16 @@ class WebKit extends WebBrowser {
 
 	static final String SWT_WEBKITGTK_VERSION = "org.eclipse.swt.internal.webkitgtk.version"; //$NON-NLS-1$
 
+	/*
+	* Webkit2 only: when set, BrowserFunction arguments and evaluate() results are
+	* serialized to a single JSON string in javascript and parsed by JSONParser,
+	* instead of being converted one javascript value at a time. Arrays nested in
+	* other arrays whose elements are all numbers are then received as double[]
+	* instead of Object[].
+	*/
+	static final String PROPERTY_JSON = "org.eclipse.swt.browser.WebKitJSON"; //$NON-NLS-1$
+	static final boolean JSON = Boolean.getBoolean (PROPERTY_JSON);
+
 	/* the following Callbacks are never freed */
 	static Callback Proc2, Proc3, Proc4, Proc5, Proc6;
 
@@ -298,7 +309,7 @@ class WebKit extends WebBrowser {
 		static final String JavaScriptFunctionDeclaration =
 				"if (!window.callJava) {\n"
 				+ "		window.callJava = function callJava(index, token, args) {\n"
-				+ "         window.webkit.messageHandlers." + JavaScriptFunctionName + ".postMessage([index,token, args]);\n"
+				+ "         window.webkit.messageHandlers." + JavaScriptFunctionName + ".postMessage([index,token, " + (JSON ? "JSON.stringify(args)" : "args") + "]);\n"
 				+ "		}\n"
 				+ "};\n";
 
@@ -335,6 +346,9 @@ class WebKit extends WebBrowser {
 
 				if (function == null) throw new NullPointerException("Could not find function with index: " + index);
 				if (!token.equals(function.token)) throw new IllegalStateException("Function token missmatch. Expected:" + function.token + " actual:" + token);
+				if (JSON && arguments[2] instanceof String) {
+					arguments[2] = JSONParser.parseArguments((String) arguments[2]);
+				}
 				if (! (arguments[2] instanceof Object[])) {
 					throw new IllegalArgumentException("Javascript did not provide any arguments. An empty callback [like call()] should still provide an empty array");
 				}
@@ -532,7 +546,7 @@ static long /*int*/ JSDOMEventProc (long /*int*/ arg0, long /*int*/ event, long
 		return 0;
 	}
 
-	LONG webViewHandle = WindowMappings.get (new LONG (arg0));
+	LONG webViewHandle = WindowMappings.get (arg0);
 	if (webViewHandle == null) return 0;
 	Browser browser = FindBrowser (webViewHandle.value);
 	if (browser == null) return 0;
@@ -999,7 +1013,7 @@ void addEventHandlers (long /*int*/ web_view, boolean top) {
 	if (top && IsWebKit14orNewer) {
 		long /*int*/ domDocument = WebKitGTK.webkit_web_view_get_dom_document (web_view);
 		if (domDocument != 0) {
-			WindowMappings.put (new LONG (domDocument), new LONG (web_view));
+			WindowMappings.put (domDocument, new LONG (web_view));
 			WebKitGTK.webkit_dom_event_target_add_event_listener (domDocument, WebKitGTK.dragstart, JSDOMEventProc.getAddress (), 0, SWT.DragDetect);
 			WebKitGTK.webkit_dom_event_target_add_event_listener (domDocument, WebKitGTK.keydown, JSDOMEventProc.getAddress (), 0, SWT.KeyDown);
 			WebKitGTK.webkit_dom_event_target_add_event_listener (domDocument, WebKitGTK.keypress, JSDOMEventProc.getAddress (), 0, SENTINEL_KEYPRESS);
@@ -1165,6 +1179,12 @@ private static class Webkit2JavascriptEvaluator {
 		/** 0=no error. >0 means error. **/
 		int errorNum = 0;
 		String errorMsg;
+
+		/** Completed by the callback when the caller does not wait for it */
+		CompletableFuture<Object> future;
+
+		/** The script returns its value serialized to JSON */
+		boolean json;
 	}
 
 	/**
@@ -1218,18 +1238,85 @@ private static class Webkit2JavascriptEvaluator {
 		}
 	}
 
-	static Object evaluate(String script, Browser browser, long /*int*/ webView, boolean doNotBlock) {
+	static String fixScript(String script) {
 		/* Webkit2: We remove the 'return' prefix that normally comes with the script.
 		 * The reason is that in Webkit1, script was wrapped into a function and if an exception occured
 		 * it was caught on Javascript side and a callback to java was made.
 		 * In Webkit2, we handle errors in the callback, no need to wrap them in a function anymore.
 		 */
-		String fixedScript;
 		if (script.length() > 7 && script.substring(0, 7).equals("return ")) {
-			fixedScript = script.substring(7);
-		} else {
-			fixedScript = script;
+			return script.substring(7);
 		}
+		return script;
+	}
+
+	/**
+	 * Wraps the script so that its value is returned as a JSON string, which
+	 * javascriptExecutionFinishedProc(..) parses with JSONParser.
+	 */
+	static String jsonScript(String script) {
+		StringBuilder buffer = new StringBuilder("JSON.stringify((0,eval)(");
+		appendString(buffer, script);
+		buffer.append("))");
+		return buffer.toString();
+	}
+
+	static CompletableFuture<Object> evaluateAsync(String script, long /*int*/ webView) {
+		return evaluateAsync(fixScript(script), webView, JSON);
+	}
+
+	static CompletableFuture<Object> evaluateAsync(String fixedScript, long /*int*/ webView, boolean json) {
+		Webkit2EvalReturnObj retObj = new Webkit2EvalReturnObj();
+		retObj.future = new CompletableFuture<>();
+		retObj.json = json;
+		int callbackId = CallBackMap.putObject(retObj);
+		String script = json ? jsonScript(fixedScript) : fixedScript;
+		WebKitGTK.webkit_web_view_run_javascript(webView, Converter.wcsToMbcs(script, true), 0, callback.getAddress(), callbackId);
+		return retObj.future;
+	}
+
+	static CompletableFuture<Object[]> evaluateAsync(String[] scripts, long /*int*/ webView) {
+		/*
+		* Evaluate all of the scripts in one call. Each script is evaluated by an
+		* indirect eval, so that its value is the same as when it is evaluated on
+		* its own, and the values are returned in an array.
+		*/
+		StringBuilder buffer = new StringBuilder("[");
+		for (int i = 0; i < scripts.length; i++) {
+			if (i > 0) buffer.append(',');
+			buffer.append("(0,eval)(");
+			appendString(buffer, fixScript(scripts[i]));
+			buffer.append(')');
+		}
+		buffer.append(']');
+		return evaluateAsync(buffer.toString(), webView, JSON).thenApply(result -> {
+			Object[] results = JSONParser.toObjectArray(result);
+			return results != null ? results : new Object[scripts.length];
+		});
+	}
+
+	static void appendString(StringBuilder buffer, String string) {
+		buffer.append('"');
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			switch (c) {
+				case '"': buffer.append("\\\""); break;
+				case '\\': buffer.append("\\\\"); break;
+				case '\n': buffer.append("\\n"); break;
+				case '\r': buffer.append("\\r"); break;
+				default:
+					if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+						buffer.append(String.format("\\u%04x", (int) c));
+					} else {
+						buffer.append(c);
+					}
+			}
+		}
+		buffer.append('"');
+	}
+
+	static Object evaluate(String script, Browser browser, long /*int*/ webView, boolean doNotBlock) {
+		String fixedScript = fixScript(script);
 
 		if (doNotBlock) {
 			// Execute script, but do not wait for async call to complete. (assume it does). Bug 512001.
@@ -1239,7 +1326,9 @@ private static class Webkit2JavascriptEvaluator {
 			// Callback logic: Initiate an async callback and wait for it to finish.
 			// The callback comes back in javascriptExecutionFinishedProc(..) below.
 			Webkit2EvalReturnObj retObj = new Webkit2EvalReturnObj();
+			retObj.json = JSON;
 			int callbackId = CallBackMap.putObject(retObj);
+			if (JSON) fixedScript = jsonScript(fixedScript);
 			WebKitGTK.webkit_web_view_run_javascript(webView, Converter.wcsToMbcs(fixedScript, true), 0, callback.getAddress(), callbackId);
 			Shell shell = browser.getShell();
 			Display display = browser.getDisplay();
@@ -1282,6 +1371,9 @@ private static class Webkit2JavascriptEvaluator {
 
 			try {
 				retObj.returnValue = convertToJava(context, value);
+				if (retObj.json && retObj.returnValue instanceof String) {
+					retObj.returnValue = JSONParser.parse((String) retObj.returnValue);
+				}
 			} catch (IllegalArgumentException ex) {
 				retObj.errorNum = SWT.ERROR_INVALID_RETURN_VALUE;
 				retObj.errorMsg = "Type of return value not is not valid. For supported types see: Browser.evaluate() JavaDoc";
@@ -1289,6 +1381,15 @@ private static class Webkit2JavascriptEvaluator {
 			WebKitGTK.webkit_javascript_result_unref (js_result);
 		}
 		retObj.callbackFinished = true;
+		if (retObj.future != null) {
+			CallBackMap.removeObject(callbackId);
+			if (retObj.errorNum != 0) {
+				retObj.future.completeExceptionally(new SWTException(retObj.errorNum, retObj.errorMsg));
+			} else {
+				retObj.future.complete(retObj.returnValue);
+			}
+			return;
+		}
 		Display.getCurrent().wake();
 	}
 }
@@ -1310,6 +1411,28 @@ public Object evaluate (String script) throws SWTException {
 	}
 }
 
+@Override
+CompletableFuture<Object> evaluateAsync (String script) {
+	if (WEBKIT2) {
+		if (webkit_settings_get(WebKitGTK.enable_javascript) == 0) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return Webkit2JavascriptEvaluator.evaluateAsync(script, webView);
+	}
+	return super.evaluateAsync(script);
+}
+
+@Override
+CompletableFuture<Object[]> evaluateAsync (String[] scripts) {
+	if (WEBKIT2) {
+		if (webkit_settings_get(WebKitGTK.enable_javascript) == 0) {
+			return CompletableFuture.completedFuture(new Object[scripts.length]);
+		}
+		return Webkit2JavascriptEvaluator.evaluateAsync(scripts, webView);
+	}
+	return super.evaluateAsync(scripts);
+}
+
 @Override
 public boolean forward () {
 	if (WebKitGTK.webkit_web_view_can_go_forward (webView) == 0) return false;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -46,6 +46,9 @@ public final class Color extends Resource {
 	 */
 	public double /*float*/ [] handle;
 
+	/* The number of references to a color shared by Device.getColor(RGB) */
+	int sharedCount;
+
 Color(Device device) {
 	super(device);
 }
@@ -203,6 +206,20 @@ public Color(Device device, RGB rgb, int alpha) {
 	init();
 }
 
+/**
+ * Disposes of the operating system resources associated with
+ * the color. A color that is shared by <code>Device.getColor(RGB)</code> is
+ * not disposed, it is released with <code>Device.releaseColor(Color)</code>.
+ *
+ * @see Device#getColor(RGB)
+ * @see Device#releaseColor(Color)
+ */
+@Override
+public void dispose() {
+	if (sharedCount > 0) return;
+	super.dispose();
+}
+
 @Override
 void destroy() {
 	handle = null;
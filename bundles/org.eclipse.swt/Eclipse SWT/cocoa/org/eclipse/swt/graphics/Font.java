@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -46,6 +46,10 @@ public final class Font extends Resource {
 	 */
 	public NSFont handle;
 
+	/* The key and number of references of a font shared by Device.getFont(FontData) */
+	String sharedKey;
+	int sharedCount;
+
 	/**
 	 * the traits not supported to the OS font resource
 	 * (Warning: This field is platform dependent)
@@ -209,6 +213,20 @@ void addTraits(NSMutableDictionary dict) {
 	}
 }
 
+/**
+ * Disposes of the operating system resources associated with
+ * the font. A font that is shared by <code>Device.getFont(FontData)</code> is
+ * not disposed, it is released with <code>Device.releaseFont(Font)</code>.
+ *
+ * @see Device#getFont(FontData)
+ * @see Device#releaseFont(Font)
+ */
+@Override
+public void dispose() {
+	if (sharedCount > 0) return;
+	super.dispose();
+}
+
 @Override
 void destroy() {
 	handle.release();
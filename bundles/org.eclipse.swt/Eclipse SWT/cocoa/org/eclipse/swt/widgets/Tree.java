@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -84,6 +84,7 @@ public class Tree extends Composite {
 	int columnCount;
 	int sortDirection;
 	int selectedRowIndex = -1;
+	int updateCount;
 	boolean ignoreExpand, ignoreSelect, ignoreRedraw, reloadPending, drawExpansion, didSelect, preventSelect, dragDetected;
 	Rectangle imageBounds;
 	TreeItem insertItem;
@@ -227,6 +228,31 @@ public void addSelectionListener(SelectionListener listener) {
 	addListener (SWT.DefaultSelection, typedListener);
 }
 
+/**
+ * Starts a batch of changes to the items of the receiver. Until the
+ * matching call to <code>endUpdate()</code>, the receiver is not drawn,
+ * so that adding, removing and changing items does not redraw the
+ * receiver once for every item.
+ * <p>
+ * Calls to this method may be nested; the batch ends with the outermost
+ * call to <code>endUpdate()</code>.
+ * </p>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #endUpdate()
+ *
+ * @since 3.106
+ */
+public void beginUpdate () {
+	checkWidget ();
+	if (updateCount++ != 0) return;
+	setRedraw (false);
+}
+
 /**
  * Adds the listener to the collection of listeners who will
  * be notified when an item in the receiver is expanded or collapsed
@@ -1271,6 +1297,26 @@ void drawWithExpansionFrame_inView (long /*int*/ id, long /*int*/ sel, NSRect ce
 	drawExpansion = false;
 }
 
+/**
+ * Ends a batch of changes to the items of the receiver that was started
+ * with <code>beginUpdate()</code>. When the outermost batch ends, the
+ * receiver is redrawn.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #beginUpdate()
+ *
+ * @since 3.106
+ */
+public void endUpdate () {
+	checkWidget ();
+	if (updateCount == 0 || --updateCount != 0) return;
+	setRedraw (true);
+}
+
 @Override
 void expandItem_expandChildren (long /*int*/ id, long /*int*/ sel, long /*int*/ itemID, boolean children) {
 	TreeItem item = (TreeItem)display.getWidget(itemID);
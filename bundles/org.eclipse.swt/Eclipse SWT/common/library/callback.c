@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@
  */
 #include "callback.h"
 #include <string.h>
+#include <stdlib.h>
 
 #ifndef CALLBACK_NATIVE
 #define CALLBACK_NATIVE(func) Java_org_eclipse_swt_internal_Callback_##func
@@ -25,9 +26,20 @@
 /* --------------- callback globals ----------------- */
 
 static JavaVM *jvm = NULL;
+#ifdef USE_ASSEMBLER
+/* Pages of MAX_CALLBACKS entries, which are never moved or freed once allocated */
+static CALLBACK_DATA *callbackData[MAX_CALLBACK_PAGES];
+static int callbackPageCount = 0;
+#define CALLBACK_ENTRY(index) (callbackData[(index) / MAX_CALLBACKS][(index) % MAX_CALLBACKS])
+#else
 static CALLBACK_DATA callbackData[MAX_CALLBACKS];
+static int callbackPageCount = 1;
+#define CALLBACK_ENTRY(index) (callbackData[index])
+#endif
 static int callbackEnabled = 1;
 static int callbackEntryCount = 0;
+static int callbackCount = 0;
+static int callbackPeakCount = 0;
 static int initialized = 0;
 static jint JNI_VERSION = 0;
 
@@ -52,9 +64,36 @@ jintLong callback(int index, ...);
 #include <sys/mman.h>
 #endif
 
-static unsigned char *callbackCode = NULL;
+static unsigned char *callbackCode[MAX_CALLBACK_PAGES];
 #define CALLBACK_THUNK_SIZE 64
 
+/* Allocates the entries and the thunks of a new page */
+static int newCallbackPage()
+{
+	CALLBACK_DATA *data;
+	unsigned char *code;
+	if (callbackPageCount == MAX_CALLBACK_PAGES) return 0;
+	data = (CALLBACK_DATA *) calloc(MAX_CALLBACKS, sizeof(CALLBACK_DATA));
+	if (data == NULL) return 0;
+#if defined (_WIN32) || defined (_WIN32_WCE)
+	code = VirtualAlloc(NULL, CALLBACK_THUNK_SIZE * MAX_CALLBACKS, MEM_COMMIT, PAGE_EXECUTE_READWRITE);
+	if (code == NULL) {
+		free(data);
+		return 0;
+	}
+#else
+	code = mmap(NULL, CALLBACK_THUNK_SIZE * MAX_CALLBACKS, PROT_EXEC | PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANON, -1, 0);
+	if (code == MAP_FAILED) {
+		free(data);
+		return 0;
+	}
+#endif
+	callbackData[callbackPageCount] = data;
+	callbackCode[callbackPageCount] = code;
+	callbackPageCount++;
+	return 1;
+}
+
 #else
 
 /* --------------- callback functions --------------- */
@@ -521,6 +560,520 @@ static unsigned char *callbackCode = NULL;
 	FN_##args(253) \
 	FN_##args(254) \
 	FN_##args(255)
+#elif MAX_CALLBACKS == 512
+#define FN_BLOCK(args) \
+	FN_##args(0) \
+	FN_##args(1) \
+	FN_##args(2) \
+	FN_##args(3) \
+	FN_##args(4) \
+	FN_##args(5) \
+	FN_##args(6) \
+	FN_##args(7) \
+	FN_##args(8) \
+	FN_##args(9) \
+	FN_##args(10) \
+	FN_##args(11) \
+	FN_##args(12) \
+	FN_##args(13) \
+	FN_##args(14) \
+	FN_##args(15) \
+	FN_##args(16) \
+	FN_##args(17) \
+	FN_##args(18) \
+	FN_##args(19) \
+	FN_##args(20) \
+	FN_##args(21) \
+	FN_##args(22) \
+	FN_##args(23) \
+	FN_##args(24) \
+	FN_##args(25) \
+	FN_##args(26) \
+	FN_##args(27) \
+	FN_##args(28) \
+	FN_##args(29) \
+	FN_##args(30) \
+	FN_##args(31) \
+	FN_##args(32) \
+	FN_##args(33) \
+	FN_##args(34) \
+	FN_##args(35) \
+	FN_##args(36) \
+	FN_##args(37) \
+	FN_##args(38) \
+	FN_##args(39) \
+	FN_##args(40) \
+	FN_##args(41) \
+	FN_##args(42) \
+	FN_##args(43) \
+	FN_##args(44) \
+	FN_##args(45) \
+	FN_##args(46) \
+	FN_##args(47) \
+	FN_##args(48) \
+	FN_##args(49) \
+	FN_##args(50) \
+	FN_##args(51) \
+	FN_##args(52) \
+	FN_##args(53) \
+	FN_##args(54) \
+	FN_##args(55) \
+	FN_##args(56) \
+	FN_##args(57) \
+	FN_##args(58) \
+	FN_##args(59) \
+	FN_##args(60) \
+	FN_##args(61) \
+	FN_##args(62) \
+	FN_##args(63) \
+	FN_##args(64) \
+	FN_##args(65) \
+	FN_##args(66) \
+	FN_##args(67) \
+	FN_##args(68) \
+	FN_##args(69) \
+	FN_##args(70) \
+	FN_##args(71) \
+	FN_##args(72) \
+	FN_##args(73) \
+	FN_##args(74) \
+	FN_##args(75) \
+	FN_##args(76) \
+	FN_##args(77) \
+	FN_##args(78) \
+	FN_##args(79) \
+	FN_##args(80) \
+	FN_##args(81) \
+	FN_##args(82) \
+	FN_##args(83) \
+	FN_##args(84) \
+	FN_##args(85) \
+	FN_##args(86) \
+	FN_##args(87) \
+	FN_##args(88) \
+	FN_##args(89) \
+	FN_##args(90) \
+	FN_##args(91) \
+	FN_##args(92) \
+	FN_##args(93) \
+	FN_##args(94) \
+	FN_##args(95) \
+	FN_##args(96) \
+	FN_##args(97) \
+	FN_##args(98) \
+	FN_##args(99) \
+	FN_##args(100) \
+	FN_##args(101) \
+	FN_##args(102) \
+	FN_##args(103) \
+	FN_##args(104) \
+	FN_##args(105) \
+	FN_##args(106) \
+	FN_##args(107) \
+	FN_##args(108) \
+	FN_##args(109) \
+	FN_##args(110) \
+	FN_##args(111) \
+	FN_##args(112) \
+	FN_##args(113) \
+	FN_##args(114) \
+	FN_##args(115) \
+	FN_##args(116) \
+	FN_##args(117) \
+	FN_##args(118) \
+	FN_##args(119) \
+	FN_##args(120) \
+	FN_##args(121) \
+	FN_##args(122) \
+	FN_##args(123) \
+	FN_##args(124) \
+	FN_##args(125) \
+	FN_##args(126) \
+	FN_##args(127) \
+	FN_##args(128) \
+	FN_##args(129) \
+	FN_##args(130) \
+	FN_##args(131) \
+	FN_##args(132) \
+	FN_##args(133) \
+	FN_##args(134) \
+	FN_##args(135) \
+	FN_##args(136) \
+	FN_##args(137) \
+	FN_##args(138) \
+	FN_##args(139) \
+	FN_##args(140) \
+	FN_##args(141) \
+	FN_##args(142) \
+	FN_##args(143) \
+	FN_##args(144) \
+	FN_##args(145) \
+	FN_##args(146) \
+	FN_##args(147) \
+	FN_##args(148) \
+	FN_##args(149) \
+	FN_##args(150) \
+	FN_##args(151) \
+	FN_##args(152) \
+	FN_##args(153) \
+	FN_##args(154) \
+	FN_##args(155) \
+	FN_##args(156) \
+	FN_##args(157) \
+	FN_##args(158) \
+	FN_##args(159) \
+	FN_##args(160) \
+	FN_##args(161) \
+	FN_##args(162) \
+	FN_##args(163) \
+	FN_##args(164) \
+	FN_##args(165) \
+	FN_##args(166) \
+	FN_##args(167) \
+	FN_##args(168) \
+	FN_##args(169) \
+	FN_##args(170) \
+	FN_##args(171) \
+	FN_##args(172) \
+	FN_##args(173) \
+	FN_##args(174) \
+	FN_##args(175) \
+	FN_##args(176) \
+	FN_##args(177) \
+	FN_##args(178) \
+	FN_##args(179) \
+	FN_##args(180) \
+	FN_##args(181) \
+	FN_##args(182) \
+	FN_##args(183) \
+	FN_##args(184) \
+	FN_##args(185) \
+	FN_##args(186) \
+	FN_##args(187) \
+	FN_##args(188) \
+	FN_##args(189) \
+	FN_##args(190) \
+	FN_##args(191) \
+	FN_##args(192) \
+	FN_##args(193) \
+	FN_##args(194) \
+	FN_##args(195) \
+	FN_##args(196) \
+	FN_##args(197) \
+	FN_##args(198) \
+	FN_##args(199) \
+	FN_##args(200) \
+	FN_##args(201) \
+	FN_##args(202) \
+	FN_##args(203) \
+	FN_##args(204) \
+	FN_##args(205) \
+	FN_##args(206) \
+	FN_##args(207) \
+	FN_##args(208) \
+	FN_##args(209) \
+	FN_##args(210) \
+	FN_##args(211) \
+	FN_##args(212) \
+	FN_##args(213) \
+	FN_##args(214) \
+	FN_##args(215) \
+	FN_##args(216) \
+	FN_##args(217) \
+	FN_##args(218) \
+	FN_##args(219) \
+	FN_##args(220) \
+	FN_##args(221) \
+	FN_##args(222) \
+	FN_##args(223) \
+	FN_##args(224) \
+	FN_##args(225) \
+	FN_##args(226) \
+	FN_##args(227) \
+	FN_##args(228) \
+	FN_##args(229) \
+	FN_##args(230) \
+	FN_##args(231) \
+	FN_##args(232) \
+	FN_##args(233) \
+	FN_##args(234) \
+	FN_##args(235) \
+	FN_##args(236) \
+	FN_##args(237) \
+	FN_##args(238) \
+	FN_##args(239) \
+	FN_##args(240) \
+	FN_##args(241) \
+	FN_##args(242) \
+	FN_##args(243) \
+	FN_##args(244) \
+	FN_##args(245) \
+	FN_##args(246) \
+	FN_##args(247) \
+	FN_##args(248) \
+	FN_##args(249) \
+	FN_##args(250) \
+	FN_##args(251) \
+	FN_##args(252) \
+	FN_##args(253) \
+	FN_##args(254) \
+	FN_##args(255) \
+	FN_##args(256) \
+	FN_##args(257) \
+	FN_##args(258) \
+	FN_##args(259) \
+	FN_##args(260) \
+	FN_##args(261) \
+	FN_##args(262) \
+	FN_##args(263) \
+	FN_##args(264) \
+	FN_##args(265) \
+	FN_##args(266) \
+	FN_##args(267) \
+	FN_##args(268) \
+	FN_##args(269) \
+	FN_##args(270) \
+	FN_##args(271) \
+	FN_##args(272) \
+	FN_##args(273) \
+	FN_##args(274) \
+	FN_##args(275) \
+	FN_##args(276) \
+	FN_##args(277) \
+	FN_##args(278) \
+	FN_##args(279) \
+	FN_##args(280) \
+	FN_##args(281) \
+	FN_##args(282) \
+	FN_##args(283) \
+	FN_##args(284) \
+	FN_##args(285) \
+	FN_##args(286) \
+	FN_##args(287) \
+	FN_##args(288) \
+	FN_##args(289) \
+	FN_##args(290) \
+	FN_##args(291) \
+	FN_##args(292) \
+	FN_##args(293) \
+	FN_##args(294) \
+	FN_##args(295) \
+	FN_##args(296) \
+	FN_##args(297) \
+	FN_##args(298) \
+	FN_##args(299) \
+	FN_##args(300) \
+	FN_##args(301) \
+	FN_##args(302) \
+	FN_##args(303) \
+	FN_##args(304) \
+	FN_##args(305) \
+	FN_##args(306) \
+	FN_##args(307) \
+	FN_##args(308) \
+	FN_##args(309) \
+	FN_##args(310) \
+	FN_##args(311) \
+	FN_##args(312) \
+	FN_##args(313) \
+	FN_##args(314) \
+	FN_##args(315) \
+	FN_##args(316) \
+	FN_##args(317) \
+	FN_##args(318) \
+	FN_##args(319) \
+	FN_##args(320) \
+	FN_##args(321) \
+	FN_##args(322) \
+	FN_##args(323) \
+	FN_##args(324) \
+	FN_##args(325) \
+	FN_##args(326) \
+	FN_##args(327) \
+	FN_##args(328) \
+	FN_##args(329) \
+	FN_##args(330) \
+	FN_##args(331) \
+	FN_##args(332) \
+	FN_##args(333) \
+	FN_##args(334) \
+	FN_##args(335) \
+	FN_##args(336) \
+	FN_##args(337) \
+	FN_##args(338) \
+	FN_##args(339) \
+	FN_##args(340) \
+	FN_##args(341) \
+	FN_##args(342) \
+	FN_##args(343) \
+	FN_##args(344) \
+	FN_##args(345) \
+	FN_##args(346) \
+	FN_##args(347) \
+	FN_##args(348) \
+	FN_##args(349) \
+	FN_##args(350) \
+	FN_##args(351) \
+	FN_##args(352) \
+	FN_##args(353) \
+	FN_##args(354) \
+	FN_##args(355) \
+	FN_##args(356) \
+	FN_##args(357) \
+	FN_##args(358) \
+	FN_##args(359) \
+	FN_##args(360) \
+	FN_##args(361) \
+	FN_##args(362) \
+	FN_##args(363) \
+	FN_##args(364) \
+	FN_##args(365) \
+	FN_##args(366) \
+	FN_##args(367) \
+	FN_##args(368) \
+	FN_##args(369) \
+	FN_##args(370) \
+	FN_##args(371) \
+	FN_##args(372) \
+	FN_##args(373) \
+	FN_##args(374) \
+	FN_##args(375) \
+	FN_##args(376) \
+	FN_##args(377) \
+	FN_##args(378) \
+	FN_##args(379) \
+	FN_##args(380) \
+	FN_##args(381) \
+	FN_##args(382) \
+	FN_##args(383) \
+	FN_##args(384) \
+	FN_##args(385) \
+	FN_##args(386) \
+	FN_##args(387) \
+	FN_##args(388) \
+	FN_##args(389) \
+	FN_##args(390) \
+	FN_##args(391) \
+	FN_##args(392) \
+	FN_##args(393) \
+	FN_##args(394) \
+	FN_##args(395) \
+	FN_##args(396) \
+	FN_##args(397) \
+	FN_##args(398) \
+	FN_##args(399) \
+	FN_##args(400) \
+	FN_##args(401) \
+	FN_##args(402) \
+	FN_##args(403) \
+	FN_##args(404) \
+	FN_##args(405) \
+	FN_##args(406) \
+	FN_##args(407) \
+	FN_##args(408) \
+	FN_##args(409) \
+	FN_##args(410) \
+	FN_##args(411) \
+	FN_##args(412) \
+	FN_##args(413) \
+	FN_##args(414) \
+	FN_##args(415) \
+	FN_##args(416) \
+	FN_##args(417) \
+	FN_##args(418) \
+	FN_##args(419) \
+	FN_##args(420) \
+	FN_##args(421) \
+	FN_##args(422) \
+	FN_##args(423) \
+	FN_##args(424) \
+	FN_##args(425) \
+	FN_##args(426) \
+	FN_##args(427) \
+	FN_##args(428) \
+	FN_##args(429) \
+	FN_##args(430) \
+	FN_##args(431) \
+	FN_##args(432) \
+	FN_##args(433) \
+	FN_##args(434) \
+	FN_##args(435) \
+	FN_##args(436) \
+	FN_##args(437) \
+	FN_##args(438) \
+	FN_##args(439) \
+	FN_##args(440) \
+	FN_##args(441) \
+	FN_##args(442) \
+	FN_##args(443) \
+	FN_##args(444) \
+	FN_##args(445) \
+	FN_##args(446) \
+	FN_##args(447) \
+	FN_##args(448) \
+	FN_##args(449) \
+	FN_##args(450) \
+	FN_##args(451) \
+	FN_##args(452) \
+	FN_##args(453) \
+	FN_##args(454) \
+	FN_##args(455) \
+	FN_##args(456) \
+	FN_##args(457) \
+	FN_##args(458) \
+	FN_##args(459) \
+	FN_##args(460) \
+	FN_##args(461) \
+	FN_##args(462) \
+	FN_##args(463) \
+	FN_##args(464) \
+	FN_##args(465) \
+	FN_##args(466) \
+	FN_##args(467) \
+	FN_##args(468) \
+	FN_##args(469) \
+	FN_##args(470) \
+	FN_##args(471) \
+	FN_##args(472) \
+	FN_##args(473) \
+	FN_##args(474) \
+	FN_##args(475) \
+	FN_##args(476) \
+	FN_##args(477) \
+	FN_##args(478) \
+	FN_##args(479) \
+	FN_##args(480) \
+	FN_##args(481) \
+	FN_##args(482) \
+	FN_##args(483) \
+	FN_##args(484) \
+	FN_##args(485) \
+	FN_##args(486) \
+	FN_##args(487) \
+	FN_##args(488) \
+	FN_##args(489) \
+	FN_##args(490) \
+	FN_##args(491) \
+	FN_##args(492) \
+	FN_##args(493) \
+	FN_##args(494) \
+	FN_##args(495) \
+	FN_##args(496) \
+	FN_##args(497) \
+	FN_##args(498) \
+	FN_##args(499) \
+	FN_##args(500) \
+	FN_##args(501) \
+	FN_##args(502) \
+	FN_##args(503) \
+	FN_##args(504) \
+	FN_##args(505) \
+	FN_##args(506) \
+	FN_##args(507) \
+	FN_##args(508) \
+	FN_##args(509) \
+	FN_##args(510) \
+	FN_##args(511)
 #else
 #error Invalid MAX_CALLBACKS
 #endif /* MAX_CALLBACKS == 16 */
@@ -569,7 +1122,138 @@ FN_BLOCK(12)
 	(jintLong)FN(14, args), \
 	(jintLong)FN(15, args), \
 },
-#elif MAX_CALLBACKS == 128
+#elif MAX_CALLBACKS == 128
+#define FN_A_BLOCK(args) { \
+	(jintLong)FN(0, args), \
+	(jintLong)FN(1, args), \
+	(jintLong)FN(2, args), \
+	(jintLong)FN(3, args), \
+	(jintLong)FN(4, args), \
+	(jintLong)FN(5, args), \
+	(jintLong)FN(6, args), \
+	(jintLong)FN(7, args), \
+	(jintLong)FN(8, args), \
+	(jintLong)FN(9, args), \
+	(jintLong)FN(10, args), \
+	(jintLong)FN(11, args), \
+	(jintLong)FN(12, args), \
+	(jintLong)FN(13, args), \
+	(jintLong)FN(14, args), \
+	(jintLong)FN(15, args), \
+	(jintLong)FN(16, args), \
+	(jintLong)FN(17, args), \
+	(jintLong)FN(18, args), \
+	(jintLong)FN(19, args), \
+	(jintLong)FN(20, args), \
+	(jintLong)FN(21, args), \
+	(jintLong)FN(22, args), \
+	(jintLong)FN(23, args), \
+	(jintLong)FN(24, args), \
+	(jintLong)FN(25, args), \
+	(jintLong)FN(26, args), \
+	(jintLong)FN(27, args), \
+	(jintLong)FN(28, args), \
+	(jintLong)FN(29, args), \
+	(jintLong)FN(30, args), \
+	(jintLong)FN(31, args), \
+	(jintLong)FN(32, args), \
+	(jintLong)FN(33, args), \
+	(jintLong)FN(34, args), \
+	(jintLong)FN(35, args), \
+	(jintLong)FN(36, args), \
+	(jintLong)FN(37, args), \
+	(jintLong)FN(38, args), \
+	(jintLong)FN(39, args), \
+	(jintLong)FN(40, args), \
+	(jintLong)FN(41, args), \
+	(jintLong)FN(42, args), \
+	(jintLong)FN(43, args), \
+	(jintLong)FN(44, args), \
+	(jintLong)FN(45, args), \
+	(jintLong)FN(46, args), \
+	(jintLong)FN(47, args), \
+	(jintLong)FN(48, args), \
+	(jintLong)FN(49, args), \
+	(jintLong)FN(50, args), \
+	(jintLong)FN(51, args), \
+	(jintLong)FN(52, args), \
+	(jintLong)FN(53, args), \
+	(jintLong)FN(54, args), \
+	(jintLong)FN(55, args), \
+	(jintLong)FN(56, args), \
+	(jintLong)FN(57, args), \
+	(jintLong)FN(58, args), \
+	(jintLong)FN(59, args), \
+	(jintLong)FN(60, args), \
+	(jintLong)FN(61, args), \
+	(jintLong)FN(62, args), \
+	(jintLong)FN(63, args), \
+	(jintLong)FN(64, args), \
+	(jintLong)FN(65, args), \
+	(jintLong)FN(66, args), \
+	(jintLong)FN(67, args), \
+	(jintLong)FN(68, args), \
+	(jintLong)FN(69, args), \
+	(jintLong)FN(70, args), \
+	(jintLong)FN(71, args), \
+	(jintLong)FN(72, args), \
+	(jintLong)FN(73, args), \
+	(jintLong)FN(74, args), \
+	(jintLong)FN(75, args), \
+	(jintLong)FN(76, args), \
+	(jintLong)FN(77, args), \
+	(jintLong)FN(78, args), \
+	(jintLong)FN(79, args), \
+	(jintLong)FN(80, args), \
+	(jintLong)FN(81, args), \
+	(jintLong)FN(82, args), \
+	(jintLong)FN(83, args), \
+	(jintLong)FN(84, args), \
+	(jintLong)FN(85, args), \
+	(jintLong)FN(86, args), \
+	(jintLong)FN(87, args), \
+	(jintLong)FN(88, args), \
+	(jintLong)FN(89, args), \
+	(jintLong)FN(90, args), \
+	(jintLong)FN(91, args), \
+	(jintLong)FN(92, args), \
+	(jintLong)FN(93, args), \
+	(jintLong)FN(94, args), \
+	(jintLong)FN(95, args), \
+	(jintLong)FN(96, args), \
+	(jintLong)FN(97, args), \
+	(jintLong)FN(98, args), \
+	(jintLong)FN(99, args), \
+	(jintLong)FN(100, args), \
+	(jintLong)FN(101, args), \
+	(jintLong)FN(102, args), \
+	(jintLong)FN(103, args), \
+	(jintLong)FN(104, args), \
+	(jintLong)FN(105, args), \
+	(jintLong)FN(106, args), \
+	(jintLong)FN(107, args), \
+	(jintLong)FN(108, args), \
+	(jintLong)FN(109, args), \
+	(jintLong)FN(110, args), \
+	(jintLong)FN(111, args), \
+	(jintLong)FN(112, args), \
+	(jintLong)FN(113, args), \
+	(jintLong)FN(114, args), \
+	(jintLong)FN(115, args), \
+	(jintLong)FN(116, args), \
+	(jintLong)FN(117, args), \
+	(jintLong)FN(118, args), \
+	(jintLong)FN(119, args), \
+	(jintLong)FN(120, args), \
+	(jintLong)FN(121, args), \
+	(jintLong)FN(122, args), \
+	(jintLong)FN(123, args), \
+	(jintLong)FN(124, args), \
+	(jintLong)FN(125, args), \
+	(jintLong)FN(126, args), \
+	(jintLong)FN(127, args), \
+},
+#elif MAX_CALLBACKS == 256
 #define FN_A_BLOCK(args) { \
 	(jintLong)FN(0, args), \
 	(jintLong)FN(1, args), \
@@ -699,8 +1383,136 @@ FN_BLOCK(12)
 	(jintLong)FN(125, args), \
 	(jintLong)FN(126, args), \
 	(jintLong)FN(127, args), \
+	(jintLong)FN(128, args), \
+	(jintLong)FN(129, args), \
+	(jintLong)FN(130, args), \
+	(jintLong)FN(131, args), \
+	(jintLong)FN(132, args), \
+	(jintLong)FN(133, args), \
+	(jintLong)FN(134, args), \
+	(jintLong)FN(135, args), \
+	(jintLong)FN(136, args), \
+	(jintLong)FN(137, args), \
+	(jintLong)FN(138, args), \
+	(jintLong)FN(139, args), \
+	(jintLong)FN(140, args), \
+	(jintLong)FN(141, args), \
+	(jintLong)FN(142, args), \
+	(jintLong)FN(143, args), \
+	(jintLong)FN(144, args), \
+	(jintLong)FN(145, args), \
+	(jintLong)FN(146, args), \
+	(jintLong)FN(147, args), \
+	(jintLong)FN(148, args), \
+	(jintLong)FN(149, args), \
+	(jintLong)FN(150, args), \
+	(jintLong)FN(151, args), \
+	(jintLong)FN(152, args), \
+	(jintLong)FN(153, args), \
+	(jintLong)FN(154, args), \
+	(jintLong)FN(155, args), \
+	(jintLong)FN(156, args), \
+	(jintLong)FN(157, args), \
+	(jintLong)FN(158, args), \
+	(jintLong)FN(159, args), \
+	(jintLong)FN(160, args), \
+	(jintLong)FN(161, args), \
+	(jintLong)FN(162, args), \
+	(jintLong)FN(163, args), \
+	(jintLong)FN(164, args), \
+	(jintLong)FN(165, args), \
+	(jintLong)FN(166, args), \
+	(jintLong)FN(167, args), \
+	(jintLong)FN(168, args), \
+	(jintLong)FN(169, args), \
+	(jintLong)FN(170, args), \
+	(jintLong)FN(171, args), \
+	(jintLong)FN(172, args), \
+	(jintLong)FN(173, args), \
+	(jintLong)FN(174, args), \
+	(jintLong)FN(175, args), \
+	(jintLong)FN(176, args), \
+	(jintLong)FN(177, args), \
+	(jintLong)FN(178, args), \
+	(jintLong)FN(179, args), \
+	(jintLong)FN(180, args), \
+	(jintLong)FN(181, args), \
+	(jintLong)FN(182, args), \
+	(jintLong)FN(183, args), \
+	(jintLong)FN(184, args), \
+	(jintLong)FN(185, args), \
+	(jintLong)FN(186, args), \
+	(jintLong)FN(187, args), \
+	(jintLong)FN(188, args), \
+	(jintLong)FN(189, args), \
+	(jintLong)FN(190, args), \
+	(jintLong)FN(191, args), \
+	(jintLong)FN(192, args), \
+	(jintLong)FN(193, args), \
+	(jintLong)FN(194, args), \
+	(jintLong)FN(195, args), \
+	(jintLong)FN(196, args), \
+	(jintLong)FN(197, args), \
+	(jintLong)FN(198, args), \
+	(jintLong)FN(199, args), \
+	(jintLong)FN(200, args), \
+	(jintLong)FN(201, args), \
+	(jintLong)FN(202, args), \
+	(jintLong)FN(203, args), \
+	(jintLong)FN(204, args), \
+	(jintLong)FN(205, args), \
+	(jintLong)FN(206, args), \
+	(jintLong)FN(207, args), \
+	(jintLong)FN(208, args), \
+	(jintLong)FN(209, args), \
+	(jintLong)FN(210, args), \
+	(jintLong)FN(211, args), \
+	(jintLong)FN(212, args), \
+	(jintLong)FN(213, args), \
+	(jintLong)FN(214, args), \
+	(jintLong)FN(215, args), \
+	(jintLong)FN(216, args), \
+	(jintLong)FN(217, args), \
+	(jintLong)FN(218, args), \
+	(jintLong)FN(219, args), \
+	(jintLong)FN(220, args), \
+	(jintLong)FN(221, args), \
+	(jintLong)FN(222, args), \
+	(jintLong)FN(223, args), \
+	(jintLong)FN(224, args), \
+	(jintLong)FN(225, args), \
+	(jintLong)FN(226, args), \
+	(jintLong)FN(227, args), \
+	(jintLong)FN(228, args), \
+	(jintLong)FN(229, args), \
+	(jintLong)FN(230, args), \
+	(jintLong)FN(231, args), \
+	(jintLong)FN(232, args), \
+	(jintLong)FN(233, args), \
+	(jintLong)FN(234, args), \
+	(jintLong)FN(235, args), \
+	(jintLong)FN(236, args), \
+	(jintLong)FN(237, args), \
+	(jintLong)FN(238, args), \
+	(jintLong)FN(239, args), \
+	(jintLong)FN(240, args), \
+	(jintLong)FN(241, args), \
+	(jintLong)FN(242, args), \
+	(jintLong)FN(243, args), \
+	(jintLong)FN(244, args), \
+	(jintLong)FN(245, args), \
+	(jintLong)FN(246, args), \
+	(jintLong)FN(247, args), \
+	(jintLong)FN(248, args), \
+	(jintLong)FN(249, args), \
+	(jintLong)FN(250, args), \
+	(jintLong)FN(251, args), \
+	(jintLong)FN(252, args), \
+	(jintLong)FN(253, args), \
+	(jintLong)FN(254, args), \
+	(jintLong)FN(255, args), \
 },
-#elif MAX_CALLBACKS == 256
+#elif MAX_CALLBACKS == 512
 #define FN_A_BLOCK(args) { \
 	(jintLong)FN(0, args), \
 	(jintLong)FN(1, args), \
@@ -958,6 +1770,262 @@ FN_BLOCK(12)
 	(jintLong)FN(253, args), \
 	(jintLong)FN(254, args), \
 	(jintLong)FN(255, args), \
+	(jintLong)FN(256, args), \
+	(jintLong)FN(257, args), \
+	(jintLong)FN(258, args), \
+	(jintLong)FN(259, args), \
+	(jintLong)FN(260, args), \
+	(jintLong)FN(261, args), \
+	(jintLong)FN(262, args), \
+	(jintLong)FN(263, args), \
+	(jintLong)FN(264, args), \
+	(jintLong)FN(265, args), \
+	(jintLong)FN(266, args), \
+	(jintLong)FN(267, args), \
+	(jintLong)FN(268, args), \
+	(jintLong)FN(269, args), \
+	(jintLong)FN(270, args), \
+	(jintLong)FN(271, args), \
+	(jintLong)FN(272, args), \
+	(jintLong)FN(273, args), \
+	(jintLong)FN(274, args), \
+	(jintLong)FN(275, args), \
+	(jintLong)FN(276, args), \
+	(jintLong)FN(277, args), \
+	(jintLong)FN(278, args), \
+	(jintLong)FN(279, args), \
+	(jintLong)FN(280, args), \
+	(jintLong)FN(281, args), \
+	(jintLong)FN(282, args), \
+	(jintLong)FN(283, args), \
+	(jintLong)FN(284, args), \
+	(jintLong)FN(285, args), \
+	(jintLong)FN(286, args), \
+	(jintLong)FN(287, args), \
+	(jintLong)FN(288, args), \
+	(jintLong)FN(289, args), \
+	(jintLong)FN(290, args), \
+	(jintLong)FN(291, args), \
+	(jintLong)FN(292, args), \
+	(jintLong)FN(293, args), \
+	(jintLong)FN(294, args), \
+	(jintLong)FN(295, args), \
+	(jintLong)FN(296, args), \
+	(jintLong)FN(297, args), \
+	(jintLong)FN(298, args), \
+	(jintLong)FN(299, args), \
+	(jintLong)FN(300, args), \
+	(jintLong)FN(301, args), \
+	(jintLong)FN(302, args), \
+	(jintLong)FN(303, args), \
+	(jintLong)FN(304, args), \
+	(jintLong)FN(305, args), \
+	(jintLong)FN(306, args), \
+	(jintLong)FN(307, args), \
+	(jintLong)FN(308, args), \
+	(jintLong)FN(309, args), \
+	(jintLong)FN(310, args), \
+	(jintLong)FN(311, args), \
+	(jintLong)FN(312, args), \
+	(jintLong)FN(313, args), \
+	(jintLong)FN(314, args), \
+	(jintLong)FN(315, args), \
+	(jintLong)FN(316, args), \
+	(jintLong)FN(317, args), \
+	(jintLong)FN(318, args), \
+	(jintLong)FN(319, args), \
+	(jintLong)FN(320, args), \
+	(jintLong)FN(321, args), \
+	(jintLong)FN(322, args), \
+	(jintLong)FN(323, args), \
+	(jintLong)FN(324, args), \
+	(jintLong)FN(325, args), \
+	(jintLong)FN(326, args), \
+	(jintLong)FN(327, args), \
+	(jintLong)FN(328, args), \
+	(jintLong)FN(329, args), \
+	(jintLong)FN(330, args), \
+	(jintLong)FN(331, args), \
+	(jintLong)FN(332, args), \
+	(jintLong)FN(333, args), \
+	(jintLong)FN(334, args), \
+	(jintLong)FN(335, args), \
+	(jintLong)FN(336, args), \
+	(jintLong)FN(337, args), \
+	(jintLong)FN(338, args), \
+	(jintLong)FN(339, args), \
+	(jintLong)FN(340, args), \
+	(jintLong)FN(341, args), \
+	(jintLong)FN(342, args), \
+	(jintLong)FN(343, args), \
+	(jintLong)FN(344, args), \
+	(jintLong)FN(345, args), \
+	(jintLong)FN(346, args), \
+	(jintLong)FN(347, args), \
+	(jintLong)FN(348, args), \
+	(jintLong)FN(349, args), \
+	(jintLong)FN(350, args), \
+	(jintLong)FN(351, args), \
+	(jintLong)FN(352, args), \
+	(jintLong)FN(353, args), \
+	(jintLong)FN(354, args), \
+	(jintLong)FN(355, args), \
+	(jintLong)FN(356, args), \
+	(jintLong)FN(357, args), \
+	(jintLong)FN(358, args), \
+	(jintLong)FN(359, args), \
+	(jintLong)FN(360, args), \
+	(jintLong)FN(361, args), \
+	(jintLong)FN(362, args), \
+	(jintLong)FN(363, args), \
+	(jintLong)FN(364, args), \
+	(jintLong)FN(365, args), \
+	(jintLong)FN(366, args), \
+	(jintLong)FN(367, args), \
+	(jintLong)FN(368, args), \
+	(jintLong)FN(369, args), \
+	(jintLong)FN(370, args), \
+	(jintLong)FN(371, args), \
+	(jintLong)FN(372, args), \
+	(jintLong)FN(373, args), \
+	(jintLong)FN(374, args), \
+	(jintLong)FN(375, args), \
+	(jintLong)FN(376, args), \
+	(jintLong)FN(377, args), \
+	(jintLong)FN(378, args), \
+	(jintLong)FN(379, args), \
+	(jintLong)FN(380, args), \
+	(jintLong)FN(381, args), \
+	(jintLong)FN(382, args), \
+	(jintLong)FN(383, args), \
+	(jintLong)FN(384, args), \
+	(jintLong)FN(385, args), \
+	(jintLong)FN(386, args), \
+	(jintLong)FN(387, args), \
+	(jintLong)FN(388, args), \
+	(jintLong)FN(389, args), \
+	(jintLong)FN(390, args), \
+	(jintLong)FN(391, args), \
+	(jintLong)FN(392, args), \
+	(jintLong)FN(393, args), \
+	(jintLong)FN(394, args), \
+	(jintLong)FN(395, args), \
+	(jintLong)FN(396, args), \
+	(jintLong)FN(397, args), \
+	(jintLong)FN(398, args), \
+	(jintLong)FN(399, args), \
+	(jintLong)FN(400, args), \
+	(jintLong)FN(401, args), \
+	(jintLong)FN(402, args), \
+	(jintLong)FN(403, args), \
+	(jintLong)FN(404, args), \
+	(jintLong)FN(405, args), \
+	(jintLong)FN(406, args), \
+	(jintLong)FN(407, args), \
+	(jintLong)FN(408, args), \
+	(jintLong)FN(409, args), \
+	(jintLong)FN(410, args), \
+	(jintLong)FN(411, args), \
+	(jintLong)FN(412, args), \
+	(jintLong)FN(413, args), \
+	(jintLong)FN(414, args), \
+	(jintLong)FN(415, args), \
+	(jintLong)FN(416, args), \
+	(jintLong)FN(417, args), \
+	(jintLong)FN(418, args), \
+	(jintLong)FN(419, args), \
+	(jintLong)FN(420, args), \
+	(jintLong)FN(421, args), \
+	(jintLong)FN(422, args), \
+	(jintLong)FN(423, args), \
+	(jintLong)FN(424, args), \
+	(jintLong)FN(425, args), \
+	(jintLong)FN(426, args), \
+	(jintLong)FN(427, args), \
+	(jintLong)FN(428, args), \
+	(jintLong)FN(429, args), \
+	(jintLong)FN(430, args), \
+	(jintLong)FN(431, args), \
+	(jintLong)FN(432, args), \
+	(jintLong)FN(433, args), \
+	(jintLong)FN(434, args), \
+	(jintLong)FN(435, args), \
+	(jintLong)FN(436, args), \
+	(jintLong)FN(437, args), \
+	(jintLong)FN(438, args), \
+	(jintLong)FN(439, args), \
+	(jintLong)FN(440, args), \
+	(jintLong)FN(441, args), \
+	(jintLong)FN(442, args), \
+	(jintLong)FN(443, args), \
+	(jintLong)FN(444, args), \
+	(jintLong)FN(445, args), \
+	(jintLong)FN(446, args), \
+	(jintLong)FN(447, args), \
+	(jintLong)FN(448, args), \
+	(jintLong)FN(449, args), \
+	(jintLong)FN(450, args), \
+	(jintLong)FN(451, args), \
+	(jintLong)FN(452, args), \
+	(jintLong)FN(453, args), \
+	(jintLong)FN(454, args), \
+	(jintLong)FN(455, args), \
+	(jintLong)FN(456, args), \
+	(jintLong)FN(457, args), \
+	(jintLong)FN(458, args), \
+	(jintLong)FN(459, args), \
+	(jintLong)FN(460, args), \
+	(jintLong)FN(461, args), \
+	(jintLong)FN(462, args), \
+	(jintLong)FN(463, args), \
+	(jintLong)FN(464, args), \
+	(jintLong)FN(465, args), \
+	(jintLong)FN(466, args), \
+	(jintLong)FN(467, args), \
+	(jintLong)FN(468, args), \
+	(jintLong)FN(469, args), \
+	(jintLong)FN(470, args), \
+	(jintLong)FN(471, args), \
+	(jintLong)FN(472, args), \
+	(jintLong)FN(473, args), \
+	(jintLong)FN(474, args), \
+	(jintLong)FN(475, args), \
+	(jintLong)FN(476, args), \
+	(jintLong)FN(477, args), \
+	(jintLong)FN(478, args), \
+	(jintLong)FN(479, args), \
+	(jintLong)FN(480, args), \
+	(jintLong)FN(481, args), \
+	(jintLong)FN(482, args), \
+	(jintLong)FN(483, args), \
+	(jintLong)FN(484, args), \
+	(jintLong)FN(485, args), \
+	(jintLong)FN(486, args), \
+	(jintLong)FN(487, args), \
+	(jintLong)FN(488, args), \
+	(jintLong)FN(489, args), \
+	(jintLong)FN(490, args), \
+	(jintLong)FN(491, args), \
+	(jintLong)FN(492, args), \
+	(jintLong)FN(493, args), \
+	(jintLong)FN(494, args), \
+	(jintLong)FN(495, args), \
+	(jintLong)FN(496, args), \
+	(jintLong)FN(497, args), \
+	(jintLong)FN(498, args), \
+	(jintLong)FN(499, args), \
+	(jintLong)FN(500, args), \
+	(jintLong)FN(501, args), \
+	(jintLong)FN(502, args), \
+	(jintLong)FN(503, args), \
+	(jintLong)FN(504, args), \
+	(jintLong)FN(505, args), \
+	(jintLong)FN(506, args), \
+	(jintLong)FN(507, args), \
+	(jintLong)FN(508, args), \
+	(jintLong)FN(509, args), \
+	(jintLong)FN(510, args), \
+	(jintLong)FN(511, args), \
 },
 #else
 #error Invalid MAX_CALLBACKS
@@ -993,7 +2061,9 @@ JNIEXPORT jintLong JNICALL CALLBACK_NATIVE(bind)
 	if (jvm == NULL) (*env)->GetJavaVM(env, &jvm);
 	if (JNI_VERSION == 0) JNI_VERSION = (*env)->GetVersion(env);
 	if (!initialized) {
+#ifndef USE_ASSEMBLER
 		memset(&callbackData, 0, sizeof(callbackData));
+#endif
 		initialized = 1;
 	}
 	if (method) methodString = (const char *) (*env)->GetStringUTFChars(env, method, NULL);
@@ -1009,15 +2079,19 @@ JNIEXPORT jintLong JNICALL CALLBACK_NATIVE(bind)
 	if (method && methodString) (*env)->ReleaseStringUTFChars(env, method, methodString);
 	if (signature && sigString) (*env)->ReleaseStringUTFChars(env, signature, sigString);
 	if (mid == 0) goto fail;
-	for (i=0; i<MAX_CALLBACKS; i++) {
-		if (!callbackData[i].callback) {
-			if ((callbackData[i].callback = (*env)->NewGlobalRef(env, callbackObject)) == NULL) goto fail;
-			if ((callbackData[i].object = (*env)->NewGlobalRef(env, object)) == NULL) goto fail;
-			callbackData[i].isStatic = isStatic;
-			callbackData[i].isArrayBased = isArrayBased;
-			callbackData[i].argCount = argCount;
-			callbackData[i].errorResult = errorResult;
-			callbackData[i].methodID = mid;
+	for (i=0; i<MAX_CALLBACKS * MAX_CALLBACK_PAGES; i++) {
+#ifdef USE_ASSEMBLER
+		if (i == callbackPageCount * MAX_CALLBACKS && !newCallbackPage()) goto fail;
+#endif
+		if (!CALLBACK_ENTRY(i).callback) {
+			if ((CALLBACK_ENTRY(i).callback = (*env)->NewGlobalRef(env, callbackObject)) == NULL) goto fail;
+			if ((CALLBACK_ENTRY(i).object = (*env)->NewGlobalRef(env, object)) == NULL) goto fail;
+			CALLBACK_ENTRY(i).isStatic = isStatic;
+			CALLBACK_ENTRY(i).isArrayBased = isArrayBased;
+			CALLBACK_ENTRY(i).argCount = argCount;
+			CALLBACK_ENTRY(i).errorResult = errorResult;
+			CALLBACK_ENTRY(i).methodID = mid;
+			if (++callbackCount > callbackPeakCount) callbackPeakCount = callbackCount;
 #ifndef USE_ASSEMBLER
 			return (jintLong) fnx_array[argCount][i];
 #else
@@ -1027,16 +2101,7 @@ JNIEXPORT jintLong JNICALL CALLBACK_NATIVE(bind)
 #ifdef __APPLE__
 			int pad = 0;
 #endif
-			if (callbackCode == NULL) {
-#if defined (_WIN32) || defined (_WIN32_WCE)
-				callbackCode = VirtualAlloc(NULL, CALLBACK_THUNK_SIZE * MAX_CALLBACKS, MEM_COMMIT, PAGE_EXECUTE_READWRITE);
-				if (callbackCode == NULL) return 0;
-#else 
-				callbackCode = mmap(NULL, CALLBACK_THUNK_SIZE * MAX_CALLBACKS, PROT_EXEC | PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANON, -1, 0);
-				if (callbackCode == MAP_FAILED) return 0;
-#endif
-			}
-			code = (unsigned char *)(callbackCode + (i * CALLBACK_THUNK_SIZE));
+			code = (unsigned char *)(callbackCode[i / MAX_CALLBACKS] + ((i % MAX_CALLBACKS) * CALLBACK_THUNK_SIZE));
 
 			//PUSH EBP - 1 byte
 			code[j++] = 0x55;
@@ -1127,11 +2192,12 @@ JNIEXPORT void JNICALL CALLBACK_NATIVE(unbind)
   (JNIEnv *env, jclass that, jobject callback)
 {
 	int i;
-    for (i=0; i<MAX_CALLBACKS; i++) {
-        if (callbackData[i].callback != NULL && (*env)->IsSameObject(env, callback, callbackData[i].callback)) {
-            if (callbackData[i].callback != NULL) (*env)->DeleteGlobalRef(env, callbackData[i].callback);
-            if (callbackData[i].object != NULL) (*env)->DeleteGlobalRef(env, callbackData[i].object);
-            memset(&callbackData[i], 0, sizeof(CALLBACK_DATA));
+    for (i=0; i<MAX_CALLBACKS * callbackPageCount; i++) {
+        if (CALLBACK_ENTRY(i).callback != NULL && (*env)->IsSameObject(env, callback, CALLBACK_ENTRY(i).callback)) {
+            if (CALLBACK_ENTRY(i).callback != NULL) (*env)->DeleteGlobalRef(env, CALLBACK_ENTRY(i).callback);
+            if (CALLBACK_ENTRY(i).object != NULL) (*env)->DeleteGlobalRef(env, CALLBACK_ENTRY(i).object);
+            memset(&CALLBACK_ENTRY(i), 0, sizeof(CALLBACK_DATA));
+            callbackCount--;
         }
     }
 }
@@ -1148,6 +2214,24 @@ JNIEXPORT jint JNICALL CALLBACK_NATIVE(getEntryCount)
 	return (jint)callbackEntryCount;
 }
 
+JNIEXPORT jint JNICALL CALLBACK_NATIVE(getCallbackCount)
+  (JNIEnv *env, jclass that)
+{
+	return (jint)callbackCount;
+}
+
+JNIEXPORT jint JNICALL CALLBACK_NATIVE(getPeakCallbackCount)
+  (JNIEnv *env, jclass that)
+{
+	return (jint)callbackPeakCount;
+}
+
+JNIEXPORT jint JNICALL CALLBACK_NATIVE(getMaxCallbackCount)
+  (JNIEnv *env, jclass that)
+{
+	return (jint)(MAX_CALLBACKS * MAX_CALLBACK_PAGES);
+}
+
 JNIEXPORT void JNICALL CALLBACK_NATIVE(setEnabled)
   (JNIEnv *env, jclass that, jboolean enable)
 {
@@ -1157,7 +2241,15 @@ JNIEXPORT void JNICALL CALLBACK_NATIVE(setEnabled)
 JNIEXPORT void JNICALL CALLBACK_NATIVE(reset)
   (JNIEnv *env, jclass that)
 {
+#ifdef USE_ASSEMBLER
+    int i;
+    for (i=0; i<callbackPageCount; i++) {
+        memset((void *)callbackData[i], 0, MAX_CALLBACKS * sizeof(CALLBACK_DATA));
+    }
+#else
     memset((void *)&callbackData, 0, sizeof(callbackData));
+#endif
+    callbackCount = 0;
 }
 
 jintLong callback(int index, ...)
@@ -1166,12 +2258,12 @@ jintLong callback(int index, ...)
 
 	{
 	JNIEnv *env = NULL;
-	jmethodID mid = callbackData[index].methodID;
-	jobject object = callbackData[index].object;
-	jboolean isStatic = callbackData[index].isStatic;
-	jboolean isArrayBased = callbackData[index].isArrayBased;
-	jint argCount = callbackData[index].argCount;
-	jintLong result = callbackData[index].errorResult;
+	jmethodID mid = CALLBACK_ENTRY(index).methodID;
+	jobject object = CALLBACK_ENTRY(index).object;
+	jboolean isStatic = CALLBACK_ENTRY(index).isStatic;
+	jboolean isArrayBased = CALLBACK_ENTRY(index).isArrayBased;
+	jint argCount = CALLBACK_ENTRY(index).argCount;
+	jintLong result = CALLBACK_ENTRY(index).errorResult;
 	jthrowable ex;
 	int detach = 0;
 	va_list vl;
@@ -1256,7 +2348,7 @@ done:
 		fprintf(stderr, "* java exception occurred\n");
 		(*env)->ExceptionDescribe(env);
 #endif
-		result = callbackData[index].errorResult;
+		result = CALLBACK_ENTRY(index).errorResult;
 	}
 
 	if (detach) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -45,13 +45,26 @@
 #ifdef REDUCED_CALLBACKS
 #define MAX_CALLBACKS 16
 #else
-#if (defined(USE_ASSEMBLER) || defined(GTK))
+#if defined(GTK)
+#define MAX_CALLBACKS 512
+#elif defined(USE_ASSEMBLER)
 #define MAX_CALLBACKS 256
 #else
 #define MAX_CALLBACKS 128
 #endif
 #endif /* REDUCED_CALLBACKS */
 
+/*
+* The thunks that are generated at run time are allocated in pages of
+* MAX_CALLBACKS entries, and a new page is allocated when all entries
+* of the existing pages are bound.
+*/
+#ifdef USE_ASSEMBLER
+#define MAX_CALLBACK_PAGES 64
+#else
+#define MAX_CALLBACK_PAGES 1
+#endif
+
 #define MAX_ARGS 12
 
 typedef struct CALLBACK_DATA {
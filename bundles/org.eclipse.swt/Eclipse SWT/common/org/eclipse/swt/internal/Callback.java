@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -290,6 +290,45 @@ public static native String getPlatform ();
  */
 public static native int getEntryCount ();
 
+/**
+ * Returns the number of callbacks that are currently bound.
+ * <p>
+ * Note: This should not be called by application code.
+ * </p>
+ *
+ * @return the number of callbacks in use
+ *
+ * @since 3.106
+ */
+public static native int getCallbackCount ();
+
+/**
+ * Returns the largest number of callbacks that have been bound
+ * at the same time.
+ * <p>
+ * Note: This should not be called by application code.
+ * </p>
+ *
+ * @return the peak number of callbacks in use
+ *
+ * @since 3.106
+ */
+public static native int getPeakCallbackCount ();
+
+/**
+ * Returns the number of callbacks that can be bound at the same
+ * time. Creating a callback when this many are in use fails and
+ * its address is zero.
+ * <p>
+ * Note: This should not be called by application code.
+ * </p>
+ *
+ * @return the maximum number of callbacks
+ *
+ * @since 3.106
+ */
+public static native int getMaxCallbackCount ();
+
 static String getSignature(int argCount) {
 	String signature = "("; //$NON-NLS-1$
 	for (int i = 0; i < argCount; i++) signature += PTR_SIGNATURE;
@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+
+/**
+ * Instances of this class record where the user-interface thread of a
+ * display spends its time: how long listeners take to handle each type
+ * of event, how long runnables wait in the asynchronous queue and how
+ * long they run, how long layouts and paints take, and which stretches
+ * of work kept the thread busy for longer than a threshold.
+ * <p>
+ * The work done by the user-interface thread is divided into tasks.
+ * A task starts when <code>readAndDispatch()</code> is entered or when
+ * the thread returns from <code>sleep()</code> inside a nested event
+ * loop, and ends when <code>readAndDispatch()</code> returns, when a
+ * nested <code>readAndDispatch()</code> is entered or when the thread
+ * goes to sleep. While a task runs, a daemon thread watches it and
+ * captures the stack of the user-interface thread once the task has
+ * been running for longer than the long task threshold.
+ * </p><p>
+ * Durations are in nanoseconds. Dispatch times are inclusive, so the
+ * time of an event that is sent while another event is handled is also
+ * counted in the time of the outer event. The record methods are called
+ * by the display; the accessors return copies and may be called from
+ * any thread.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class EventLoopMonitor {
+	final Thread thread;
+	final long threshold;
+	Thread watchdog;
+
+	Histogram [] dispatch = new Histogram [64];
+	Histogram tasks = new Histogram ();
+	Histogram asyncWait = new Histogram ();
+	Histogram asyncRun = new Histogram ();
+	Histogram layout = new Histogram ();
+	Map<String, Histogram> paint = new HashMap<String, Histogram> ();
+	int maxQueueDepth;
+
+	LongTask [] longTasks = new LongTask [LONG_TASK_LIMIT];
+	int longTaskIndex, longTaskCount;
+
+	/* Accessed by the watchdog thread */
+	volatile long taskStart;
+	volatile int taskId;
+	int depth;
+	int stackTaskId;
+	StackTraceElement [] stack;
+
+	static final int LONG_TASK_LIMIT = 64;
+
+/**
+ * Instances of this class count durations in buckets whose bounds are
+ * powers of two microseconds. Bucket <code>0</code> counts durations
+ * shorter than one microsecond and bucket <code>i</code> counts durations
+ * from <code>2^(i-1)</code> up to <code>2^i</code> microseconds. The last
+ * bucket also counts every longer duration.
+ */
+public static final class Histogram {
+	long count, total, max;
+	long [] buckets = new long [BUCKETS];
+
+	/** The number of buckets of a histogram */
+	public static final int BUCKETS = 32;
+
+	void record (long duration) {
+		if (duration < 0) duration = 0;
+		count++;
+		total += duration;
+		if (duration > max) max = duration;
+		int bucket = 64 - Long.numberOfLeadingZeros (duration / 1000);
+		buckets [Math.min (bucket, BUCKETS - 1)]++;
+	}
+
+	Histogram copy () {
+		Histogram histogram = new Histogram ();
+		histogram.count = count;
+		histogram.total = total;
+		histogram.max = max;
+		histogram.buckets = buckets.clone ();
+		return histogram;
+	}
+
+	/**
+	 * Returns the number of recorded durations.
+	 *
+	 * @return the number of durations
+	 */
+	public long getCount () {
+		return count;
+	}
+
+	/**
+	 * Returns the sum of the recorded durations.
+	 *
+	 * @return the total duration in nanoseconds
+	 */
+	public long getTotalTime () {
+		return total;
+	}
+
+	/**
+	 * Returns the longest recorded duration.
+	 *
+	 * @return the maximum duration in nanoseconds
+	 */
+	public long getMaxTime () {
+		return max;
+	}
+
+	/**
+	 * Returns the number of durations counted in each bucket.
+	 *
+	 * @return the bucket counts
+	 */
+	public long [] getBuckets () {
+		return buckets.clone ();
+	}
+}
+
+/**
+ * Instances of this class describe a task that kept the user-interface
+ * thread busy for longer than the long task threshold.
+ */
+public static final class LongTask {
+	final long time, duration;
+	final StackTraceElement [] stack;
+
+	LongTask (long time, long duration, StackTraceElement [] stack) {
+		this.time = time;
+		this.duration = duration;
+		this.stack = stack;
+	}
+
+	/**
+	 * Returns the time at which the task ended, as returned by
+	 * <code>System.currentTimeMillis()</code>.
+	 *
+	 * @return the end time of the task
+	 */
+	public long getTime () {
+		return time;
+	}
+
+	/**
+	 * Returns the duration of the task.
+	 *
+	 * @return the duration in nanoseconds
+	 */
+	public long getDuration () {
+		return duration;
+	}
+
+	/**
+	 * Returns the stack of the user-interface thread captured while
+	 * the task was running, or an empty array if the task ended before
+	 * the stack could be captured.
+	 *
+	 * @return the stack of the task
+	 */
+	public StackTraceElement [] getStackTrace () {
+		return stack.clone ();
+	}
+}
+
+/**
+ * Constructs a new monitor for the given user-interface thread.
+ *
+ * @param thread the user-interface thread
+ * @param threshold the long task threshold in milliseconds
+ */
+public EventLoopMonitor (Thread thread, int threshold) {
+	this.thread = thread;
+	this.threshold = Math.max (1, threshold) * 1000000L;
+	watchdog = new Thread ("SWT Event Loop Monitor") { //$NON-NLS-1$
+		@Override
+		public void run () {
+			watch ();
+		}
+	};
+	watchdog.setDaemon (true);
+	watchdog.start ();
+}
+
+/**
+ * Stops watching the user-interface thread.
+ */
+public void dispose () {
+	Thread watchdog;
+	synchronized (this) {
+		watchdog = this.watchdog;
+		this.watchdog = null;
+	}
+	if (watchdog != null) watchdog.interrupt ();
+}
+
+void watch () {
+	while (true) {
+		synchronized (this) {
+			if (watchdog == null) return;
+		}
+		try {
+			Thread.sleep (Math.max (1, threshold / 2000000));
+		} catch (InterruptedException e) {
+			return;
+		}
+		int id = taskId;
+		long start = taskStart;
+		if (start == 0 || System.nanoTime () - start < threshold) continue;
+		synchronized (this) {
+			if (stackTaskId == id && stack != null) continue;
+		}
+		StackTraceElement [] trace = thread.getStackTrace ();
+		synchronized (this) {
+			if (taskId == id) {
+				stackTaskId = id;
+				stack = trace;
+			}
+		}
+	}
+}
+
+void startTask (long now) {
+	taskId++;
+	taskStart = now;
+}
+
+void endTask (long now) {
+	long start = taskStart;
+	if (start == 0) return;
+	taskStart = 0;
+	long duration = now - start;
+	synchronized (this) {
+		tasks.record (duration);
+		if (duration >= threshold) {
+			StackTraceElement [] trace = stackTaskId == taskId && stack != null ? stack : new StackTraceElement [0];
+			longTasks [longTaskIndex] = new LongTask (System.currentTimeMillis (), duration, trace);
+			longTaskIndex = (longTaskIndex + 1) % LONG_TASK_LIMIT;
+			longTaskCount = Math.min (longTaskCount + 1, LONG_TASK_LIMIT);
+		}
+		stack = null;
+	}
+}
+
+/**
+ * Records that the user-interface thread entered <code>readAndDispatch()</code>.
+ */
+public void enterDispatch () {
+	long now = System.nanoTime ();
+	endTask (now);
+	depth++;
+	startTask (now);
+}
+
+/**
+ * Records that the user-interface thread left <code>readAndDispatch()</code>.
+ */
+public void exitDispatch () {
+	long now = System.nanoTime ();
+	endTask (now);
+	if (--depth > 0) startTask (now);
+}
+
+/**
+ * Records that the user-interface thread is about to sleep.
+ */
+public void enterSleep () {
+	endTask (System.nanoTime ());
+}
+
+/**
+ * Records that the user-interface thread returned from sleeping.
+ */
+public void exitSleep () {
+	if (depth > 0) startTask (System.nanoTime ());
+}
+
+/**
+ * Records the time listeners took to handle an event.
+ *
+ * @param eventType the type of the event
+ * @param duration the duration in nanoseconds
+ */
+public synchronized void recordDispatch (int eventType, long duration) {
+	if (eventType < 0) return;
+	if (eventType >= dispatch.length) {
+		Histogram [] newDispatch = new Histogram [eventType + 16];
+		System.arraycopy (dispatch, 0, newDispatch, 0, dispatch.length);
+		dispatch = newDispatch;
+	}
+	if (dispatch [eventType] == null) dispatch [eventType] = new Histogram ();
+	dispatch [eventType].record (duration);
+}
+
+/**
+ * Records that a runnable was added to the asynchronous queue.
+ *
+ * @param depth the number of runnables in the queue
+ */
+public synchronized void recordQueued (int depth) {
+	if (depth > maxQueueDepth) maxQueueDepth = depth;
+}
+
+/**
+ * Records that a runnable of the asynchronous queue was run.
+ *
+ * @param wait the time the runnable waited in the queue in nanoseconds
+ * @param duration the time the runnable took to run in nanoseconds
+ */
+public synchronized void recordAsync (long wait, long duration) {
+	asyncWait.record (wait);
+	asyncRun.record (duration);
+}
+
+/**
+ * Records the time it took to run the deferred layouts.
+ *
+ * @param duration the duration in nanoseconds
+ */
+public synchronized void recordLayout (long duration) {
+	layout.record (duration);
+}
+
+/**
+ * Records the time it took a control to paint.
+ *
+ * @param control the class of the control
+ * @param duration the duration in nanoseconds
+ */
+public synchronized void recordPaint (Class<?> control, long duration) {
+	String name = control.getName ();
+	Histogram histogram = paint.get (name);
+	if (histogram == null) paint.put (name, histogram = new Histogram ());
+	histogram.record (duration);
+}
+
+/**
+ * Returns the dispatch times of the given type of event, or
+ * <code>null</code> if no event of the type was sent.
+ *
+ * @param eventType the type of event
+ * @return the dispatch times or <code>null</code>
+ */
+public synchronized Histogram getDispatchHistogram (int eventType) {
+	if (eventType < 0 || eventType >= dispatch.length) return null;
+	Histogram histogram = dispatch [eventType];
+	return histogram != null ? histogram.copy () : null;
+}
+
+/**
+ * Returns the durations of the tasks of the user-interface thread.
+ *
+ * @return the task durations
+ */
+public synchronized Histogram getTaskHistogram () {
+	return tasks.copy ();
+}
+
+/**
+ * Returns the times runnables waited in the asynchronous queue
+ * before they were run.
+ *
+ * @return the wait times
+ */
+public synchronized Histogram getAsyncWaitHistogram () {
+	return asyncWait.copy ();
+}
+
+/**
+ * Returns the times runnables of the asynchronous queue took to run.
+ *
+ * @return the run times
+ */
+public synchronized Histogram getAsyncRunHistogram () {
+	return asyncRun.copy ();
+}
+
+/**
+ * Returns the largest number of runnables that were waiting in the
+ * asynchronous queue at the same time.
+ *
+ * @return the maximum queue depth
+ */
+public synchronized int getMaxQueueDepth () {
+	return maxQueueDepth;
+}
+
+/**
+ * Returns the times it took to run the deferred layouts.
+ *
+ * @return the layout times
+ */
+public synchronized Histogram getLayoutHistogram () {
+	return layout.copy ();
+}
+
+/**
+ * Returns the paint times keyed by the class name of the control.
+ *
+ * @return the paint times
+ */
+public synchronized Map<String, Histogram> getPaintHistograms () {
+	Map<String, Histogram> result = new HashMap<String, Histogram> ();
+	for (Map.Entry<String, Histogram> entry : paint.entrySet ()) {
+		result.put (entry.getKey (), entry.getValue ().copy ());
+	}
+	return result;
+}
+
+/**
+ * Returns the most recent long tasks, oldest first.
+ *
+ * @return the long tasks
+ */
+public synchronized LongTask [] getLongTasks () {
+	LongTask [] result = new LongTask [longTaskCount];
+	int start = longTaskIndex - longTaskCount + LONG_TASK_LIMIT;
+	for (int i = 0; i < longTaskCount; i++) {
+		result [i] = longTasks [(start + i) % LONG_TASK_LIMIT];
+	}
+	return result;
+}
+
+/**
+ * Returns the long task threshold.
+ *
+ * @return the threshold in milliseconds
+ */
+public synchronized int getThreshold () {
+	return (int) (threshold / 1000000);
+}
+
+/**
+ * Clears everything that was recorded.
+ */
+public synchronized void reset () {
+	dispatch = new Histogram [dispatch.length];
+	tasks = new Histogram ();
+	asyncWait = new Histogram ();
+	asyncRun = new Histogram ();
+	layout = new Histogram ();
+	paint.clear ();
+	maxQueueDepth = 0;
+	longTasks = new LongTask [LONG_TASK_LIMIT];
+	longTaskIndex = longTaskCount = 0;
+}
+}
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+
+/**
+ * A hash map from <code>long</code> keys, such as native handles, to
+ * objects. Keys are stored in a primitive array using open addressing
+ * with linear probing, so looking up, adding and removing a mapping do
+ * not allocate. The table doubles when it is half full.
+ * <p>
+ * The map is not thread safe.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class LongHashMap<V> implements Iterable<V> {
+	long [] keys;
+	Object [] values;
+	int size, mask;
+
+	/* The key 0 marks an empty slot, so its value is kept apart */
+	boolean hasZero;
+	Object zeroValue;
+
+	static final int MIN_CAPACITY = 16;
+
+/**
+ * Constructs a new empty map.
+ */
+public LongHashMap () {
+	this (MIN_CAPACITY / 2);
+}
+
+/**
+ * Constructs a new empty map that can hold the given number of
+ * mappings without growing.
+ *
+ * @param expected the expected number of mappings
+ */
+public LongHashMap (int expected) {
+	int capacity = MIN_CAPACITY;
+	while (capacity < expected * 2) capacity <<= 1;
+	keys = new long [capacity];
+	values = new Object [capacity];
+	mask = capacity - 1;
+}
+
+static int hash (long key) {
+	key ^= key >>> 33;
+	key *= 0xff51afd7ed558ccdL;
+	key ^= key >>> 33;
+	return (int) key;
+}
+
+/**
+ * Returns the value that is mapped to the key, or <code>null</code>
+ * if there is none.
+ *
+ * @param key the key
+ * @return the value or <code>null</code>
+ */
+@SuppressWarnings("unchecked")
+public V get (long key) {
+	if (key == 0) return (V) zeroValue;
+	long [] keys = this.keys;
+	int mask = this.mask;
+	int index = hash (key) & mask;
+	while (true) {
+		long k = keys [index];
+		if (k == key) return (V) values [index];
+		if (k == 0) return null;
+		index = (index + 1) & mask;
+	}
+}
+
+/**
+ * Returns whether a value is mapped to the key.
+ *
+ * @param key the key
+ * @return <code>true</code> if the key has a mapping
+ */
+public boolean containsKey (long key) {
+	if (key == 0) return hasZero;
+	int index = hash (key) & mask;
+	while (true) {
+		long k = keys [index];
+		if (k == key) return true;
+		if (k == 0) return false;
+		index = (index + 1) & mask;
+	}
+}
+
+/**
+ * Maps the key to the value.
+ *
+ * @param key the key
+ * @param value the value
+ * @return the value that was mapped to the key or <code>null</code>
+ */
+@SuppressWarnings("unchecked")
+public V put (long key, V value) {
+	if (key == 0) {
+		Object old = zeroValue;
+		if (!hasZero) size++;
+		hasZero = true;
+		zeroValue = value;
+		return (V) old;
+	}
+	int index = hash (key) & mask;
+	while (true) {
+		long k = keys [index];
+		if (k == key) {
+			Object old = values [index];
+			values [index] = value;
+			return (V) old;
+		}
+		if (k == 0) break;
+		index = (index + 1) & mask;
+	}
+	keys [index] = key;
+	values [index] = value;
+	if (++size * 2 > keys.length) resize (keys.length * 2);
+	return null;
+}
+
+/**
+ * Removes the mapping of the key.
+ *
+ * @param key the key
+ * @return the value that was mapped to the key or <code>null</code>
+ */
+@SuppressWarnings("unchecked")
+public V remove (long key) {
+	if (key == 0) {
+		Object old = zeroValue;
+		if (hasZero) size--;
+		hasZero = false;
+		zeroValue = null;
+		return (V) old;
+	}
+	int index = hash (key) & mask;
+	while (true) {
+		long k = keys [index];
+		if (k == 0) return null;
+		if (k == key) break;
+		index = (index + 1) & mask;
+	}
+	Object old = values [index];
+	size--;
+	/*
+	* Move back the keys that follow the removed one in the same
+	* run, so that lookups do not need to skip deleted slots.
+	*/
+	int hole = index;
+	while (true) {
+		index = (index + 1) & mask;
+		long k = keys [index];
+		if (k == 0) break;
+		int home = hash (k) & mask;
+		if (((index - home) & mask) >= ((index - hole) & mask)) {
+			keys [hole] = k;
+			values [hole] = values [index];
+			hole = index;
+		}
+	}
+	keys [hole] = 0;
+	values [hole] = null;
+	return (V) old;
+}
+
+void resize (int capacity) {
+	long [] oldKeys = keys;
+	Object [] oldValues = values;
+	keys = new long [capacity];
+	values = new Object [capacity];
+	mask = capacity - 1;
+	for (int i = 0; i < oldKeys.length; i++) {
+		long key = oldKeys [i];
+		if (key != 0) {
+			int index = hash (key) & mask;
+			while (keys [index] != 0) index = (index + 1) & mask;
+			keys [index] = key;
+			values [index] = oldValues [i];
+		}
+	}
+}
+
+/**
+ * Removes every mapping.
+ */
+public void clear () {
+	Arrays.fill (keys, 0);
+	Arrays.fill (values, null);
+	hasZero = false;
+	zeroValue = null;
+	size = 0;
+}
+
+/**
+ * Returns the number of mappings.
+ *
+ * @return the number of mappings
+ */
+public int size () {
+	return size;
+}
+
+/**
+ * Returns whether the map has no mappings.
+ *
+ * @return <code>true</code> if the map is empty
+ */
+public boolean isEmpty () {
+	return size == 0;
+}
+
+/**
+ * Returns a new array containing the keys of the map.
+ *
+ * @return the keys
+ */
+public long [] keys () {
+	long [] result = new long [size];
+	int count = 0;
+	if (hasZero) count++;
+	for (int i = 0; i < keys.length; i++) {
+		if (keys [i] != 0) result [count++] = keys [i];
+	}
+	return result;
+}
+
+/**
+ * Returns an iterator over the values of the map, which reads the
+ * table in place instead of copying it. The map must not be changed
+ * while it is iterated.
+ *
+ * @return an iterator over the values
+ */
+@Override
+public Iterator<V> iterator () {
+	return new Iterator<V> () {
+		int index = hasZero ? -1 : skip (0);
+
+		int skip (int start) {
+			while (start < keys.length && keys [start] == 0) start++;
+			return start;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < keys.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V next () {
+			if (index >= keys.length) throw new NoSuchElementException ();
+			Object value = index == -1 ? zeroValue : values [index];
+			index = skip (index + 1);
+			return (V) value;
+		}
+	};
+}
+
+/**
+ * Returns a new list containing the values of the map.
+ *
+ * @return the values
+ */
+@SuppressWarnings("unchecked")
+public List<V> values () {
+	List<V> result = new ArrayList<V> (size);
+	if (hasZero) result.add ((V) zeroValue);
+	for (int i = 0; i < keys.length; i++) {
+		if (keys [i] != 0) result.add ((V) values [i]);
+	}
+	return result;
+}
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * A bounded cache of text extents keyed by font handle, draw flags
+ * and string. When the cache is full, the least recently used extent
+ * is evicted. Lookups that find an extent and lookups that do not are
+ * counted, so that the hit rate of the cache can be observed.
+ * <p>
+ * The cache is not thread safe; callers that share an instance between
+ * threads must synchronize on it.
+ * </p>
+ */
+public class TextExtentCache {
+	final LinkedHashMap<Key, Point> map;
+	final Key lookup = new Key ();
+	int limit;
+	long hits, misses;
+
+	static final class Key {
+		long /*int*/ font;
+		int flags;
+		String string;
+		int hash;
+
+		void set (long /*int*/ font, int flags, String string) {
+			this.font = font;
+			this.flags = flags;
+			this.string = string;
+			hash = (int) (font ^ (font >>> 32)) * 31 + flags;
+			hash = hash * 31 + string.hashCode ();
+		}
+
+		@Override
+		public boolean equals (Object object) {
+			if (!(object instanceof Key)) return false;
+			Key key = (Key) object;
+			return font == key.font && flags == key.flags && string.equals (key.string);
+		}
+
+		@Override
+		public int hashCode () {
+			return hash;
+		}
+	}
+
+/**
+ * Constructs a new cache that holds at most <code>limit</code> extents.
+ *
+ * @param limit the maximum number of extents
+ */
+public TextExtentCache (int limit) {
+	this.limit = Math.max (1, limit);
+	map = new LinkedHashMap<Key, Point> (16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry (Map.Entry<Key, Point> eldest) {
+			return size () > TextExtentCache.this.limit;
+		}
+	};
+}
+
+/**
+ * Returns the cached extent, or <code>null</code> if there is none.
+ * The returned point is shared and must not be modified.
+ *
+ * @param font the font handle
+ * @param flags the draw flags
+ * @param string the string
+ * @return the cached extent or <code>null</code>
+ */
+public Point get (long /*int*/ font, int flags, String string) {
+	lookup.set (font, flags, string);
+	Point extent = map.get (lookup);
+	lookup.string = null;
+	if (extent != null) {
+		hits++;
+	} else {
+		misses++;
+	}
+	return extent;
+}
+
+/**
+ * Adds an extent to the cache, evicting the least recently used
+ * extent if the cache is full.
+ *
+ * @param font the font handle
+ * @param flags the draw flags
+ * @param string the string
+ * @param extent the extent, which must not be modified afterwards
+ */
+public void put (long /*int*/ font, int flags, String string, Point extent) {
+	Key key = new Key ();
+	key.set (font, flags, string);
+	map.put (key, extent);
+}
+
+/**
+ * Removes every extent measured with the given font handle.
+ *
+ * @param font the font handle
+ */
+public void remove (long /*int*/ font) {
+	Iterator<Key> iterator = map.keySet ().iterator ();
+	while (iterator.hasNext ()) {
+		if (iterator.next ().font == font) iterator.remove ();
+	}
+}
+
+/**
+ * Removes every extent from the cache.
+ */
+public void clear () {
+	map.clear ();
+}
+
+/**
+ * Returns the number of lookups that found an extent in the cache.
+ *
+ * @return the number of cache hits
+ */
+public long getHitCount () {
+	return hits;
+}
+
+/**
+ * Returns the number of lookups that did not find an extent in the cache.
+ *
+ * @return the number of cache misses
+ */
+public long getMissCount () {
+	return misses;
+}
+
+/**
+ * Returns the number of extents in the cache.
+ *
+ * @return the number of extents
+ */
+public int size () {
+	return map.size ();
+}
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Builds the text report of the graphics objects that a device tracks,
+ * from a snapshot of the objects and of the stacks sampled when they
+ * were allocated.
+ *
+ * @see Device#getTrackingReport()
+ */
+public class TrackingReport {
+
+	/* The prefix of the classes whose frames are skipped to find the allocation site */
+	static final String GRAPHICS_PREFIX;
+	static {
+		String name = Device.class.getName ();
+		GRAPHICS_PREFIX = name.substring (0, name.lastIndexOf ('.') + 1);
+	}
+
+/**
+ * Returns a report that counts the objects by type, and by type and
+ * allocation site for the objects whose stack was sampled. The
+ * allocation site is the first caller outside of the graphics package.
+ *
+ * @param objects the live objects
+ * @param errors the stacks sampled when the objects were allocated, in the
+ *    same order as the objects, with <code>null</code> for the objects that
+ *    were not sampled
+ * @param sampleRate the rate at which the stacks were sampled
+ * @return the report
+ */
+public static String getReport (Object [] objects, Error [] errors, int sampleRate) {
+	Map<String, int[]> types = new TreeMap<> ();
+	Map<String, int[]> sites = new HashMap<> ();
+	int sampled = 0;
+	for (int i=0; i<objects.length; i++) {
+		String type = objects [i].getClass ().getSimpleName ();
+		types.computeIfAbsent (type, key -> new int [1]) [0]++;
+		if (errors [i] != null) {
+			sites.computeIfAbsent (type + " at " + getAllocationSite (errors [i]), key -> new int [1]) [0]++;
+			sampled++;
+		}
+	}
+	StringBuilder buffer = new StringBuilder ();
+	buffer.append ("Live objects: ").append (objects.length).append ('\n');
+	for (Map.Entry<String, int[]> entry : types.entrySet ()) {
+		buffer.append ('\t').append (entry.getValue () [0]).append ('\t').append (entry.getKey ()).append ('\n');
+	}
+	buffer.append ("Allocation sites of ").append (sampled).append (" sampled objects (1 in ").append (sampleRate).append ("):\n");
+	List<Map.Entry<String, int[]>> entries = new ArrayList<> (sites.entrySet ());
+	entries.sort ((a, b) -> b.getValue () [0] - a.getValue () [0]);
+	for (Map.Entry<String, int[]> entry : entries) {
+		buffer.append ('\t').append (entry.getValue () [0]).append ('\t').append (entry.getKey ()).append ('\n');
+	}
+	return buffer.toString ();
+}
+
+static String getAllocationSite (Error error) {
+	StackTraceElement [] stack = error.getStackTrace ();
+	for (int i=0; i<stack.length; i++) {
+		if (!stack [i].getClassName ().startsWith (GRAPHICS_PREFIX)) return stack [i].toString ();
+	}
+	return stack.length > 0 ? stack [0].toString () : "";
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -399,6 +399,7 @@ public final class GridData {
 	int cacheWidth = -1, cacheHeight = -1;
 	int defaultWhint, defaultHhint, defaultWidth = -1, defaultHeight = -1;
 	int currentWhint, currentHhint, currentWidth = -1, currentHeight = -1;
+	int cacheTrim = -1;
 
 /**
  * Constructs a new instance of GridData using
@@ -513,6 +514,19 @@ void flushCache () {
 	cacheWidth = cacheHeight = -1;
 	defaultWidth = defaultHeight = -1;
 	currentWidth = currentHeight = -1;
+	cacheTrim = -1;
+}
+
+int computeTrim (Control control) {
+	if (cacheTrim != -1) return cacheTrim;
+	//TEMPORARY CODE
+	if (control instanceof Scrollable) {
+		Rectangle rect = ((Scrollable) control).computeTrim (0, 0, 0, 0);
+		cacheTrim = rect.width;
+	} else {
+		cacheTrim = control.getBorderWidth () * 2;
+	}
+	return cacheTrim;
 }
 
 String getName () {
@@ -137,6 +137,17 @@ public final class GridLayout extends Layout {
 	 */
  	public int verticalSpacing = 5;
 
+	/*
+	* The grid built by the last pass is kept together with the
+	* controls and spans it was built from, so that a pass where
+	* only the bounds of the composite change can skip rebuilding
+	* it and go straight to distributing the available space.
+	*/
+	Control [] cacheChildren;
+	int [] cacheSpans;
+	Control [][] cacheGrid;
+	int cacheRowCount;
+
 /**
  * Constructs a new instance of this class
  * with a single column.
@@ -192,6 +203,78 @@ GridData getData (Control [][] grid, int row, int column, int rowCount, int colu
 	return null;
 }
 
+void buildGrid (Control [] children, int count, int columnCount) {
+	int row = 0, column = 0, rowCount = 0;
+	Control [][] grid = new Control [4] [columnCount];
+	for (int i=0; i<count; i++) {
+		Control child = children [i];
+		GridData data = (GridData) child.getLayoutData ();
+		int hSpan = Math.max (1, Math.min (data.horizontalSpan, columnCount));
+		int vSpan = Math.max (1, data.verticalSpan);
+		while (true) {
+			int lastRow = row + vSpan;
+			if (lastRow >= grid.length) {
+				Control [][] newGrid = new Control [lastRow + 4] [columnCount];
+				System.arraycopy (grid, 0, newGrid, 0, grid.length);
+				grid = newGrid;
+			}
+			if (grid [row] == null) {
+				grid [row] = new Control [columnCount];
+			}
+			while (column < columnCount && grid [row] [column] != null) {
+				column++;
+			}
+			int endCount = column + hSpan;
+			if (endCount <= columnCount) {
+				int index = column;
+				while (index < endCount && grid [row] [index] == null) {
+					index++;
+				}
+				if (index == endCount) break;
+				column = index;
+			}
+			if (column + hSpan >= columnCount) {
+				column = 0;
+				row++;
+			}
+		}
+		for (int j=0; j<vSpan; j++) {
+			if (grid [row + j] == null) {
+				grid [row + j] = new Control [columnCount];
+			}
+			for (int k=0; k<hSpan; k++) {
+				grid [row + j] [column + k] = child;
+			}
+		}
+		rowCount = Math.max (rowCount, row + vSpan);
+		column += hSpan;
+	}
+	cacheGrid = grid;
+	cacheRowCount = rowCount;
+	if (cacheChildren == null || cacheChildren.length != count) {
+		cacheChildren = new Control [count];
+		cacheSpans = new int [count * 2];
+	}
+	for (int i=0; i<count; i++) {
+		GridData data = (GridData) children [i].getLayoutData ();
+		cacheChildren [i] = children [i];
+		cacheSpans [i * 2] = data.horizontalSpan;
+		cacheSpans [i * 2 + 1] = data.verticalSpan;
+	}
+}
+
+boolean isGridValid (Control [] children, int count, int columnCount) {
+	if (cacheGrid == null || cacheChildren.length != count) return false;
+	if (cacheGrid.length > 0 && cacheGrid [0].length != columnCount) return false;
+	for (int i=0; i<count; i++) {
+		if (cacheChildren [i] != children [i]) return false;
+		GridData data = (GridData) children [i].getLayoutData ();
+		if (cacheSpans [i * 2] != data.horizontalSpan) return false;
+		if (cacheSpans [i * 2 + 1] != data.verticalSpan) return false;
+	}
+	return true;
+}
+
 @Override
 protected void layout (Composite composite, boolean flushCache) {
 	Rectangle rect = composite.getClientArea ();
@@ -226,14 +309,7 @@ Point layout (Composite composite, boolean move, int x, int y, int width, int he
 		data.computeSize (child, data.widthHint, data.heightHint, flushCache);
 		if (data.grabExcessHorizontalSpace && data.minimumWidth > 0) {
 			if (data.cacheWidth < data.minimumWidth) {
-				int trim = 0;
-				//TEMPORARY CODE
-				if (child instanceof Scrollable) {
-					Rectangle rect = ((Scrollable) child).computeTrim (0, 0, 0, 0);
-					trim = rect.width;
-				} else {
-					trim = child.getBorderWidth () * 2;
-				}
+				int trim = data.computeTrim (child);
 				data.cacheWidth = data.cacheHeight = SWT.DEFAULT;
 				data.computeSize (child, Math.max (0, data.minimumWidth - trim), data.heightHint, false);
 			}
@@ -244,51 +320,12 @@ Point layout (Composite composite, boolean move, int x, int y, int width, int he
 	}
 
 	/* Build the grid */
-	int row = 0, column = 0, rowCount = 0, columnCount = numColumns;
-	Control [][] grid = new Control [4] [columnCount];
-	for (int i=0; i<count; i++) {
-		Control child = children [i];
-		GridData data = (GridData) child.getLayoutData ();
-		int hSpan = Math.max (1, Math.min (data.horizontalSpan, columnCount));
-		int vSpan = Math.max (1, data.verticalSpan);
-		while (true) {
-			int lastRow = row + vSpan;
-			if (lastRow >= grid.length) {
-				Control [][] newGrid = new Control [lastRow + 4] [columnCount];
-				System.arraycopy (grid, 0, newGrid, 0, grid.length);
-				grid = newGrid;
-			}
-			if (grid [row] == null) {
-				grid [row] = new Control [columnCount];
-			}
-			while (column < columnCount && grid [row] [column] != null) {
-				column++;
-			}
-			int endCount = column + hSpan;
-			if (endCount <= columnCount) {
-				int index = column;
-				while (index < endCount && grid [row] [index] == null) {
-					index++;
-				}
-				if (index == endCount) break;
-				column = index;
-			}
-			if (column + hSpan >= columnCount) {
-				column = 0;
-				row++;
-			}
-		}
-		for (int j=0; j<vSpan; j++) {
-			if (grid [row + j] == null) {
-				grid [row + j] = new Control [columnCount];
-			}
-			for (int k=0; k<hSpan; k++) {
-				grid [row + j] [column + k] = child;
-			}
-		}
-		rowCount = Math.max (rowCount, row + vSpan);
-		column += hSpan;
+	int columnCount = numColumns;
+	if (!isGridValid (children, count, columnCount)) {
+		buildGrid (children, count, columnCount);
 	}
+	Control [][] grid = cacheGrid;
+	int rowCount = cacheRowCount;
 
 	/* Column widths */
 	int availableWidth = width - horizontalSpacing * (columnCount - 1) - (marginLeft + marginWidth * 2 + marginRight);
@@ -476,13 +513,7 @@ Point layout (Composite composite, boolean move, int x, int y, int width, int he
 						}
 						currentWidth += (hSpan - 1) * horizontalSpacing - data.horizontalIndent;
 						if ((currentWidth != data.cacheWidth && data.horizontalAlignment == SWT.FILL) || (data.cacheWidth > currentWidth)) {
-							int trim = 0;
-							if (child instanceof Scrollable) {
-								Rectangle rect = ((Scrollable) child).computeTrim (0, 0, 0, 0);
-								trim = rect.width;
-							} else {
-								trim = child.getBorderWidth () * 2;
-							}
+							int trim = data.computeTrim (child);
 							data.cacheWidth = data.cacheHeight = SWT.DEFAULT;
 							data.computeSize (child, Math.max (0, currentWidth - trim), data.heightHint, false);
 							if (data.grabExcessVerticalSpace && data.minimumHeight > 0) {
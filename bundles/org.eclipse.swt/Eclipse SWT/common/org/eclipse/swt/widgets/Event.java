@@ -278,6 +278,29 @@ Rectangle getBoundsInPixels () {
 	return DPIUtil.autoScaleUp(getBounds());
 }
 
+/*
+ * Restores every field to its initial value so that the
+ * event can be sent again.
+ */
+void reset () {
+	display = null;
+	widget = item = null;
+	type = detail = index = 0;
+	gc = null;
+	x = y = width = height = count = time = 0;
+	button = keyCode = keyLocation = stateMask = 0;
+	character = 0;
+	start = end = 0;
+	text = null;
+	segments = null;
+	segmentsChars = null;
+	doit = true;
+	data = null;
+	touches = null;
+	xDirection = yDirection = 0;
+	magnification = rotation = 0;
+}
+
 Point getLocation () {
 	return new Point (x, y);
 }
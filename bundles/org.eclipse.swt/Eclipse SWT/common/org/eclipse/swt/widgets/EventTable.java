@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,89 +18,179 @@ import org.eclipse.swt.internal.*;
  * Instances of this class implement a simple
  * look up mechanism that maps an event type
  * to a listener.  Multiple listeners for the
- * same event type are supported.
+ * same event type are supported.  The listeners
+ * are kept in an array per event type, so that
+ * looking up the listeners of a type does not
+ * depend on the number of listeners of other
+ * types.
  */
 
 class EventTable {
-	int [] types;
-	Listener [] listeners;
+	/* Listeners of the event types smaller than MAX_INDEX, indexed by type */
+	Listener [][] listeners;
+	/* A bit for every event type smaller than MAX_INDEX that has a listener */
+	long mask;
+	/* Listeners of the other event types */
+	int [] otherTypes;
+	Listener [][] otherListeners;
 	int level;
 	static final int GROW_SIZE = 4;
+	static final int MAX_INDEX = 64;
+
+Listener [] get (int eventType) {
+	if (0 <= eventType && eventType < MAX_INDEX) {
+		if (listeners == null || eventType >= listeners.length) return null;
+		return listeners [eventType];
+	}
+	if (otherTypes == null) return null;
+	for (int i=0; i<otherTypes.length; i++) {
+		if (otherTypes [i] == eventType) return otherListeners [i];
+	}
+	return null;
+}
+
+void set (int eventType, Listener [] list) {
+	if (0 <= eventType && eventType < MAX_INDEX) {
+		if (listeners == null) listeners = new Listener [eventType + 1][];
+		if (eventType >= listeners.length) {
+			Listener [][] newListeners = new Listener [eventType + 1][];
+			System.arraycopy (listeners, 0, newListeners, 0, listeners.length);
+			listeners = newListeners;
+		}
+		listeners [eventType] = list;
+		if (size (list) != 0) {
+			mask |= 1L << eventType;
+		} else {
+			mask &= ~(1L << eventType);
+		}
+		return;
+	}
+	int index = -1;
+	if (otherTypes != null) {
+		for (int i=0; i<otherTypes.length; i++) {
+			if (otherTypes [i] == eventType) {
+				index = i;
+				break;
+			}
+		}
+	}
+	if (index == -1) {
+		if (list == null) return;
+		int length = otherTypes == null ? 0 : otherTypes.length;
+		int [] newTypes = new int [length + 1];
+		Listener [][] newListeners = new Listener [length + 1][];
+		if (length != 0) {
+			System.arraycopy (otherTypes, 0, newTypes, 0, length);
+			System.arraycopy (otherListeners, 0, newListeners, 0, length);
+		}
+		otherTypes = newTypes;
+		otherListeners = newListeners;
+		index = length;
+	}
+	otherTypes [index] = eventType;
+	otherListeners [index] = list;
+}
 
 public Listener [] getListeners (int eventType) {
-	if (types == null) return new Listener [0];
+	Listener [] list = get (eventType);
+	if (list == null) return new Listener [0];
 	int count = 0;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) count++;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] != null) count++;
 	}
-	if (count == 0) return new Listener [0];
 	Listener [] result = new Listener [count];
 	count = 0;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) {
-			result [count++] = listeners [i];
-		}
+	for (int i=0; i<list.length; i++) {
+		if (list [i] != null) result [count++] = list [i];
 	}
 	return result;
 }
 
 public void hook (int eventType, Listener listener) {
-	if (types == null) types = new int [GROW_SIZE];
-	if (listeners == null) listeners = new Listener [GROW_SIZE];
-	int length = types.length, index = length - 1;
+	Listener [] list = get (eventType);
+	if (list == null) list = new Listener [GROW_SIZE];
+	int length = list.length, index = length - 1;
 	while (index >= 0) {
-		if (types [index] != 0) break;
+		if (list [index] != null) break;
 		--index;
 	}
 	index++;
 	if (index == length) {
-		int [] newTypes = new int [length + GROW_SIZE];
-		System.arraycopy (types, 0, newTypes, 0, length);
-		types = newTypes;
-		Listener [] newListeners = new Listener [length + GROW_SIZE];
-		System.arraycopy (listeners, 0, newListeners, 0, length);
-		listeners = newListeners;
-	}
-	types [index] = eventType;
-	listeners [index] = listener;
+		Listener [] newList = new Listener [length + GROW_SIZE];
+		System.arraycopy (list, 0, newList, 0, length);
+		list = newList;
+	}
+	list [index] = listener;
+	set (eventType, list);
 }
 
 public boolean hooks (int eventType) {
-	if (types == null) return false;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) return true;
+	if (0 <= eventType && eventType < MAX_INDEX) {
+		return (mask & (1L << eventType)) != 0;
+	}
+	Listener [] list = get (eventType);
+	if (list == null) return false;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] != null) return true;
 	}
 	return false;
 }
 
 public void sendEvent (Event event) {
-	if (types == null) return;
+	int eventType = event.type;
+	if (get (eventType) == null) return;
+	/* The types that the event was sent to before a listener changed its type */
+	int [] sentTypes = null;
 	level += level >= 0 ? 1 : -1;
 	try {
-		for (int i=0; i<types.length; i++) {
-			if (event.type == SWT.None) return;
-			if (types [i] == event.type) {
-				Listener listener = listeners [i];
-				if (listener != null) {
-					try {
-						listener.handleEvent (event);
-					} catch (RuntimeException runtimeException) {
-						Display display = Display.getCurrent ();
-
-						if (display == null) {
-							throw runtimeException;
-						}
-
-						display.getRuntimeExceptionHandler ().accept (runtimeException);
-					} catch (Error error) {
-						Display display = Display.getCurrent ();
-
-						if (display == null) {
-							throw error;
-						}
-
-						display.getErrorHandler ().accept (error);
+		for (int i=0; ; i++) {
+			if (event.type != eventType) {
+				/*
+				* A listener stops the event by setting its type to SWT.None.
+				* Any other type re-targets the event, which is then sent to
+				* the listeners of the new type.  The event is not sent to the
+				* listeners of a type twice, so that listeners that change the
+				* type back and forth do not loop.
+				*/
+				if (event.type == SWT.None) return;
+				int length = sentTypes == null ? 0 : sentTypes.length;
+				for (int j=0; j<length; j++) {
+					if (sentTypes [j] == event.type) return;
+				}
+				int [] newTypes = new int [length + 1];
+				if (length != 0) System.arraycopy (sentTypes, 0, newTypes, 0, length);
+				newTypes [length] = eventType;
+				sentTypes = newTypes;
+				eventType = event.type;
+				i = 0;
+			}
+			/*
+			* Listeners that are hooked while the event is sent are
+			* added to a new array, so the array is fetched again for
+			* every listener.
+			*/
+			Listener [] list = get (eventType);
+			if (list == null || i >= list.length) break;
+			Listener listener = list [i];
+			if (listener != null) {
+				try {
+					listener.handleEvent (event);
+				} catch (RuntimeException runtimeException) {
+					Display display = Display.getCurrent ();
+
+					if (display == null) {
+						throw runtimeException;
 					}
+
+					display.getRuntimeExceptionHandler ().accept (runtimeException);
+				} catch (Error error) {
+					Display display = Display.getCurrent ();
+
+					if (display == null) {
+						throw error;
+					}
+
+					display.getErrorHandler ().accept (error);
 				}
 			}
 		}
@@ -108,64 +198,93 @@ public void sendEvent (Event event) {
 		boolean compact = level < 0;
 		level -= level >= 0 ? 1 : -1;
 		if (compact && level == 0) {
-			int index = 0;
-			for (int i=0; i<types.length; i++) {
-				if (types [i] != 0) {
-					types [index] = types [i];
-					listeners [index] = listeners [i];
-					index++;
+			if (listeners != null) {
+				for (int i=0; i<listeners.length; i++) {
+					if (compact (listeners [i]) == 0) listeners [i] = null;
 				}
 			}
-			for (int i=index; i<types.length; i++) {
-				types [i] = 0;
-				listeners [i] = null;
+			if (otherListeners != null) {
+				for (int i=0; i<otherListeners.length; i++) {
+					if (compact (otherListeners [i]) == 0) otherListeners [i] = null;
+				}
 			}
 		}
 	}
 }
 
+int compact (Listener [] list) {
+	if (list == null) return 0;
+	int index = 0;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] != null) list [index++] = list [i];
+	}
+	for (int i=index; i<list.length; i++) {
+		list [i] = null;
+	}
+	return index;
+}
+
 public int size () {
-	if (types == null) return 0;
 	int count = 0;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] != 0) count++;
+	if (listeners != null) {
+		for (int i=0; i<listeners.length; i++) {
+			count += size (listeners [i]);
+		}
+	}
+	if (otherListeners != null) {
+		for (int i=0; i<otherListeners.length; i++) {
+			count += size (otherListeners [i]);
+		}
 	}
 	return count;
 }
 
-void remove (int index) {
+int size (Listener [] list) {
+	if (list == null) return 0;
+	int count = 0;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] != null) count++;
+	}
+	return count;
+}
+
+void remove (int eventType, Listener [] list, int index) {
 	if (level == 0) {
-		int end = types.length - 1;
-		System.arraycopy (types, index + 1, types, index, end - index);
-		System.arraycopy (listeners, index + 1, listeners, index, end - index);
+		int end = list.length - 1;
+		System.arraycopy (list, index + 1, list, index, end - index);
 		index = end;
 	} else {
 		if (level > 0) level = -level;
 	}
-	types [index] = 0;
-	listeners [index] = null;
+	list [index] = null;
+	/*
+	* While events are being sent, the array is kept so that the
+	* loop in sendEvent() does not miss listeners that are hooked
+	* after this one was removed.
+	*/
+	set (eventType, level == 0 && size (list) == 0 ? null : list);
 }
 
 public void unhook (int eventType, Listener listener) {
-	if (types == null) return;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType && listeners [i] == listener) {
-			remove (i);
+	Listener [] list = get (eventType);
+	if (list == null) return;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] == listener) {
+			remove (eventType, list, i);
 			return;
 		}
 	}
 }
 
 public void unhook (int eventType, SWTEventListener listener) {
-	if (types == null) return;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) {
-			if (listeners [i] instanceof TypedListener) {
-				TypedListener typedListener = (TypedListener) listeners [i];
-				if (typedListener.getEventListener () == listener) {
-					remove (i);
-					return;
-				}
+	Listener [] list = get (eventType);
+	if (list == null) return;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] instanceof TypedListener) {
+			TypedListener typedListener = (TypedListener) list [i];
+			if (typedListener.getEventListener () == listener) {
+				remove (eventType, list, i);
+				return;
 			}
 		}
 	}
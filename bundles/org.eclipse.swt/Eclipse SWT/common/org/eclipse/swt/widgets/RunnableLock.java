@@ -22,6 +22,7 @@ class RunnableLock {
 	Runnable runnable;
 	Thread thread;
 	Throwable throwable;
+	long time;
 
 RunnableLock (Runnable runnable) {
 	this.runnable = runnable;
@@ -12,6 +12,7 @@ package org.eclipse.swt.widgets;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.*;
 
 /**
  * Instances of this class provide synchronization support
@@ -37,6 +38,7 @@ public class Synchronizer {
 	RunnableLock [] messages;
 	Object messageLock = new Object ();
 	Thread syncThread;
+	EventLoopMonitor monitor;
 	static final int GROW_SIZE = 4;
 	static final int MESSAGE_LIMIT = 64;
 
@@ -104,6 +106,9 @@ void addFirst (RunnableLock[] toAdd, int numToAdd) {
 
 void addLast (RunnableLock lock) {
 	boolean wake = false;
+	int depth;
+	EventLoopMonitor monitor = this.monitor;
+	if (monitor != null) lock.time = System.nanoTime ();
 	synchronized (messageLock) {
 		if (messages == null) messages = new RunnableLock [GROW_SIZE];
 		if (messageCount == messages.length) {
@@ -113,7 +118,9 @@ void addLast (RunnableLock lock) {
 		}
 		messages [messageCount++] = lock;
 		wake = messageCount == 1;
+		depth = messageCount;
 	}
+	if (monitor != null) monitor.recordQueued (depth);
 	if (wake) display.wakeThread ();
 }
 
@@ -178,12 +185,17 @@ boolean runAsyncMessages (boolean all) {
 		synchronized (lock) {
 			syncThread = lock.thread;
 			display.sendPreEvent(SWT.None);
+			EventLoopMonitor monitor = this.monitor;
+			long start = monitor != null ? System.nanoTime () : 0;
 			try {
 				lock.run (display);
 			} catch (Throwable t) {
 				lock.throwable = t;
 				SWT.error (SWT.ERROR_FAILED_EXEC, t);
 			} finally {
+				if (monitor != null && lock.time != 0) {
+					monitor.recordAsync (start - lock.time, System.nanoTime () - start);
+				}
 				if (display != null && !display.isDisposed()) {
 					display.sendPostEvent(SWT.None);
 				}
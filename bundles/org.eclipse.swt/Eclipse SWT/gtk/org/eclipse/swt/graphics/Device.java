@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,8 @@ package org.eclipse.swt.graphics;
 
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.*;
 
 import org.eclipse.swt.*;
@@ -57,10 +59,16 @@ public abstract class Device implements Drawable {
 	public static boolean DEBUG;
 	boolean debug = DEBUG;
 	boolean tracking = DEBUG;
-	Error [] errors;
-	Object [] objects;
 	Object trackingLock;
 
+	/*
+	* The live tracked objects, mapped to the stack of their allocation.
+	* Only one object in trackingSampleRate captures its stack; the
+	* others are mapped to null.
+	*/
+	IdentityHashMap<Object, Error> objects;
+	int trackingSampleRate = 1, trackingCount;
+
 	/* Colormap and reference count */
 	GdkColor [] gdkColors;
 	int [] colorRefCount;
@@ -93,6 +101,10 @@ public abstract class Device implements Drawable {
 	/* System Font */
 	Font systemFont;
 
+	/* Shared colors and fonts, see getColor(RGB) and getFont(FontData) */
+	ConcurrentHashMap<RGB, Color> sharedColors = new ConcurrentHashMap<> ();
+	ConcurrentHashMap<String, Font> sharedFonts = new ConcurrentHashMap<> ();
+
 	/* Device dpi */
 	Point dpi;
 
@@ -105,6 +117,43 @@ public abstract class Device implements Drawable {
 
 	long /*int*/ emptyTab;
 
+	/**
+	 * the text extents measured by the GCs of the device
+	 * (Warning: This field is platform dependent)
+	 * <p>
+	 * <b>IMPORTANT:</b> This field is <em>not</em> part of the SWT
+	 * public API. It is marked protected only so that it can be shared
+	 * within the packages provided by SWT. It is not available on all
+	 * platforms and should never be accessed from application code.
+	 * </p>
+	 *
+	 * @noreference This field is not intended to be referenced by clients.
+	 */
+	protected TextExtentCache extentCache;
+	static final int EXTENT_CACHE_SIZE = 4096;
+
+	/**
+	 * the measurer of the text extents of the fonts of the device,
+	 * which can also be used off the user-interface thread
+	 * (Warning: This field is platform dependent)
+	 * <p>
+	 * <b>IMPORTANT:</b> This field is <em>not</em> part of the SWT
+	 * public API. It is marked protected only so that it can be shared
+	 * within the packages provided by SWT. It is not available on all
+	 * platforms and should never be accessed from application code.
+	 * </p>
+	 *
+	 * @noreference This field is not intended to be referenced by clients.
+	 */
+	protected TextMeasurer measurer;
+
+	/* Layouts of strings drawn by the GCs of this device */
+	TextLayoutCache layoutCache;
+	static final int LAYOUT_CACHE_SIZE = 1024;
+
+	/* Metrics and attributes of the fonts used by the TextLayouts of this device */
+	FontCache fontCache;
+
 	/*
 	* TEMPORARY CODE. When a graphics object is
 	* created and the device parameter is null,
@@ -165,10 +214,10 @@ public Device(DeviceData data) {
 		if (data != null) {
 			debug = data.debug;
 			tracking = data.tracking;
+			if (data.trackingSampleRate > 1) trackingSampleRate = data.trackingSampleRate;
 		}
 		if (tracking) {
-			errors = new Error [128];
-			objects = new Object [128];
+			objects = new IdentityHashMap<> (128);
 			trackingLock = new Object ();
 		}
 		create (data);
@@ -240,7 +289,6 @@ public void dispose () {
 		if (tracking) {
 			synchronized (trackingLock) {
 				objects = null;
-				errors = null;
 				trackingLock = null;
 			}
 		}
@@ -249,13 +297,7 @@ public void dispose () {
 
 void dispose_Object (Object object) {
 	synchronized (trackingLock) {
-		for (int i=0; i<objects.length; i++) {
-			if (objects [i] == object) {
-				objects [i] = null;
-				errors [i] = null;
-				return;
-			}
-		}
+		objects.remove (object);
 	}
 }
 
@@ -328,21 +370,16 @@ public DeviceData getDeviceData () {
 	DeviceData data = new DeviceData ();
 	data.debug = debug;
 	data.tracking = tracking;
+	data.trackingSampleRate = trackingSampleRate;
 	if (tracking) {
 		synchronized (trackingLock) {
-			int count = 0, length = objects.length;
-			for (int i=0; i<length; i++) {
-				if (objects [i] != null) count++;
-			}
-			int index = 0;
+			int count = objects.size (), index = 0;
 			data.objects = new Object [count];
 			data.errors = new Error [count];
-			for (int i=0; i<length; i++) {
-				if (objects [i] != null) {
-					data.objects [index] = objects [i];
-					data.errors [index] = errors [i];
-					index++;
-				}
+			for (Map.Entry<Object, Error> entry : objects.entrySet ()) {
+				data.objects [index] = entry.getKey ();
+				data.errors [index] = entry.getValue ();
+				index++;
 			}
 		}
 	} else {
@@ -352,6 +389,41 @@ public DeviceData getDeviceData () {
 	return data;
 }
 
+/**
+ * Returns a text report of the graphics objects that are tracked by the
+ * receiver and not yet disposed. The report counts the objects by type,
+ * and by type and allocation site for the objects whose stack was sampled.
+ * The allocation site is the first caller outside of the graphics package.
+ * <p>
+ * Objects are only tracked when the receiver was created with a
+ * <code>DeviceData</code> whose <code>tracking</code> field is
+ * <code>true</code>. Otherwise, the report is empty.
+ * </p>
+ *
+ * @return the report of the live graphics objects
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see DeviceData#tracking
+ * @see DeviceData#trackingSampleRate
+ *
+ * @since 3.106
+ */
+public String getTrackingReport () {
+	checkDevice ();
+	if (!tracking) return "";
+	Object [] liveObjects;
+	Error [] liveErrors;
+	synchronized (trackingLock) {
+		liveObjects = objects.keySet ().toArray ();
+		liveErrors = objects.values ().toArray (new Error [objects.size ()]);
+	}
+	/* Aggregate outside of the lock, so that allocations are not blocked */
+	return TrackingReport.getReport (liveObjects, liveErrors, trackingSampleRate);
+}
+
 /**
  * Returns a rectangle which describes the area of the
  * receiver which is capable of displaying data.
@@ -368,6 +440,42 @@ public Rectangle getClientArea () {
 	return getBounds ();
 }
 
+/**
+ * Returns a color with the given RGB values that is shared by
+ * every caller that asks the receiver for the same values, instead
+ * of creating a new color for each of them.
+ * <p>
+ * The color is reference counted. Every call to this method must be
+ * balanced by one call to <code>releaseColor(Color)</code>, which disposes
+ * the color when it is no longer used by any caller. Calling
+ * <code>dispose()</code> on a shared color has no effect.
+ * </p>
+ *
+ * @param rgb the RGB values of the color
+ * @return the shared color
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rgb argument is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the red, green or blue components of the argument are not between 0 and 255</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #releaseColor(Color)
+ *
+ * @since 3.106
+ */
+public Color getColor (RGB rgb) {
+	checkDevice ();
+	if (rgb == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedColors.compute (new RGB (rgb.red, rgb.green, rgb.blue), (key, color) -> {
+		if (color == null) color = new Color (this, key);
+		color.sharedCount++;
+		return color;
+	});
+}
+
 /**
  * Returns the bit depth of the screen, which is the number of
  * bits it takes to represent the number of unique colors that
@@ -401,6 +509,47 @@ public Point getDPI () {
 	return getScreenDPI();
 }
 
+/**
+ * Returns a font described by the given font data that is shared by
+ * every caller that asks the receiver for the same font data, instead
+ * of creating a new font for each of them.
+ * <p>
+ * The font is reference counted. Every call to this method must be
+ * balanced by one call to <code>releaseFont(Font)</code>, which disposes
+ * the font when it is no longer used by any caller. Calling
+ * <code>dispose()</code> on a shared font has no effect.
+ * </p>
+ *
+ * @param fd the FontData that describes the desired font
+ * @return the shared font
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the fd argument is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if a font could not be created from the given font data</li>
+ * </ul>
+ *
+ * @see #releaseFont(Font)
+ *
+ * @since 3.106
+ */
+public Font getFont (FontData fd) {
+	checkDevice ();
+	if (fd == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedFonts.compute (fd.toString (), (key, font) -> {
+		if (font == null) {
+			font = new Font (this, fd);
+			font.sharedKey = key;
+		}
+		font.sharedCount++;
+		return font;
+	});
+}
+
 /**
  * Returns <code>FontData</code> objects which describe
  * the fonts that match the given arguments. If the
@@ -639,6 +788,11 @@ protected void init () {
 	if (emptyTab == 0) SWT.error(SWT.ERROR_NO_HANDLES);
 	OS.pango_tab_array_set_tab(emptyTab, 0, OS.PANGO_TAB_LEFT, 1);
 
+	extentCache = new TextExtentCache(EXTENT_CACHE_SIZE);
+	measurer = new TextMeasurer(EXTENT_CACHE_SIZE);
+	layoutCache = new TextLayoutCache(LAYOUT_CACHE_SIZE);
+	fontCache = new FontCache();
+
 	shellHandle = OS.gtk_window_new(OS.GTK_WINDOW_TOPLEVEL);
 	if (shellHandle == 0) SWT.error(SWT.ERROR_NO_HANDLES);
 	OS.gtk_widget_realize(shellHandle);
@@ -786,22 +940,16 @@ long /*int*/ logProc (long /*int*/ log_domain, long /*int*/ log_level, long /*in
 }
 
 void new_Object (Object object) {
-	synchronized (trackingLock) {
-		for (int i=0; i<objects.length; i++) {
-			if (objects [i] == null) {
-				objects [i] = object;
-				errors [i] = new Error ();
-				return;
-			}
+	boolean sample = trackingSampleRate <= 1;
+	if (!sample) {
+		synchronized (trackingLock) {
+			sample = trackingCount++ % trackingSampleRate == 0;
 		}
-		Object [] newObjects = new Object [objects.length + 128];
-		System.arraycopy (objects, 0, newObjects, 0, objects.length);
-		newObjects [objects.length] = object;
-		objects = newObjects;
-		Error [] newErrors = new Error [errors.length + 128];
-		System.arraycopy (errors, 0, newErrors, 0, errors.length);
-		newErrors [errors.length] = new Error ();
-		errors = newErrors;
+	}
+	/* Capture the stack outside of the lock, it is the expensive part */
+	Error error = sample ? new Error () : null;
+	synchronized (trackingLock) {
+		objects.put (object, error);
 	}
 }
 
@@ -818,6 +966,78 @@ static synchronized void register (Device device) {
 	Devices = newDevices;
 }
 
+/**
+ * Releases one reference to a color that was returned by
+ * <code>getColor(RGB)</code>. The color is disposed when the last
+ * reference to it is released.
+ *
+ * @param color the shared color to release
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the color is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the color is not shared by the receiver</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getColor(RGB)
+ *
+ * @since 3.106
+ */
+public void releaseColor (Color color) {
+	checkDevice ();
+	if (color == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	boolean [] shared = new boolean [1], last = new boolean [1];
+	if (color.device == this && !color.isDisposed ()) {
+		sharedColors.computeIfPresent (color.getRGB (), (key, value) -> {
+			if (value != color) return value;
+			shared [0] = true;
+			if (--color.sharedCount > 0) return value;
+			last [0] = true;
+			return null;
+		});
+	}
+	if (!shared [0]) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	if (last [0]) color.dispose ();
+}
+
+/**
+ * Releases one reference to a font that was returned by
+ * <code>getFont(FontData)</code>. The font is disposed when the last
+ * reference to it is released.
+ *
+ * @param font the shared font to release
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the font is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the font is not shared by the receiver</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getFont(FontData)
+ *
+ * @since 3.106
+ */
+public void releaseFont (Font font) {
+	checkDevice ();
+	if (font == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	boolean [] shared = new boolean [1], last = new boolean [1];
+	if (font.device == this && font.sharedKey != null) {
+		sharedFonts.computeIfPresent (font.sharedKey, (key, value) -> {
+			if (value != font) return value;
+			shared [0] = true;
+			if (--font.sharedCount > 0) return value;
+			last [0] = true;
+			return null;
+		});
+	}
+	if (!shared [0]) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	if (last [0]) font.dispose ();
+}
+
 /**
  * Releases any internal resources back to the operating
  * system and clears all fields except the device handle.
@@ -849,6 +1069,18 @@ protected void release () {
 	if (systemFont != null) systemFont.dispose ();
 	systemFont = null;
 
+	/* Dispose the shared colors and fonts that are still in use */
+	for (Color color : sharedColors.values ()) {
+		color.sharedCount = 0;
+		color.dispose ();
+	}
+	sharedColors.clear ();
+	for (Font font : sharedFonts.values ()) {
+		font.sharedCount = 0;
+		font.dispose ();
+	}
+	sharedFonts.clear ();
+
 	if (gdkColors != null) {
 		if (!OS.GTK3) {
 			long /*int*/ colormap = OS.gdk_colormap_get_system();
@@ -889,6 +1121,14 @@ protected void release () {
 	if (emptyTab != 0) OS.pango_tab_array_free(emptyTab);
 	emptyTab = 0;
 
+	extentCache = null;
+	if (measurer != null) measurer.dispose();
+	measurer = null;
+	if (layoutCache != null) layoutCache.dispose();
+	layoutCache = null;
+	if (fontCache != null) fontCache.dispose();
+	fontCache = null;
+
 	/* Free the GTK error and warning handler */
 	if (xDisplay != 0) {
 		for (int i=0; i<handler_ids.length; i++) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -59,4 +59,15 @@ public class DeviceData {
 	public boolean tracking;
 	public Error [] errors;
 	public Object [] objects;
+
+	/**
+	 * When <code>tracking</code> is <code>true</code>, the stack of
+	 * only one in this many allocated graphics objects is captured,
+	 * which reduces the cost of tracking. The objects that are not
+	 * sampled have a <code>null</code> error. Values less than 2
+	 * capture the stack of every object.
+	 *
+	 * @since 3.106
+	 */
+	public int trackingSampleRate;
 }
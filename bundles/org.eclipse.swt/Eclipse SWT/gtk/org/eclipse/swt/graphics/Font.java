@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -46,6 +46,10 @@ public final class Font extends Resource {
 	 */
 	public long /*int*/ handle;
 
+	/* The key and number of references of a font shared by Device.getFont(FontData) */
+	String sharedKey;
+	int sharedCount;
+
 Font(Device device) {
 	super(device);
 }
@@ -150,10 +154,51 @@ public Font(Device device, String name, int height, int style) {
 	init();
 }
 
+/**
+ * Disposes of the operating system resources associated with
+ * the font. A font that is shared by <code>Device.getFont(FontData)</code> is
+ * not disposed, it is released with <code>Device.releaseFont(Font)</code>.
+ *
+ * @see Device#getFont(FontData)
+ * @see Device#releaseFont(Font)
+ */
+@Override
+public void dispose() {
+	if (sharedCount > 0) return;
+	super.dispose();
+}
+
 @Override
 void destroy() {
-	OS.pango_font_description_free(handle);
-	handle = 0;
+	TextExtentCache cache = device.extentCache;
+	if (cache != null) {
+		synchronized (cache) {
+			cache.remove(handle);
+		}
+	}
+	if (device.layoutCache != null) device.layoutCache.remove(handle);
+	if (device.fontCache != null) device.fontCache.remove(handle);
+	TextMeasurer measurer = device.measurer;
+	if (measurer == null) {
+		OS.pango_font_description_free(handle);
+		handle = 0;
+		return;
+	}
+	/*
+	* The description is freed under the locks that the measurer holds
+	* while it measures, as it may measure this font on another thread.
+	*/
+	Lock lock = OS.lock;
+	lock.lock();
+	try {
+		synchronized (measurer) {
+			measurer.remove(this);
+			OS.pango_font_description_free(handle);
+			handle = 0;
+		}
+	} finally {
+		lock.unlock();
+	}
 }
 
 /**
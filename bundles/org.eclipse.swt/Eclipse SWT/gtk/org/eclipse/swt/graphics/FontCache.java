@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.internal.gtk.*;
+
+/*
+* Keeps the font metrics that TextLayouts resolve for a font, keyed by
+* the font handle, so that the fonts of the font map are not loaded
+* again for every empty line. The metrics are measured in a context that
+* is configured like the contexts of the TextLayouts of the device.
+* Entries are removed when their font is disposed.
+*/
+class FontCache {
+	long /*int*/ context;
+	final LongHashMap<Entry> entries = new LongHashMap<> ();
+
+	static final class Entry {
+		/* The metrics in pango units */
+		int ascent, descent;
+	}
+
+FontCache () {
+	context = OS.gdk_pango_context_get ();
+	if (context == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+	OS.pango_context_set_language (context, OS.gtk_get_default_language ());
+	OS.pango_context_set_base_dir (context, OS.PANGO_DIRECTION_LTR);
+}
+
+synchronized Entry get (long /*int*/ font) {
+	Entry entry = entries.get (font);
+	if (entry == null) {
+		entry = new Entry ();
+		long /*int*/ lang = OS.pango_context_get_language (context);
+		long /*int*/ metrics = OS.pango_context_get_metrics (context, font, lang);
+		entry.ascent = OS.pango_font_metrics_get_ascent (metrics);
+		entry.descent = OS.pango_font_metrics_get_descent (metrics);
+		OS.pango_font_metrics_unref (metrics);
+		entries.put (font, entry);
+	}
+	return entry;
+}
+
+synchronized void remove (long /*int*/ font) {
+	entries.remove (font);
+}
+
+synchronized void dispose () {
+	entries.clear ();
+	if (context != 0) OS.g_object_unref (context);
+	context = 0;
+}
+}
@@ -238,6 +238,33 @@ public static GC gtk_new(Drawable drawable, GCData data) {
 	return gc;
 }
 
+/**
+ * Invokes platform specific functionality to allocate a new graphics context,
+ * reusing the given graphics context if it has been disposed.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>GC</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @param gc a disposed GC to reuse or <code>null</code>
+ * @param drawable the Drawable for the receiver.
+ * @param data the data for the receiver.
+ *
+ * @return a new or reused <code>GC</code>
+ *
+ * @noreference This method is not intended to be referenced by clients.
+ */
+public static GC gtk_new(GC gc, Drawable drawable, GCData data) {
+	if (gc == null || !gc.isDisposed()) return gtk_new(drawable, data);
+	long /*int*/ gdkGC = drawable.internal_new_GC(data);
+	gc.device = data.device;
+	gc.init(drawable, data, gdkGC);
+	return gc;
+}
+
 void checkGC (int mask) {
 	int state = data.state;
 	if ((state & mask) == mask) return;
@@ -1406,11 +1433,7 @@ void drawPolyline(long /*int*/ cairo, int[] pointArray, boolean close) {
 	int count = pointArray.length / 2;
 	if (count == 0) return;
 	double xOffset = data.cairoXoffset, yOffset = data.cairoYoffset;
-	Cairo.cairo_move_to(cairo, pointArray[0] + xOffset, pointArray[1] + yOffset);
-	for (int i = 1, j=2; i < count; i++, j += 2) {
-		Cairo.cairo_line_to(cairo, pointArray[j] + xOffset, pointArray[j + 1] + yOffset);
-	}
-	if (close) Cairo.cairo_close_path(cairo);
+	Cairo.swt_cairo_polyline(cairo, pointArray, 0, count, xOffset, yOffset, close);
 }
 
 /**
@@ -1731,6 +1754,10 @@ void drawTextInPixels (String string, int x, int y, int flags) {
 	if (string == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	if (string.length() == 0) return;
 	long /*int*/ cairo = data.cairo;
+	if (cairo != 0 && (data.style & SWT.MIRRORED) == 0 && data.textAntialias == SWT.DEFAULT && string.length() <= TextLayoutCache.MAX_LENGTH) {
+		drawCachedText(string, x, y, flags);
+		return;
+	}
 	setString(string, flags);
 	if (cairo != 0) {
 		checkGC(FONT);
@@ -1784,6 +1811,26 @@ void drawTextInPixels (String string, int x, int y, int flags) {
 	}
 }
 
+/*
+* Draws the string with a layout that is shared by the GCs of the device,
+* so that strings that are drawn repeatedly are only shaped once.
+*/
+void drawCachedText(String string, int x, int y, int flags) {
+	long /*int*/ cairo = data.cairo;
+	int layoutFlags = flags & (SWT.DRAW_DELIMITER | SWT.DRAW_TAB | SWT.DRAW_MNEMONIC);
+	TextLayoutCache.CachedLayout entry = data.device.layoutCache.get(this, data.font.handle, layoutFlags, string);
+	if ((flags & SWT.DRAW_TRANSPARENT) == 0) {
+		checkGC(BACKGROUND);
+		Cairo.cairo_rectangle(cairo, x, y, entry.width, entry.height);
+		Cairo.cairo_fill(cairo);
+	}
+	checkGC(FOREGROUND);
+	Cairo.cairo_move_to(cairo, x, y);
+	OS.pango_cairo_show_layout(cairo, entry.layout);
+	OS.g_object_unref(entry.layout);
+	Cairo.cairo_new_path(cairo);
+}
+
 /**
  * Compares the argument to the receiver, and returns true
  * if they represent the <em>same</em> object using a class
@@ -3917,9 +3964,15 @@ void setString(String string, int flags) {
 	if (string == data.string && (flags & ~SWT.DRAW_TRANSPARENT) == (data.drawFlags  & ~SWT.DRAW_TRANSPARENT)) {
 		return;
 	}
+	setText(data.layout, string, flags);
+	data.string = string;
+	data.stringWidth = data.stringHeight = -1;
+	data.drawFlags = flags;
+}
+
+void setText(long /*int*/ layout, String string, int flags) {
 	byte[] buffer;
 	int mnemonic, length = string.length ();
-	long /*int*/ layout = data.layout;
 	char[] text = new char[length];
 	string.getChars(0, length, text, 0);
 	if ((flags & SWT.DRAW_MNEMONIC) != 0 && (mnemonic = fixMnemonic(text)) != -1) {
@@ -3949,9 +4002,6 @@ void setString(String string, int flags) {
 	OS.pango_layout_set_text(layout, buffer, buffer.length);
 	OS.pango_layout_set_single_paragraph_mode(layout, (flags & SWT.DRAW_DELIMITER) == 0);
 	OS.pango_layout_set_tabs(layout, (flags & SWT.DRAW_TAB) != 0 ? 0 : data.device.emptyTab);
-	data.string = string;
-	data.stringWidth = data.stringHeight = -1;
-	data.drawFlags = flags;
 }
 
 /**
@@ -3995,6 +4045,7 @@ public void setTextAntialias(int antialias) {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 	}
     initCairo();
+    data.textAntialias = antialias;
     long /*int*/ options = Cairo.cairo_font_options_create();
     Cairo.cairo_font_options_set_antialias(options, mode);
 	if (data.context == 0) createLayout();
@@ -4167,11 +4218,37 @@ public Point textExtent(String string, int flags) {
 	return DPIUtil.autoScaleDown(drawable, textExtentInPixels(string, flags));
 }
 Point textExtentInPixels(String string, int flags) {
+	/*
+	* The layout context of a GC that does not change the text antialias
+	* measures like the one of the measurer of the device, which keeps
+	* the extents measured on any thread.
+	*/
+	TextMeasurer measurer = data.device.measurer;
+	if (measurer != null && data.textAntialias == SWT.DEFAULT && (data.style & SWT.MIRRORED) == 0) {
+		return measurer.textExtentInPixels(data.font, string, flags);
+	}
+	/*
+	* The extent only depends on the font, the string, the flags
+	* that change how the string is laid out and the text antialias
+	* of the GC, which sets the font options of the layout context,
+	* so it is shared by all the GCs of the device.
+	*/
+	long /*int*/ font = data.font.handle;
+	int layoutFlags = flags & (SWT.DRAW_DELIMITER | SWT.DRAW_TAB | SWT.DRAW_MNEMONIC);
+	layoutFlags |= (data.textAntialias - SWT.DEFAULT) << 4;
+	TextExtentCache cache = data.device.extentCache;
+	synchronized (cache) {
+		Point extent = cache.get(font, layoutFlags, string);
+		if (extent != null) return new Point(extent.x, extent.y);
+	}
 	setString(string, flags);
 	checkGC(FONT);
 	if (data.stringWidth == -1) {
 		computeStringSize();
 	}
+	synchronized (cache) {
+		cache.put(font, layoutFlags, string, new Point(data.stringWidth, data.stringHeight));
+	}
 	return new Point(data.stringWidth, data.stringHeight);
 }
 
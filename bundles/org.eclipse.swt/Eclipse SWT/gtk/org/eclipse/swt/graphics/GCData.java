@@ -55,6 +55,7 @@ public final class GCData {
 	public boolean xorMode;
 	public int alpha = 0xFF;
 	public int interpolation = SWT.DEFAULT;
+	public int textAntialias = SWT.DEFAULT;
 	public Image image;
 
 	public long /*int*/ clipRgn, context, layout, damageRgn, drawable, cairo;
@@ -67,4 +68,47 @@ public final class GCData {
 	public int drawFlags;
 	public boolean realDrawable;
 	public int width = -1, height = -1;
+
+/**
+ * Restores every field to its initial value so that the
+ * receiver can be used to create another GC.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>GCData</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @noreference This method is not intended to be referenced by clients.
+ */
+public void reset() {
+	device = null;
+	style = 0;
+	state = -1;
+	foreground = background = null;
+	font = null;
+	foregroundPattern = backgroundPattern = null;
+	lineWidth = 0;
+	lineStyle = SWT.LINE_SOLID;
+	lineDashes = null;
+	lineDashesOffset = 0;
+	lineMiterLimit = 10;
+	lineCap = SWT.CAP_FLAT;
+	lineJoin = SWT.JOIN_MITER;
+	xorMode = false;
+	alpha = 0xFF;
+	interpolation = SWT.DEFAULT;
+	textAntialias = SWT.DEFAULT;
+	image = null;
+	clipRgn = context = layout = damageRgn = drawable = cairo = 0;
+	cairoXoffset = cairoYoffset = 0;
+	disposeCairo = false;
+	identity = clippingTransform = null;
+	string = null;
+	stringWidth = stringHeight = -1;
+	drawFlags = 0;
+	realDrawable = false;
+	width = height = -1;
+}
 }
@@ -110,11 +110,7 @@ static long /*int*/ gdk_region_polygon(int[] pointArray, int npoints, int fill_r
 	if (surface == 0) SWT.error(SWT.ERROR_NO_HANDLES);
 	long /*int*/ cairo = Cairo.cairo_create(surface);
 	if (cairo == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	Cairo.cairo_move_to(cairo, pointArray[0] - minX, pointArray[1] - minY);
-	for (int i=2; i<count; i+=2) {
-		Cairo.cairo_line_to(cairo, pointArray[i]- minX, pointArray[i+1] - minY);
-	}
-	Cairo.cairo_close_path(cairo);
+	Cairo.swt_cairo_polyline(cairo, pointArray, 0, npoints, -minX, -minY, true);
 	Cairo.cairo_set_source_rgb(cairo, 1, 1, 1);
 	int cairo_rule = Cairo.CAIRO_FILL_RULE_WINDING;
 	if (fill_rule == OS.GDK_EVEN_ODD_RULE) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1129,14 +1129,23 @@ public FontMetrics getLineMetrics (int lineIndex) {
 	int heightInPoints;
 	int ascentInPoints;
 	if (line.runs == 0) {
-		long /*int*/ font = this.font != null ? this.font.handle : device.systemFont.handle;
-		long /*int*/ lang = OS.pango_context_get_language(context);
-		long /*int*/ metrics = OS.pango_context_get_metrics(context, font, lang);
-		int ascent = OS.pango_font_metrics_get_ascent(metrics);
-		int descent = OS.pango_font_metrics_get_descent(metrics);
+		Font font = this.font != null ? this.font : device.systemFont;
+		int ascent, descent;
+		FontCache fontCache = font.device.fontCache;
+		if (fontCache != null) {
+			FontCache.Entry entry = fontCache.get(font.handle);
+			ascent = entry.ascent;
+			descent = entry.descent;
+		} else {
+			/* The device of the font has been disposed, so it has no cache */
+			long /*int*/ lang = OS.pango_context_get_language(context);
+			long /*int*/ metrics = OS.pango_context_get_metrics(context, font.handle, lang);
+			ascent = OS.pango_font_metrics_get_ascent(metrics);
+			descent = OS.pango_font_metrics_get_descent(metrics);
+			OS.pango_font_metrics_unref(metrics);
+		}
 		ascentInPoints = DPIUtil.autoScaleDown(getDevice(), OS.PANGO_PIXELS(ascent));
 		heightInPoints = DPIUtil.autoScaleDown(getDevice(), OS.PANGO_PIXELS(ascent + descent));
-		OS.pango_font_metrics_unref(metrics);
 	} else {
 		PangoRectangle rect = new PangoRectangle();
 		OS.pango_layout_line_get_extents(OS.pango_layout_get_line(layout, lineIndex), null, rect);
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.gtk.*;
+
+/*
+* Keeps the PangoLayouts of recently drawn strings so that drawing the
+* same string again in the same font does not shape it again. Layouts
+* are created in a context that is shared by the device and are evicted
+* in least recently used order when the cache is full.
+*/
+class TextLayoutCache {
+	long /*int*/ context;
+	final LinkedHashMap<CachedLayout, CachedLayout> map;
+	final CachedLayout lookup = new CachedLayout ();
+	int limit;
+
+	/* Strings longer than this are rarely drawn again and are not cached */
+	static final int MAX_LENGTH = 256;
+
+	static final class CachedLayout {
+		long /*int*/ font;
+		int flags;
+		String string;
+		int hash;
+		long /*int*/ layout;
+		int width, height;
+
+		void set (long /*int*/ font, int flags, String string) {
+			this.font = font;
+			this.flags = flags;
+			this.string = string;
+			hash = (int) (font ^ (font >>> 32)) * 31 + flags;
+			hash = hash * 31 + string.hashCode ();
+		}
+
+		@Override
+		public boolean equals (Object object) {
+			if (!(object instanceof CachedLayout)) return false;
+			CachedLayout entry = (CachedLayout) object;
+			return font == entry.font && flags == entry.flags && string.equals (entry.string);
+		}
+
+		@Override
+		public int hashCode () {
+			return hash;
+		}
+	}
+
+TextLayoutCache (int limit) {
+	this.limit = Math.max (1, limit);
+	map = new LinkedHashMap<CachedLayout, CachedLayout> (16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry (Map.Entry<CachedLayout, CachedLayout> eldest) {
+			if (size () <= TextLayoutCache.this.limit) return false;
+			OS.g_object_unref (eldest.getValue ().layout);
+			return true;
+		}
+	};
+	context = OS.gdk_pango_context_get ();
+	if (context == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+	OS.pango_context_set_language (context, OS.gtk_get_default_language ());
+	OS.pango_context_set_base_dir (context, OS.PANGO_DIRECTION_LTR);
+}
+
+/*
+* Returns the entry for the string, laying it out with the given GC if
+* it is not in the cache. The layout of the entry is referenced and must
+* be released by the caller with g_object_unref().
+*/
+synchronized CachedLayout get (GC gc, long /*int*/ font, int flags, String string) {
+	lookup.set (font, flags, string);
+	CachedLayout entry = map.get (lookup);
+	lookup.string = null;
+	if (entry == null) {
+		long /*int*/ layout = OS.pango_layout_new (context);
+		if (layout == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+		OS.pango_layout_set_auto_dir (layout, false);
+		OS.pango_layout_set_font_description (layout, font);
+		gc.setText (layout, string, flags);
+		int [] width = new int [1], height = new int [1];
+		OS.pango_layout_get_pixel_size (layout, width, height);
+		entry = new CachedLayout ();
+		entry.set (font, flags, string);
+		entry.layout = layout;
+		entry.width = width [0];
+		entry.height = height [0];
+		map.put (entry, entry);
+	}
+	OS.g_object_ref (entry.layout);
+	return entry;
+}
+
+synchronized void remove (long /*int*/ font) {
+	Iterator<CachedLayout> iterator = map.keySet ().iterator ();
+	while (iterator.hasNext ()) {
+		CachedLayout entry = iterator.next ();
+		if (entry.font == font) {
+			OS.g_object_unref (entry.layout);
+			iterator.remove ();
+		}
+	}
+}
+
+synchronized void dispose () {
+	for (CachedLayout entry : map.keySet ()) {
+		OS.g_object_unref (entry.layout);
+	}
+	map.clear ();
+	if (context != 0) OS.g_object_unref (context);
+	context = 0;
+}
+}
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.gtk.*;
+
+/**
+ * Instances of this class measure text without a <code>GC</code>,
+ * using a Pango context that is only used for measuring. This allows
+ * layouts and virtual tables to compute the size of text from a worker
+ * thread instead of the user-interface thread.
+ * <p>
+ * A measurer is created by the device on the user-interface thread,
+ * and its methods may be called from any thread. Measuring and the
+ * disposal of fonts are serialized on the measurer, so a font that is
+ * disposed while it is measured on another thread is either measured
+ * completely or reported as disposed. Code that calls the operating
+ * system while it holds the lock of the measurer must hold the OS lock
+ * first, as measuring does, so that the two locks are always taken in
+ * the same order.
+ * </p>
+ * <p>
+ * Measured extents are kept in a bounded cache keyed by the
+ * <code>Font</code> instance, flags and string. A font removes its
+ * extents when it is disposed, and since the key is the instance and
+ * not its native handle, a handle that is reused by another font does
+ * not find them.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class TextMeasurer {
+	long /*int*/ context, layout, emptyTab;
+	final LinkedHashMap<Key, Point> cache;
+	final Key lookup = new Key ();
+	int limit;
+
+	static final class Key {
+		Font font;
+		int flags;
+		String string;
+		int hash;
+
+		void set (Font font, int flags, String string) {
+			this.font = font;
+			this.flags = flags;
+			this.string = string;
+			hash = (System.identityHashCode (font) * 31 + flags) * 31 + string.hashCode ();
+		}
+
+		@Override
+		public boolean equals (Object object) {
+			if (!(object instanceof Key)) return false;
+			Key key = (Key) object;
+			return font == key.font && flags == key.flags && string.equals (key.string);
+		}
+
+		@Override
+		public int hashCode () {
+			return hash;
+		}
+	}
+
+/**
+ * Constructs a new measurer that caches up to <code>limit</code>
+ * extents. It must be created on the user-interface thread.
+ *
+ * @param limit the maximum number of cached extents
+ */
+public TextMeasurer (int limit) {
+	this.limit = Math.max (1, limit);
+	cache = new LinkedHashMap<Key, Point> (16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry (Map.Entry<Key, Point> eldest) {
+			return size () > TextMeasurer.this.limit;
+		}
+	};
+	context = OS.gdk_pango_context_get ();
+	if (context == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+	OS.pango_context_set_language (context, OS.gtk_get_default_language ());
+	OS.pango_context_set_base_dir (context, OS.PANGO_DIRECTION_LTR);
+	layout = OS.pango_layout_new (context);
+	if (layout == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+	OS.pango_layout_set_auto_dir (layout, false);
+	emptyTab = OS.pango_tab_array_new (1, false);
+	if (emptyTab == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+	OS.pango_tab_array_set_tab (emptyTab, 0, OS.PANGO_TAB_LEFT, 1);
+}
+
+/**
+ * Releases the native resources of the receiver.
+ */
+public void dispose () {
+	Lock lock = OS.lock;
+	lock.lock ();
+	try {
+		synchronized (this) {
+			if (layout == 0) return;
+			OS.g_object_unref (layout);
+			OS.g_object_unref (context);
+			OS.pango_tab_array_free (emptyTab);
+			layout = context = emptyTab = 0;
+			cache.clear ();
+		}
+	} finally {
+		lock.unlock ();
+	}
+}
+
+/**
+ * Removes the extents measured with the given font. This is called
+ * by the font when it is disposed, while it holds the lock of the
+ * receiver.
+ *
+ * @param font the font
+ */
+public synchronized void remove (Font font) {
+	Iterator<Key> iterator = cache.keySet ().iterator ();
+	while (iterator.hasNext ()) {
+		if (iterator.next ().font == font) iterator.remove ();
+	}
+}
+
+/**
+ * Returns the extent of the given string in the given font. No tab
+ * expansion or carriage return processing is performed.
+ *
+ * @param font the font
+ * @param string the string to measure
+ * @return a point containing the extent of the string
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the font or the string is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the font has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#stringExtent(String)
+ */
+public Point stringExtent (Font font, String string) {
+	return textExtent (font, string, 0);
+}
+
+/**
+ * Returns the extent of the given string in the given font. Tab
+ * expansion, line delimiter and mnemonic processing are performed
+ * according to the specified flags, which can be a combination of
+ * <code>SWT.DRAW_DELIMITER</code>, <code>SWT.DRAW_TAB</code> and
+ * <code>SWT.DRAW_MNEMONIC</code>.
+ *
+ * @param font the font
+ * @param string the string to measure
+ * @param flags the flags specifying how to process the text
+ * @return a point containing the extent of the string
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the font or the string is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the font has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#textExtent(String, int)
+ */
+public Point textExtent (Font font, String string, int flags) {
+	return DPIUtil.autoScaleDown (textExtentInPixels (font, string, flags));
+}
+
+/**
+ * Returns the extent of the given string in the given font, in pixels.
+ *
+ * @param font the font
+ * @param string the string to measure
+ * @param flags the flags specifying how to process the text
+ * @return a new point containing the extent of the string
+ *
+ * @see #textExtent(Font, String, int)
+ */
+public Point textExtentInPixels (Font font, String string, int flags) {
+	if (font == null || string == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	flags &= SWT.DRAW_DELIMITER | SWT.DRAW_TAB | SWT.DRAW_MNEMONIC;
+	synchronized (this) {
+		Point extent = get (font, flags, string);
+		if (extent != null) return new Point (extent.x, extent.y);
+	}
+	Lock lock = OS.lock;
+	lock.lock ();
+	try {
+		synchronized (this) {
+			if (layout == 0) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+			/* The handle is read under the lock, which the font holds while it frees it */
+			long /*int*/ handle = font.handle;
+			if (handle == 0) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+			Point extent = get (font, flags, string);
+			if (extent == null) {
+				extent = measure (handle, string, flags);
+				Key key = new Key ();
+				key.set (font, flags, string);
+				cache.put (key, extent);
+			}
+			return new Point (extent.x, extent.y);
+		}
+	} finally {
+		lock.unlock ();
+	}
+}
+
+Point get (Font font, int flags, String string) {
+	lookup.set (font, flags, string);
+	Point extent = cache.get (lookup);
+	lookup.font = null;
+	lookup.string = null;
+	return extent;
+}
+
+Point measure (long /*int*/ font, String string, int flags) {
+	int length = string.length ();
+	char [] text = new char [length];
+	string.getChars (0, length, text, 0);
+	if ((flags & SWT.DRAW_MNEMONIC) != 0) {
+		int count = stripMnemonic (text);
+		if (count != length) {
+			char [] newText = new char [count];
+			System.arraycopy (text, 0, newText, 0, count);
+			text = newText;
+		}
+	}
+	byte [] buffer = Converter.wcsToMbcs (text, false);
+	OS.pango_layout_set_font_description (layout, font);
+	OS.pango_layout_set_text (layout, buffer, buffer.length);
+	OS.pango_layout_set_single_paragraph_mode (layout, (flags & SWT.DRAW_DELIMITER) == 0);
+	OS.pango_layout_set_tabs (layout, (flags & SWT.DRAW_TAB) != 0 ? 0 : emptyTab);
+	int [] width = new int [1], height = new int [1];
+	OS.pango_layout_get_pixel_size (layout, width, height);
+	return new Point (width [0], height [0]);
+}
+
+/* Removes the mnemonic characters the way GC.textExtent() does */
+static int stripMnemonic (char [] buffer) {
+	int i=0, j=0;
+	while (i < buffer.length) {
+		if ((buffer [j++] = buffer [i++]) == '&') {
+			if (i == buffer.length) continue;
+			if (buffer [i] == '&') {i++; continue;}
+			j--;
+		}
+	}
+	return j;
+}
+}
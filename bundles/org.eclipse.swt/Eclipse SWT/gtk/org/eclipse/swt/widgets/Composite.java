@@ -1707,6 +1707,21 @@ void updateBackgroundMode () {
 	}
 }
 
+@Override
+void runScheduledLayout () {
+	if ((state & LAYOUT_SCHEDULED) == 0) return;
+	if ((state & HIDDEN) != 0) return;
+	state &= ~LAYOUT_SCHEDULED;
+	updateLayout (false);
+	Control [] children = _getChildren ();
+	for (int i=0; i<children.length; i++) {
+		Control child = children [i];
+		if (!child.isDisposed () && (child.state & LAYOUT_SCHEDULED) != 0) {
+			child.runScheduledLayout ();
+		}
+	}
+}
+
 @Override
 void updateLayout (boolean all) {
 	Composite parent = findDeferredControl ();
@@ -971,6 +971,36 @@ void markLayout (boolean changed, boolean all) {
 	/* Do nothing */
 }
 
+/*
+* Marks the receiver and the path to its shell as needing a visit from
+* the next scheduled layout pass, flushing the cached sizes along the way.
+* The walk stops at the first ancestor that is already marked, since the
+* path above it has been flushed and queued by an earlier request.
+*/
+void scheduleLayout () {
+	Shell shell = getShell ();
+	markLayout (false, false);
+	state |= LAYOUT_SCHEDULED;
+	Control child = this;
+	while (child != shell) {
+		Composite composite = child.parent;
+		if (composite.layout != null) {
+			composite.state |= LAYOUT_NEEDED;
+			if (!composite.layout.flushCache (child)) {
+				composite.state |= LAYOUT_CHANGED;
+			}
+		}
+		if ((composite.state & LAYOUT_SCHEDULED) != 0) return;
+		composite.state |= LAYOUT_SCHEDULED;
+		child = composite;
+	}
+	display.addLayoutScheduled (shell);
+}
+
+void runScheduledLayout () {
+	state &= ~LAYOUT_SCHEDULED;
+}
+
 @Override
 void modifyStyle (long /*int*/ handle, long /*int*/ style) {
 	super.modifyStyle(handle, style);
@@ -3405,26 +3435,40 @@ long /*int*/ gtk_event_after (long /*int*/ widget, long /*int*/ gdkEvent) {
 long /*int*/ gtk_draw (long /*int*/ widget, long /*int*/ cairo) {
 	if ((state & OBSCURED) != 0) return 0;
 	if (!hooksPaint ()) return 0;
-	GdkRectangle rect = new GdkRectangle ();
+	GdkRectangle rect = display.paintRect;
+	display.paintRect = null;
+	if (rect == null) rect = new GdkRectangle ();
 	OS.gdk_cairo_get_clip_rectangle (cairo, rect);
-	Event event = new Event ();
+	Event event = newPaintEvent ();
 	event.count = 1;
-	Rectangle eventRect = new Rectangle (rect.x, rect.y, rect.width, rect.height);
-	event.setBounds (DPIUtil.autoScaleDown (eventRect));
+	if (DPIUtil.getDeviceZoom () == 100) {
+		event.x = rect.x;
+		event.y = rect.y;
+		event.width = rect.width;
+		event.height = rect.height;
+	} else {
+		Rectangle eventRect = new Rectangle (rect.x, rect.y, rect.width, rect.height);
+		event.setBounds (DPIUtil.autoScaleDown (eventRect));
+	}
+	display.paintRect = rect;
+	// Caveat: the clipping is set with integers because GC#setClipping(Rectangle) got broken by bug 446075
+	int clipX = event.x, clipY = event.y;
 	if ((style & SWT.MIRRORED) != 0) event.x = DPIUtil.autoScaleDown (getClientWidth ()) - event.width - event.x;
-	GCData data = new GCData ();
+	GCData data = newPaintData ();
 //	data.damageRgn = gdkEvent.region;
 	if (OS.GTK_VERSION <= OS.VERSION (3, 9, 0)) {
 		data.cairo = cairo;
 	}
-	GC gc = event.gc = GC.gtk_new (this, data);
-	Rectangle rect2 = DPIUtil.autoScaleDown(new Rectangle(rect.x, rect.y, rect.width, rect.height));
-	// Caveat: rect2 is necessary because GC#setClipping(Rectangle) got broken by bug 446075
-	gc.setClipping (rect2.x, rect2.y, rect2.width, rect2.height);
+	GC gc = event.gc = newPaintGC (data);
+	gc.setClipping (clipX, clipY, event.width, event.height);
+	EventLoopMonitor monitor = display.monitor;
+	long start = monitor != null ? System.nanoTime () : 0;
 	drawWidget (gc);
 	sendEvent (SWT.Paint, event);
+	if (monitor != null) monitor.recordPaint (getClass (), System.nanoTime () - start);
 	gc.dispose ();
 	event.gc = null;
+	releasePaintObjects (event, gc, data);
 	return 0;
 }
 
@@ -3434,18 +3478,22 @@ long /*int*/ gtk_expose_event (long /*int*/ widget, long /*int*/ eventPtr) {
 	if (!hooksPaint ()) return 0;
 	GdkEventExpose gdkEvent = new GdkEventExpose ();
 	OS.memmove(gdkEvent, eventPtr, GdkEventExpose.sizeof);
-	Event event = new Event ();
+	Event event = newPaintEvent ();
 	event.count = gdkEvent.count;
 	Rectangle eventRect = new Rectangle (gdkEvent.area_x, gdkEvent.area_y, gdkEvent.area_width, gdkEvent.area_height);
 	event.setBounds (DPIUtil.autoScaleDown (eventRect));
 	if ((style & SWT.MIRRORED) != 0) event.x = DPIUtil.autoScaleDown (getClientWidth ()) - event.width - event.x;
-	GCData data = new GCData ();
+	GCData data = newPaintData ();
 	data.damageRgn = gdkEvent.region;
-	GC gc = event.gc = GC.gtk_new (this, data);
+	GC gc = event.gc = newPaintGC (data);
+	EventLoopMonitor monitor = display.monitor;
+	long start = monitor != null ? System.nanoTime () : 0;
 	drawWidget (gc);
 	sendEvent (SWT.Paint, event);
+	if (monitor != null) monitor.recordPaint (getClass (), System.nanoTime () - start);
 	gc.dispose ();
 	event.gc = null;
+	releasePaintObjects (event, gc, data);
 	return 0;
 }
 
@@ -3763,6 +3811,37 @@ long /*int*/ imHandle () {
 	return 0;
 }
 
+Event newPaintEvent () {
+	Event event = display.paintEvent;
+	if (event == null) return new Event ();
+	display.paintEvent = null;
+	event.reset ();
+	return event;
+}
+
+GCData newPaintData () {
+	GCData data = display.paintData;
+	if (data == null) return new GCData ();
+	display.paintData = null;
+	data.reset ();
+	return data;
+}
+
+GC newPaintGC (GCData data) {
+	GC gc = display.paintGC;
+	display.paintGC = null;
+	return GC.gtk_new (gc, this, data);
+}
+
+void releasePaintObjects (Event event, GC gc, GCData data) {
+	if (!gc.isDisposed ()) return;
+	display.paintData = data;
+	if (display.reusePaintObjects) {
+		display.paintGC = gc;
+		display.paintEvent = event;
+	}
+}
+
 /**
  * Invokes platform specific functionality to dispose a GC handle.
  * <p>
@@ -3945,7 +4024,11 @@ void register () {
  * @since 3.105
  */
 public void requestLayout () {
-	getShell ().layout (new Control[] {this}, SWT.DEFER);
+	if (display.scheduleLayouts) {
+		scheduleLayout ();
+	} else {
+		getShell ().layout (new Control[] {this}, SWT.DEFER);
+	}
 }
 
 /**
@@ -5391,6 +5474,8 @@ public void setVisible (boolean visible) {
 			if (enableWindow != 0) OS.gdk_window_show_unraised (enableWindow);
 			OS.gtk_widget_show (topHandle);
 		}
+		/* Layouts requested while hidden were skipped by the scheduled pass */
+		if ((state & LAYOUT_SCHEDULED) != 0) scheduleLayout ();
 	} else {
 		/*
 		* Bug in GTK.  Invoking gtk_widget_hide() on a widget that has
@@ -112,6 +112,7 @@ public class Display extends Device {
 	long /*int*/ fds;
 	int allocated_nfds;
 	boolean wake;
+	long /*int*/ wakeup, wakeupFd;
 	int [] max_priority = new int [1], timeout = new int [1];
 	Callback eventCallback, filterCallback;
 	long /*int*/ eventProc, filterProc, windowProc2, windowProc3, windowProc4, windowProc5;
@@ -127,19 +128,14 @@ public class Display extends Device {
 	long /*int*/ shellMapProcClosure;
 
 	/* Widget Table */
-	int [] indexTable;
-	int freeSlot;
 	long /*int*/ lastHandle;
 	Widget lastWidget;
-	Widget [] widgetTable;
+	LongHashMap<Widget> widgetTable;
 	final static int GROW_SIZE = 1024;
-	static final int SWT_OBJECT_INDEX;
 	static final int SWT_OBJECT_INDEX1;
 	static final int SWT_OBJECT_INDEX2;
 	static {
-		byte [] buffer = Converter.wcsToMbcs ("SWT_OBJECT_INDEX", true); //$NON-NLS-1$
-		SWT_OBJECT_INDEX = OS.g_quark_from_string (buffer);
-		buffer = Converter.wcsToMbcs ("SWT_OBJECT_INDEX1", true); //$NON-NLS-1$
+		byte [] buffer = Converter.wcsToMbcs ("SWT_OBJECT_INDEX1", true); //$NON-NLS-1$
 		SWT_OBJECT_INDEX1 = OS.g_quark_from_string (buffer);
 		buffer = Converter.wcsToMbcs ("SWT_OBJECT_INDEX2", true); //$NON-NLS-1$
 		SWT_OBJECT_INDEX2 = OS.g_quark_from_string (buffer);
@@ -177,6 +173,36 @@ public class Display extends Device {
 	Composite[] layoutDeferred;
 	int layoutDeferredCount;
 
+	/* Scheduled Layout list */
+	boolean scheduleLayouts;
+	Shell[] layoutScheduled;
+	int layoutScheduledCount;
+	static final String SCHEDULE_LAYOUTS_KEY = "org.eclipse.swt.internal.gtk.scheduleLayouts"; //$NON-NLS-1$
+
+	/* Text extent cache statistics */
+	static final String EXTENT_CACHE_KEY = "org.eclipse.swt.internal.gtk.extentCache"; //$NON-NLS-1$
+
+	/* Text measurer that can be used off the user-interface thread */
+	static final String TEXT_MEASURER_KEY = "org.eclipse.swt.internal.gtk.textMeasurer"; //$NON-NLS-1$
+
+	/*
+	* Paint objects that are reused by the next paint. A paint takes
+	* them and puts them back when it is done, so a paint that is nested
+	* in another one allocates its own. The GC and the event are seen by
+	* paint listeners, which might keep them, and are only reused when
+	* reusePaintObjects is set.
+	*/
+	GdkRectangle paintRect;
+	GCData paintData;
+	GC paintGC;
+	Event paintEvent;
+	boolean reusePaintObjects;
+	static final String REUSE_PAINT_OBJECTS_KEY = "org.eclipse.swt.internal.gtk.reusePaintObjects"; //$NON-NLS-1$
+
+	/* Event loop monitoring */
+	EventLoopMonitor monitor;
+	static final String EVENT_LOOP_MONITOR_KEY = "org.eclipse.swt.internal.gtk.eventLoopMonitor"; //$NON-NLS-1$
+
 	/* System Tray */
 	Tray tray;
 	TrayItem currentTrayItem;
@@ -615,6 +641,19 @@ void addLayoutDeferred (Composite comp) {
 	layoutDeferred[layoutDeferredCount++] = comp;
 }
 
+void addLayoutScheduled (Shell shell) {
+	if (layoutScheduled == null) layoutScheduled = new Shell [4];
+	for (int i = 0; i < layoutScheduledCount; i++) {
+		if (layoutScheduled [i] == shell) return;
+	}
+	if (layoutScheduledCount == layoutScheduled.length) {
+		Shell [] temp = new Shell [layoutScheduled.length + 4];
+		System.arraycopy (layoutScheduled, 0, temp, 0, layoutScheduled.length);
+		layoutScheduled = temp;
+	}
+	layoutScheduled [layoutScheduledCount++] = shell;
+}
+
 void addGdkEvent (long /*int*/ event) {
 	if (gdkEvents == null) {
 		int length = GROW_SIZE;
@@ -727,25 +766,7 @@ void addSkinnableWidget (Widget widget) {
 
 void addWidget (long /*int*/ handle, Widget widget) {
 	if (handle == 0) return;
-	if (freeSlot == -1) {
-		int length = (freeSlot = indexTable.length) + GROW_SIZE;
-		int[] newIndexTable = new int[length];
-		Widget[] newWidgetTable = new Widget [length];
-		System.arraycopy (indexTable, 0, newIndexTable, 0, freeSlot);
-		System.arraycopy (widgetTable, 0, newWidgetTable, 0, freeSlot);
-		for (int i = freeSlot; i < length - 1; i++) {
-			newIndexTable[i] = i + 1;
-		}
-		newIndexTable[length - 1] = -1;
-		indexTable = newIndexTable;
-		widgetTable = newWidgetTable;
-	}
-	int index = freeSlot + 1;
-	OS.g_object_set_qdata (handle, SWT_OBJECT_INDEX, index);
-	int oldSlot = freeSlot;
-	freeSlot = indexTable[oldSlot];
-	indexTable [oldSlot] = -2;
-	widgetTable [oldSlot] = widget;
+	widgetTable.put (handle, widget);
 }
 
 /**
@@ -1681,6 +1702,21 @@ public Object getData (String key) {
 	if (key.equals (GET_EMISSION_PROC_KEY)) {
 		return new LONG (emissionProc);
 	}
+	if (key.equals (SCHEDULE_LAYOUTS_KEY)) {
+		return scheduleLayouts;
+	}
+	if (key.equals (EXTENT_CACHE_KEY)) {
+		return extentCache;
+	}
+	if (key.equals (TEXT_MEASURER_KEY)) {
+		return measurer;
+	}
+	if (key.equals (EVENT_LOOP_MONITOR_KEY)) {
+		return monitor;
+	}
+	if (key.equals (REUSE_PAINT_OBJECTS_KEY)) {
+		return reusePaintObjects;
+	}
 	if (keys == null) return null;
 	for (int i=0; i<keys.length; i++) {
 		if (keys [i].equals (key)) return values [i];
@@ -2480,8 +2516,7 @@ public Shell [] getShells () {
 	checkDevice ();
 	int index = 0;
 	Shell [] result = new Shell [16];
-	for (int i = 0; i < widgetTable.length; i++) {
-		Widget widget = widgetTable [i];
+	for (Widget widget : widgetTable) {
 		if (widget != null && widget instanceof Shell) {
 			int j = 0;
 			while (j < index) {
@@ -3171,12 +3206,12 @@ public boolean getTouchEnabled() {
 Widget getWidget (long /*int*/ handle) {
 	if (handle == 0) return null;
 	if (lastWidget != null && lastHandle == handle) return lastWidget;
-	long /*int*/ index = OS.g_object_get_qdata (handle, SWT_OBJECT_INDEX) - 1;
-	if (0 <= index && index < widgetTable.length) {
+	Widget widget = widgetTable.get (handle);
+	if (widget != null) {
 		lastHandle = handle;
-		return lastWidget = widgetTable [(int)/*64*/index];
+		lastWidget = widget;
 	}
-	return null;
+	return widget;
 }
 
 long /*int*/ idleProc (long /*int*/ data) {
@@ -3202,6 +3237,7 @@ long /*int*/ idleProc (long /*int*/ data) {
 protected void init () {
 	super.init ();
 	initializeCallbacks ();
+	initializeWakeup ();
 	initializeSubclasses ();
 	initializeSystemColors ();
 	initializeSystemSettings ();
@@ -3209,6 +3245,23 @@ protected void init () {
 	initializeWindowManager ();
 }
 
+/*
+* The user-interface thread sleeps in the poll function of the main
+* context. Other threads wake it by signalling a GCancellable whose file
+* descriptor is added to the descriptors that are polled, so sleep() can
+* wait without a timeout. The descriptor is only polled from sleep(), so
+* it does not affect main loops that are run by GTK.
+*/
+void initializeWakeup () {
+	wakeup = OS.g_cancellable_new ();
+	if (wakeup == 0) return;
+	wakeupFd = OS.g_malloc (OS.GPollFD_sizeof ());
+	if (!OS.g_cancellable_make_pollfd (wakeup, wakeupFd)) {
+		OS.g_free (wakeupFd);
+		wakeupFd = 0;
+	}
+}
+
 void initializeCallbacks () {
 	closures = new long /*int*/ [Widget.LAST_SIGNAL];
 	closuresCount = new int[Widget.LAST_SIGNAL];
@@ -3497,13 +3550,19 @@ void initializeSystemSettings () {
 	long /*int*/ settings = OS.gtk_settings_get_default ();
 	OS.g_object_get (settings, OS.gtk_entry_select_on_focus, buffer2, 0);
 	entrySelectOnFocus = buffer2 [0] != 0;
+
+	scheduleLayouts = "true".equals (System.getProperty (SCHEDULE_LAYOUTS_KEY)); //$NON-NLS-1$
+	reusePaintObjects = "true".equals (System.getProperty (REUSE_PAINT_OBJECTS_KEY)); //$NON-NLS-1$
+	String threshold = System.getProperty (EVENT_LOOP_MONITOR_KEY);
+	if (threshold != null) {
+		try {
+			setMonitor (Integer.parseInt (threshold));
+		} catch (NumberFormatException e) {}
+	}
 }
 
 void initializeWidgetTable () {
-	indexTable = new int [GROW_SIZE];
-	widgetTable = new Widget [GROW_SIZE];
-	for (int i=0; i<GROW_SIZE-1; i++) indexTable [i] = i + 1;
-	indexTable [GROW_SIZE - 1] = -1;
+	widgetTable = new LongHashMap<Widget> (GROW_SIZE);
 }
 
 void initializeWindowManager () {
@@ -4078,8 +4137,24 @@ void putGdkEvents () {
  */
 public boolean readAndDispatch () {
 	checkDevice ();
+	EventLoopMonitor monitor = this.monitor;
+	if (monitor == null) return dispatch ();
+	monitor.enterDispatch ();
+	try {
+		return dispatch ();
+	} finally {
+		monitor.exitDispatch ();
+	}
+}
+
+boolean dispatch () {
 	runSkin ();
-	runDeferredLayouts ();
+	if (monitor != null) {
+		long start = System.nanoTime ();
+		if (runDeferredLayouts ()) monitor.recordLayout (System.nanoTime () - start);
+	} else {
+		runDeferredLayouts ();
+	}
 	boolean events = false;
 	events |= runSettings ();
 	events |= runPopups ();
@@ -4163,6 +4238,7 @@ protected void release () {
 		}
 	}
 	disposeList = null;
+	setMonitor (-1);
 	synchronizer.releaseSynchronizer ();
 	synchronizer = null;
 	releaseDisplay ();
@@ -4324,18 +4400,35 @@ void releaseDisplay () {
 		pangoFontFaceNewProc = 0;
 	}
 
+	/* Release the paint objects */
+	paintRect = null;
+	paintData = null;
+	paintGC = null;
+	paintEvent = null;
+
 	/* Release the sleep resources */
 	max_priority = timeout = null;
 	if (fds != 0) OS.g_free (fds);
 	fds = 0;
+	if (wakeup != 0) {
+		long /*int*/ cancellable = wakeup;
+		wakeup = 0;
+		if (wakeupFd != 0) {
+			OS.g_cancellable_release_fd (cancellable);
+			OS.g_free (wakeupFd);
+			wakeupFd = 0;
+		}
+		OS.g_object_unref (cancellable);
+	}
 
 	/* Release references */
 	popups = null;
 	thread = null;
 	lastWidget = activeShell = null;
 	flushData = closures = null;
-	indexTable = signalIds = null;
-	widgetTable = modalShells = null;
+	signalIds = null;
+	widgetTable = null;
+	modalShells = null;
 	data = null;
 	values = keys = null;
 	windowManager = null;
@@ -4469,16 +4562,7 @@ void removePopup (Menu menu) {
 Widget removeWidget (long /*int*/ handle) {
 	if (handle == 0) return null;
 	lastWidget = null;
-	Widget widget = null;
-	int index = (int)/*64*/ OS.g_object_get_qdata (handle, SWT_OBJECT_INDEX) - 1;
-	if (0 <= index && index < widgetTable.length) {
-		widget = widgetTable [index];
-		widgetTable [index] = null;
-		indexTable [index] = freeSlot;
-		freeSlot = index;
-		OS.g_object_set_qdata (handle, SWT_OBJECT_INDEX, 0);
-	}
-	return widget;
+	return widgetTable.remove (handle);
 }
 
 boolean runAsyncMessages (boolean all) {
@@ -4524,6 +4608,7 @@ boolean runDeferredEvents () {
 }
 
 boolean runDeferredLayouts () {
+	boolean result = runScheduledLayouts ();
 	if (layoutDeferredCount != 0) {
 		Composite[] temp = layoutDeferred;
 		int count = layoutDeferredCount;
@@ -4536,7 +4621,20 @@ boolean runDeferredLayouts () {
 		update ();
 		return true;
 	}
-	return false;
+	return result;
+}
+
+boolean runScheduledLayouts () {
+	if (layoutScheduledCount == 0) return false;
+	Shell [] temp = layoutScheduled;
+	int count = layoutScheduledCount;
+	layoutScheduled = null;
+	layoutScheduledCount = 0;
+	for (int i = 0; i < count; i++) {
+		Shell shell = temp [i];
+		if (!shell.isDisposed ()) shell.runScheduledLayout ();
+	}
+	return true;
 }
 
 boolean runPopups () {
@@ -4762,6 +4860,20 @@ public void setData (String key, Object value) {
 		addIdleProc ();
 		return;
 	}
+	if (key.equals (SCHEDULE_LAYOUTS_KEY)) {
+		scheduleLayouts = Boolean.TRUE.equals (value);
+		return;
+	}
+	if (key.equals (EVENT_LOOP_MONITOR_KEY)) {
+		setMonitor (value instanceof Integer ? ((Integer) value).intValue () : -1);
+		return;
+	}
+	if (key.equals (REUSE_PAINT_OBJECTS_KEY)) {
+		reusePaintObjects = Boolean.TRUE.equals (value);
+		paintGC = null;
+		paintEvent = null;
+		return;
+	}
 	if (key.equals (REMOVE_IDLE_PROC_KEY)) {
 		removeIdleProc ();
 		return;
@@ -4878,6 +4990,19 @@ void setModalShell (Shell shell) {
 	for (int i=0; i<shells.length; i++) shells [i].updateModal ();
 }
 
+/*
+* Starts monitoring the event loop with the given long task threshold
+* in milliseconds, or stops monitoring when the threshold is negative.
+*/
+void setMonitor (int threshold) {
+	if (monitor != null) {
+		monitor.dispose ();
+		monitor = null;
+	}
+	if (threshold >= 0) monitor = new EventLoopMonitor (thread, threshold);
+	if (synchronizer != null) synchronizer.monitor = monitor;
+}
+
 /**
  * Sets the synchronizer used by the display to be
  * the argument, which can not be null.
@@ -4901,6 +5026,7 @@ public void setSynchronizer (Synchronizer synchronizer) {
 	synchronized (Device.class) {
 		oldSynchronizer = this.synchronizer;
 		this.synchronizer = synchronizer;
+		synchronizer.monitor = monitor;
 	}
 	if (oldSynchronizer != null) {
 		oldSynchronizer.moveAllEventsTo(synchronizer);
@@ -5035,6 +5161,8 @@ public boolean sleep () {
 		return false;
 	}
 	if (getMessageCount () != 0) return true;
+	EventLoopMonitor monitor = this.monitor;
+	if (monitor != null) monitor.enterSleep ();
 	sendPreExternalEventDispatchEvent ();
 	if (fds == 0) {
 		allocated_nfds = 2;
@@ -5044,31 +5172,45 @@ public boolean sleep () {
 	long /*int*/ context = OS.g_main_context_default ();
 	boolean result = false;
 	do {
+		/*
+		* Reset the wakeup descriptor before testing the wake flag so
+		* that a thread that wakes the display after the test signals
+		* the descriptor that is about to be polled.
+		*/
+		if (wakeupFd != 0) {
+			OS.g_cancellable_reset (wakeup);
+			if (wake) break;
+		}
 		if (OS.g_main_context_acquire (context)) {
 			result = OS.g_main_context_prepare (context, max_priority);
 			int nfds;
-			while ((nfds = OS.g_main_context_query (context, max_priority [0], timeout, fds, allocated_nfds)) > allocated_nfds) {
+			while ((nfds = OS.g_main_context_query (context, max_priority [0], timeout, fds, allocated_nfds - 1)) > allocated_nfds - 1) {
 				OS.g_free (fds);
-				allocated_nfds = nfds;
+				allocated_nfds = nfds + 1;
 				fds = OS.g_malloc (OS.GPollFD_sizeof() * allocated_nfds);
 			}
 			long /*int*/ poll = OS.g_main_context_get_poll_func (context);
 			if (poll != 0) {
-				if (nfds > 0 || timeout [0] != 0) {
+				int pollCount = nfds;
+				if (wakeupFd != 0) {
+					OS.memmove (fds + nfds * OS.GPollFD_sizeof (), wakeupFd, OS.GPollFD_sizeof ());
+					pollCount++;
+				} else {
 					/*
 					* Bug in GTK. For some reason, g_main_context_wakeup() may
 					* fail to wake up the UI thread from the polling function.
 					* The fix is to sleep for a maximum of 50 milliseconds.
 					*/
 					if (timeout [0] < 0) timeout [0] = 50;
-
+				}
+				if (nfds > 0 || timeout [0] != 0) {
 					/* Exit the OS lock to allow other threads to enter GTK */
 					Lock lock = OS.lock;
 					int count = lock.lock ();
 					for (int i = 0; i < count; i++) lock.unlock ();
 					try {
-						wake = false;
-						OS.Call (poll, fds, nfds, timeout [0]);
+						if (wakeupFd == 0) wake = false;
+						OS.Call (poll, fds, pollCount, timeout [0]);
 					} finally {
 						for (int i = 0; i < count; i++) lock.lock ();
 						lock.unlock ();
@@ -5081,6 +5223,7 @@ public boolean sleep () {
 	} while (!result && getMessageCount () == 0 && !wake);
 	wake = false;
 	sendPostExternalEventDispatchEvent ();
+	if (monitor != null) monitor.exitSleep ();
 	return true;
 }
 
@@ -5236,9 +5379,12 @@ void sendEvent (int eventType, Event event) {
 void sendEvent (EventTable eventTable, Event event) {
 	int type = event.type;
 	sendPreEvent (type);
+	EventLoopMonitor monitor = this.monitor;
+	long start = monitor != null ? System.nanoTime () : 0;
 	try {
 		eventTable.sendEvent (event);
 	} finally {
+		if (monitor != null) monitor.recordDispatch (type, System.nanoTime () - start);
 		sendPostEvent (type);
 	}
 }
@@ -5486,6 +5632,8 @@ public void wake () {
 void wakeThread () {
 	OS.g_main_context_wakeup (0);
 	wake = true;
+	long /*int*/ cancellable = wakeup;
+	if (cancellable != 0) OS.g_cancellable_cancel (cancellable);
 }
 
 long /*int*/ windowProc (long /*int*/ handle, long /*int*/ user_data) {
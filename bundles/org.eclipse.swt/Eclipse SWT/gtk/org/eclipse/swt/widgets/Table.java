@@ -12,6 +12,8 @@
 package org.eclipse.swt.widgets;
 
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
@@ -89,6 +91,9 @@ public class Table extends Composite {
 	int maxWidth = 0;
 	int topIndex;
 	double cachedAdjustment, currentAdjustment;
+	int updateCount, updateScrollX;
+	TableItem [] updateSelection;
+	TableItem updateFocus, updateTop;
 
 	static final int CHECKED_COLUMN = 0;
 	static final int GRAYED_COLUMN = 1;
@@ -323,6 +328,47 @@ public void addSelectionListener (SelectionListener listener) {
 	addListener (SWT.DefaultSelection, typedListener);
 }
 
+/**
+ * Starts a batch of changes to the items of the receiver. Until the
+ * matching call to <code>endUpdate()</code>, the receiver is not drawn
+ * and its model is detached from the view, so that adding, removing and
+ * changing items does not update the view once for every item.
+ * <p>
+ * The selection, focus item and scroll position are saved when the batch
+ * starts and restored when it ends, leaving out items that have been
+ * removed. They should not be queried or changed during the batch. Calls
+ * to this method may be nested; the batch ends with the outermost call
+ * to <code>endUpdate()</code>.
+ * </p>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #endUpdate()
+ *
+ * @since 3.106
+ */
+public void beginUpdate () {
+	checkWidget ();
+	if (updateCount++ != 0) return;
+	setRedraw (false);
+	updateSelection = getSelection ();
+	updateFocus = getFocusItem ();
+	updateTop = itemCount != 0 ? _getItem (getTopIndex ()) : null;
+	GdkRectangle visibleRect = new GdkRectangle ();
+	OS.gtk_tree_view_get_visible_rect (handle, visibleRect);
+	updateScrollX = visibleRect.x;
+	long /*int*/ selection = OS.gtk_tree_view_get_selection (handle);
+	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (fixAccessibility ()) {
+		ignoreAccessibility = true;
+	}
+	OS.gtk_tree_view_set_model (handle, 0);
+	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+}
+
 int calculateWidth (long /*int*/ column, long /*int*/ iter) {
 	OS.gtk_tree_view_column_cell_set_cell_data (column, modelHandle, iter, false, false);
 
@@ -362,6 +408,32 @@ int calculateWidth (long /*int*/ column, long /*int*/ iter) {
 	}
 }
 
+/*
+* Cells that only contain text have the same width when their font and
+* text are the same, so the width of texts that are repeated in a column
+* is only measured once. The widths are kept by font handle and text, and
+* are null when the cells are measured one by one.
+*/
+int calculateWidth (long /*int*/ column, TableItem item, int index, String text, LongHashMap<HashMap<String, Integer>> widths) {
+	if (widths == null) return calculateWidth (column, item.handle);
+	long /*int*/ font = item.getFont (index).handle;
+	HashMap<String, Integer> fontWidths = widths.get (font);
+	if (fontWidths == null) widths.put (font, fontWidths = new HashMap<> ());
+	Integer width = fontWidths.get (text);
+	if (width == null) fontWidths.put (text, width = calculateWidth (column, item.handle));
+	return width;
+}
+
+/*
+* Returns the widths to measure the cells of a column with, or null when
+* the application measures the items itself or when an item has an image,
+* which is decided once for the whole column.
+*/
+LongHashMap<HashMap<String, Integer>> createWidths () {
+	if (hooks (SWT.MeasureItem) || imageList != null) return null;
+	return new LongHashMap<> ();
+}
+
 /**
  * Clears the item at the given zero-relative index in the receiver.
  * The text, icon and other attributes of the item are set to the default
@@ -586,7 +658,7 @@ void createColumn (TableColumn column, int index) {
 					OS.g_free (newItem);
 				}
 			}
-			OS.gtk_tree_view_set_model (handle, newModel);
+			if (updateCount == 0) OS.gtk_tree_view_set_model (handle, newModel);
 			setModel (newModel);
 		}
 	}
@@ -1051,7 +1123,7 @@ void destroyItem (TableColumn column) {
 				OS.g_free (newItem);
 			}
 		}
-		OS.gtk_tree_view_set_model (handle, newModel);
+		if (updateCount == 0) OS.gtk_tree_view_set_model (handle, newModel);
 		setModel (newModel);
 		createColumn (null, 0);
 	} else {
@@ -1130,6 +1202,57 @@ boolean dragDetect (int x, int y, boolean filter, boolean dragOnTimeout, boolean
 }
 
 
+/**
+ * Ends a batch of changes to the items of the receiver that was started
+ * with <code>beginUpdate()</code>. When the outermost batch ends, the
+ * model is attached to the view again, the saved selection, focus item
+ * and scroll position are restored and the receiver is redrawn.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #beginUpdate()
+ *
+ * @since 3.106
+ */
+public void endUpdate () {
+	checkWidget ();
+	if (updateCount == 0 || --updateCount != 0) return;
+	long /*int*/ selection = OS.gtk_tree_view_get_selection (handle);
+	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	OS.gtk_tree_view_set_model (handle, modelHandle);
+	if (fixAccessibility ()) {
+		ignoreAccessibility = false;
+		OS.g_object_notify (handle, OS.model);
+	}
+	/*
+	* Setting the cursor also selects the row, so the focus item is
+	* restored before the selection.
+	*/
+	if (updateFocus != null && !updateFocus.isDisposed ()) {
+		long /*int*/ path = OS.gtk_tree_model_get_path (modelHandle, updateFocus.handle);
+		OS.gtk_tree_view_set_cursor (handle, path, 0, false);
+		OS.gtk_tree_path_free (path);
+	}
+	OS.gtk_tree_selection_unselect_all (selection);
+	for (int i=0; i<updateSelection.length; i++) {
+		TableItem item = updateSelection [i];
+		if (!item.isDisposed ()) OS.gtk_tree_selection_select_iter (selection, item.handle);
+	}
+	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (updateTop != null && !updateTop.isDisposed ()) {
+		setTopIndex (indexOf (updateTop));
+	}
+	if (OS.gtk_widget_get_realized (handle)) {
+		OS.gtk_tree_view_scroll_to_point (handle, updateScrollX, -1);
+	}
+	updateSelection = null;
+	updateFocus = updateTop = null;
+	setRedraw (true);
+}
+
 @Override
 long /*int*/ eventWindow () {
 	return paintWindow ();
@@ -2579,7 +2702,7 @@ public void remove (int start, int end) {
 		OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 		index--;
 	}
-	if (fixAccessibility ()) {
+	if (fixAccessibility () && updateCount == 0) {
 		ignoreAccessibility = false;
 		OS.g_object_notify (handle, OS.model);
 	}
@@ -2647,7 +2770,7 @@ public void remove (int [] indices) {
 			last = index;
 		}
 	}
-	if (fixAccessibility ()) {
+	if (fixAccessibility () && updateCount == 0) {
 		ignoreAccessibility = false;
 		OS.g_object_notify (handle, OS.model);
 	}
@@ -2678,7 +2801,7 @@ public void removeAll () {
 		ignoreAccessibility = true;
 	}
 	OS.gtk_list_store_clear (modelHandle);
-	if (fixAccessibility ()) {
+	if (fixAccessibility () && updateCount == 0) {
 		ignoreAccessibility = false;
 		OS.g_object_notify (handle, OS.model);
 	}
@@ -3547,7 +3670,7 @@ public void setItemCount (int count) {
 		for (int i=itemCount; i<count; i++) {
 			OS.gtk_list_store_append (modelHandle, iter);
 		}
-		if (fixAccessibility ()) {
+		if (fixAccessibility () && updateCount == 0) {
 			ignoreAccessibility = false;
 			OS.g_object_notify (handle, OS.model);
 		}
@@ -3561,6 +3684,99 @@ public void setItemCount (int count) {
 	if (!isVirtual) setRedraw (true);
 }
 
+/**
+ * Sets the texts of consecutive items in the receiver, starting with
+ * the item at the given zero-relative index. Each row of the array
+ * holds the texts of one item, indexed by column. A <code>null</code>
+ * text leaves the text of that cell unchanged. When the rows extend past
+ * the last item, items are added to the receiver as if by
+ * <code>setItemCount()</code>.
+ * <p>
+ * This is equivalent to calling <code>TableItem.setText(String[])</code>
+ * for every row, but writes each row to the model at once and measures
+ * the items only after all rows have been written. The rows are written
+ * in a batch, see <code>beginUpdate()</code>.
+ * </p>
+ *
+ * @param start the index of the first item to set
+ * @param rows the texts of the items
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rows are null</li>
+ *    <li>ERROR_INVALID_RANGE - if the start index is not between 0 and the number of elements in the list (inclusive)</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see TableItem#setText(String[])
+ *
+ * @since 3.106
+ */
+public void setItems (int start, String [][] rows) {
+	checkWidget ();
+	if (rows == null) error (SWT.ERROR_NULL_ARGUMENT);
+	if (!(0 <= start && start <= itemCount)) error (SWT.ERROR_INVALID_RANGE);
+	if (rows.length == 0) return;
+	beginUpdate ();
+	int count = Math.max (1, columnCount);
+	int size = OS.GValue_sizeof ();
+	long /*int*/ values = 0;
+	int initialized = 0;
+	try {
+		if (start + rows.length > itemCount) setItemCount (start + rows.length);
+		int [] modelColumns = new int [count];
+		/*
+		* The cells of a row are written with a single call to
+		* gtk_list_store_set_valuesv(), so that the row is changed
+		* in the model once instead of once for every column.
+		*/
+		values = OS.g_malloc (count * size);
+		if (values == 0) error (SWT.ERROR_NO_HANDLES);
+		OS.memmove (values, new byte [count * size], count * size);
+		for (; initialized<count; initialized++) {
+			OS.g_value_init (values + initialized * size, OS.G_TYPE_STRING ());
+		}
+		for (int i=0; i<rows.length; i++) {
+			String [] row = rows [i];
+			if (row == null) continue;
+			int length = 0;
+			for (int j=0; j<Math.min (count, row.length); j++) {
+				if (row [j] == null) continue;
+				modelColumns [length] = (columnCount == 0 ? FIRST_COLUMN : columns [j].modelIndex) + CELL_TEXT;
+				OS.g_value_set_string (values + length * size, Converter.wcsToMbcs (row [j], true));
+				length++;
+			}
+			if (length == 0) continue;
+			TableItem item = _getItem (start + i);
+			OS.gtk_list_store_set_valuesv (modelHandle, item.handle, modelColumns, values, length);
+			item.cached = true;
+		}
+		/*
+		* Bug 465056: single column Tables have a very small initial width.
+		* Fix: compute the width of the new items once, measuring each
+		* text that is repeated in the rows only once.
+		*/
+		if (columnCount == 0) {
+			long /*int*/ column = OS.gtk_tree_view_get_column (handle, 0);
+			LongHashMap<HashMap<String, Integer>> widths = createWidths ();
+			for (int i=0; i<rows.length; i++) {
+				if (rows [i] == null || rows [i].length == 0 || rows [i][0] == null) continue;
+				maxWidth = Math.max (maxWidth, calculateWidth (column, _getItem (start + i), 0, rows [i][0], widths));
+			}
+		}
+	} finally {
+		if (values != 0) {
+			for (int i=0; i<initialized; i++) {
+				OS.g_value_unset (values + i * size);
+			}
+			OS.g_free (values);
+		}
+		endUpdate ();
+	}
+}
+
 /**
  * Marks the receiver's lines as visible if the argument is <code>true</code>,
  * and marks it invisible otherwise. Note that some platforms draw grid lines
@@ -11,6 +11,8 @@
 package org.eclipse.swt.widgets;
 
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
@@ -39,6 +41,7 @@ public class TableColumn extends Item {
 	long /*int*/ labelHandle, imageHandle, buttonHandle;
 	Table parent;
 	int modelIndex, lastButton, lastTime, lastX, lastWidth;
+
 	boolean customDraw, useFixedWidth;
 	String toolTipText;
 
@@ -442,21 +445,22 @@ public void pack () {
 		}
 		width = requisition.width;
 	}
+	LongHashMap<HashMap<String, Integer>> widths = parent.createWidths ();
+	int index = parent.indexOf (this);
 	if ((parent.style & SWT.VIRTUAL) != 0) {
 		for (int i=0; i<parent.items.length; i++) {
 			TableItem item = parent.items [i];
 			if (item != null && item.cached) {
-				width = Math.max (width, parent.calculateWidth (handle, item.handle));
+				String text = widths == null ? null : item._getText (index);
+				width = Math.max (width, parent.calculateWidth (handle, item, index, text, widths));
 			}
 		}
 	} else {
-		long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
-		if (OS.gtk_tree_model_get_iter_first (parent.modelHandle, iter)) {
-			do {
-				width = Math.max (width, parent.calculateWidth (handle, iter));
-			} while (OS.gtk_tree_model_iter_next(parent.modelHandle, iter));
+		for (int i=0; i<parent.itemCount; i++) {
+			TableItem item = parent.items [i];
+			String text = widths == null ? null : item._getText (index);
+			width = Math.max (width, parent.calculateWidth (handle, item, index, text, widths));
 		}
-		OS.g_free (iter);
 	}
 	setWidthInPixels(width);
 }
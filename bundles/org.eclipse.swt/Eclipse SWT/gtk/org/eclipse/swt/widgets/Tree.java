@@ -11,6 +11,8 @@
 package org.eclipse.swt.widgets;
 
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
@@ -81,6 +83,9 @@ public class Tree extends Composite {
 	int selectionCountOnPress,selectionCountOnRelease;
 	long /*int*/ ignoreCell;
 	TreeItem[] items;
+	/* the root items, see getChildItems() */
+	TreeItem [] rootItems;
+	int rootCount, rootMisses;
 	TreeColumn [] columns;
 	TreeColumn sortColumn;
 	TreeItem currentItem;
@@ -95,7 +100,23 @@ public class Tree extends Composite {
 	int pixbufHeight, pixbufWidth;
 	TreeItem topItem;
 	double cachedAdjustment, currentAdjustment;
+	int updateCount, updateScrollX;
+	TreeItem [] updateSelection, updateExpanded;
+	TreeItem updateFocus, updateTop;
 
+	static final TreeItem [] NO_ITEMS = new TreeItem [0];
+	/*
+	* Inserting or removing a child that is farther than this from the
+	* end of its siblings discards the cached children of the parent
+	* instead of moving every sibling that follows it.
+	*/
+	static final int MAX_SHIFT = 64;
+	/*
+	* The number of children that are looked up in the model, while the
+	* cached children of their parent are discarded, before the cached
+	* children are fetched again.
+	*/
+	static final int MAX_MISSES = 8;
 	static final int ID_COLUMN = 0;
 	static final int CHECKED_COLUMN = 1;
 	static final int GRAYED_COLUMN = 2;
@@ -169,25 +190,29 @@ TreeItem _getItem (long /*int*/ iter) {
 	int depth = OS.gtk_tree_path_get_depth (path);
 	int [] indices = new int [depth];
 	OS.memmove (indices, OS.gtk_tree_path_get_indices (path), 4*depth);
-	long /*int*/ parentIter = 0;
+	TreeItem parentItem = null;
 	if (depth > 1) {
 		OS.gtk_tree_path_up (path);
-		parentIter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
+		long /*int*/ parentIter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
 		OS.gtk_tree_model_get_iter (modelHandle, parentIter, path);
+		parentItem = _getItem (parentIter);
+		OS.g_free (parentIter);
 	}
-	items [id] = new TreeItem (this, parentIter, SWT.NONE, indices [indices.length -1], false);
+	items [id] = new TreeItem (this, parentItem, SWT.NONE, indices [indices.length -1], false);
 	OS.gtk_tree_path_free (path);
-	if (parentIter != 0) OS.g_free (parentIter);
 	return items [id];
 }
 
-TreeItem _getItem (long /*int*/ parentIter, int index) {
+TreeItem _getItem (TreeItem parentItem, int index) {
+	TreeItem [] children = parentItem != null ? parentItem.childItems : rootItems;
+	if (children == null && childMissed (parentItem)) children = getChildItems (parentItem);
+	if (children != null && children [index] != null) return children [index];
 	long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
-	OS.gtk_tree_model_iter_nth_child(modelHandle, iter, parentIter, index);
+	OS.gtk_tree_model_iter_nth_child(modelHandle, iter, parentItem != null ? parentItem.handle : 0, index);
 	int id = getId (iter, true);
 	OS.g_free (iter);
 	if (items [id] != null) return items [id];
-	return items [id] = new TreeItem (this, parentIter, SWT.NONE, index, false);
+	return items [id] = new TreeItem (this, parentItem, SWT.NONE, index, false);
 }
 
 int getId (long /*int*/ iter, boolean queryModel) {
@@ -367,6 +392,50 @@ public void addSelectionListener (SelectionListener listener) {
 	addListener (SWT.DefaultSelection, typedListener);
 }
 
+/**
+ * Starts a batch of changes to the items of the receiver. Until the
+ * matching call to <code>endUpdate()</code>, the receiver is not drawn
+ * and its model is detached from the view, so that adding, removing and
+ * changing items does not update the view once for every item.
+ * <p>
+ * The selection, focus item, expanded items and scroll position are
+ * saved when the batch starts and restored when it ends, leaving out
+ * items that have been removed. They should not be queried or changed
+ * during the batch. Calls to this method may be nested; the batch ends
+ * with the outermost call to <code>endUpdate()</code>.
+ * </p>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #endUpdate()
+ *
+ * @since 3.106
+ */
+public void beginUpdate () {
+	checkWidget ();
+	if (updateCount++ != 0) return;
+	setRedraw (false);
+	updateSelection = getSelection ();
+	updateFocus = getFocusItem ();
+	updateTop = getTopItem ();
+	ArrayList<TreeItem> expanded = new ArrayList<> ();
+	getExpandedItems (0, expanded);
+	updateExpanded = expanded.toArray (new TreeItem [expanded.size ()]);
+	GdkRectangle visibleRect = new GdkRectangle ();
+	OS.gtk_tree_view_get_visible_rect (handle, visibleRect);
+	updateScrollX = visibleRect.x;
+	long /*int*/ selection = OS.gtk_tree_view_get_selection (handle);
+	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (fixAccessibility ()) {
+		ignoreAccessibility = true;
+	}
+	OS.gtk_tree_view_set_model (handle, 0);
+	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+}
+
 /**
  * Adds the listener to the collection of listeners who will
  * be notified when an item in the receiver is expanded or collapsed
@@ -680,7 +749,7 @@ void createColumn (TreeColumn column, int index) {
 			long /*int*/ newModel = OS.gtk_tree_store_newv (types.length, types);
 			if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
 			copyModel (oldModel, FIRST_COLUMN, newModel, FIRST_COLUMN, types, (long /*int*/)0, (long /*int*/)0, modelLength);
-			OS.gtk_tree_view_set_model (handle, newModel);
+			if (updateCount == 0) OS.gtk_tree_view_set_model (handle, newModel);
 			setModel (newModel);
 		}
 	}
@@ -834,8 +903,9 @@ void createItem (TreeColumn column, int index) {
 	}
 }
 
-void createItem (TreeItem item, long /*int*/ parentIter, int index) {
-	int count = OS.gtk_tree_model_iter_n_children (modelHandle, parentIter);
+void createItem (TreeItem item, TreeItem parentItem, int index) {
+	long /*int*/ parentIter = parentItem != null ? parentItem.handle : 0;
+	int count = getChildCount (parentItem);
 	if (index == -1) index = count;
 	if (!(0 <= index && index <= count)) error (SWT.ERROR_INVALID_RANGE);
 	item.handle = OS.g_malloc (OS.GtkTreeIter_sizeof ());
@@ -851,6 +921,9 @@ void createItem (TreeItem item, long /*int*/ parentIter, int index) {
 	}
 	int id = getId (item.handle, false);
 	items [id] = item;
+	item.childItems = NO_ITEMS;
+	item.childCount = 0;
+	childInserted (parentItem, index, item);
 	modelChanged = true;
 }
 
@@ -959,6 +1032,8 @@ void createRenderers (long /*int*/ columnHandle, int modelIndex, boolean check,
 void createWidget (int index) {
 	super.createWidget (index);
 	items = new TreeItem [4];
+	rootItems = NO_ITEMS;
+	rootCount = 0;
 	columns = new TreeColumn [4];
 	columnCount = 0;
 	// In GTK 3 font description is inherited from parent widget which is not how SWT has always worked,
@@ -1051,7 +1126,7 @@ void destroyItem (TreeColumn column) {
 		long /*int*/ newModel = OS.gtk_tree_store_newv (types.length, types);
 		if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
 		copyModel(oldModel, column.modelIndex, newModel, FIRST_COLUMN, types, (long /*int*/)0, (long /*int*/)0, FIRST_COLUMN + CELL_TYPES);
-		OS.gtk_tree_view_set_model (handle, newModel);
+		if (updateCount == 0) OS.gtk_tree_view_set_model (handle, newModel);
 		setModel (newModel);
 		createColumn (null, 0);
 	} else {
@@ -1098,10 +1173,12 @@ void destroyItem (TreeColumn column) {
 
 
 void destroyItem (TreeItem item) {
+	int index = getChildIndex (item);
 	long /*int*/ selection = OS.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	OS.gtk_tree_store_remove (modelHandle, item.handle);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	childRemoved (item.parentItem, index);
 	modelChanged = true;
 }
 
@@ -1126,6 +1203,68 @@ boolean dragDetect (int x, int y, boolean filter, boolean dragOnTimeout, boolean
 }
 
 
+/**
+ * Ends a batch of changes to the items of the receiver that was started
+ * with <code>beginUpdate()</code>. When the outermost batch ends, the
+ * model is attached to the view again, the saved expanded items,
+ * selection, focus item and scroll position are restored and the
+ * receiver is redrawn.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #beginUpdate()
+ *
+ * @since 3.106
+ */
+public void endUpdate () {
+	checkWidget ();
+	if (updateCount == 0 || --updateCount != 0) return;
+	long /*int*/ selection = OS.gtk_tree_view_get_selection (handle);
+	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	OS.gtk_tree_view_set_model (handle, modelHandle);
+	if (fixAccessibility ()) {
+		ignoreAccessibility = false;
+		OS.g_object_notify (handle, OS.model);
+	}
+	/* The expanded items are saved with parents before their children */
+	OS.g_signal_handlers_block_matched (handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_EXPAND_ROW);
+	for (int i=0; i<updateExpanded.length; i++) {
+		TreeItem item = updateExpanded [i];
+		if (item.isDisposed ()) continue;
+		long /*int*/ path = OS.gtk_tree_model_get_path (modelHandle, item.handle);
+		OS.gtk_tree_view_expand_row (handle, path, false);
+		OS.gtk_tree_path_free (path);
+	}
+	OS.g_signal_handlers_unblock_matched (handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_EXPAND_ROW);
+	/*
+	* Setting the cursor also selects the row, so the focus item is
+	* restored before the selection.
+	*/
+	if (updateFocus != null && !updateFocus.isDisposed ()) {
+		long /*int*/ path = OS.gtk_tree_model_get_path (modelHandle, updateFocus.handle);
+		OS.gtk_tree_view_set_cursor (handle, path, 0, false);
+		OS.gtk_tree_path_free (path);
+	}
+	OS.gtk_tree_selection_unselect_all (selection);
+	for (int i=0; i<updateSelection.length; i++) {
+		TreeItem item = updateSelection [i];
+		if (!item.isDisposed ()) OS.gtk_tree_selection_select_iter (selection, item.handle);
+	}
+	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (updateTop != null && !updateTop.isDisposed ()) {
+		setTopItem (updateTop);
+	}
+	if (OS.gtk_widget_get_realized (handle)) {
+		OS.gtk_tree_view_scroll_to_point (handle, updateScrollX, -1);
+	}
+	updateSelection = updateExpanded = null;
+	updateFocus = updateTop = null;
+	setRedraw (true);
+}
+
 @Override
 long /*int*/ eventWindow () {
 	return paintWindow ();
@@ -1386,6 +1525,27 @@ GdkColor getContextBackground () {
 	}
 }
 
+/*
+* Adds the expanded items below the parent to the list, parents before
+* their children. The children of collapsed rows are not visited.
+*/
+void getExpandedItems (long /*int*/ parentIter, ArrayList<TreeItem> expanded) {
+	long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
+	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
+	boolean valid = OS.gtk_tree_model_iter_children (modelHandle, iter, parentIter);
+	while (valid) {
+		long /*int*/ path = OS.gtk_tree_model_get_path (modelHandle, iter);
+		boolean isExpanded = OS.gtk_tree_view_row_expanded (handle, path);
+		OS.gtk_tree_path_free (path);
+		if (isExpanded) {
+			expanded.add (_getItem (iter));
+			getExpandedItems (iter, expanded);
+		}
+		valid = OS.gtk_tree_model_iter_next (modelHandle, iter);
+	}
+	OS.g_free (iter);
+}
+
 TreeItem getFocusItem () {
 	long /*int*/ [] path = new long /*int*/ [1];
 	OS.gtk_tree_view_get_cursor (handle, path, null);
@@ -1514,10 +1674,10 @@ public boolean getHeaderVisible () {
  */
 public TreeItem getItem (int index) {
 	checkWidget();
-	if (!(0 <= index && index < OS.gtk_tree_model_iter_n_children (modelHandle, 0)))  {
+	if (!(0 <= index && index < rootCount))  {
 		error (SWT.ERROR_INVALID_RANGE);
 	}
-	return _getItem (0, index);
+	return _getItem (null, index);
 }
 
 /**
@@ -1599,7 +1759,7 @@ TreeItem getItemInPixels (Point point) {
  */
 public int getItemCount () {
 	checkWidget ();
-	return OS.gtk_tree_model_iter_n_children (modelHandle, 0);
+	return rootCount;
 }
 
 /**
@@ -1670,30 +1830,163 @@ int getItemHeightInPixels () {
  */
 public TreeItem [] getItems () {
 	checkWidget();
-	return getItems (0);
+	return getItems (null);
 }
 
-TreeItem [] getItems (long /*int*/ parent) {
-	int length = OS.gtk_tree_model_iter_n_children (modelHandle, parent);
+TreeItem [] getItems (TreeItem parentItem) {
+	int length = getChildCount (parentItem);
 	TreeItem[] result = new TreeItem [length];
 	if (length == 0) return result;
-	if ((style & SWT.VIRTUAL) != 0) {
-		for (int i=0; i<length; i++) {
-			result [i] = _getItem (parent, i);
+	TreeItem [] children = getChildItems (parentItem);
+	for (int i=0; i<length; i++) {
+		result [i] = children [i] != null ? children [i] : _getItem (parentItem, i);
+	}
+	return result;
+}
+
+/*
+* The children of the items and the root items of the receiver are
+* cached in Java, so that finding the index, the parent or a child of
+* an item does not query the model. The number of children is always
+* kept up to date. The cached items are dropped when a child is inserted
+* or removed far from the end of its siblings. They are fetched from the
+* model again when all children are requested, or after MAX_MISSES single
+* children have been looked up in the model without a child being inserted
+* or removed in between, so that inserting at the front and getting an item
+* in turn does not fetch every sibling each time. A row of a virtual tree
+* that has no item yet has a null entry.
+*/
+TreeItem [] getChildItems (TreeItem parentItem) {
+	TreeItem [] children = parentItem != null ? parentItem.childItems : rootItems;
+	if (children != null) return children;
+	int count = getChildCount (parentItem);
+	children = new TreeItem [count];
+	int i = 0;
+	int[] index = new int [1];
+	long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
+	boolean valid = OS.gtk_tree_model_iter_children (modelHandle, iter, parentItem != null ? parentItem.handle : 0);
+	while (valid && i < count) {
+		OS.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
+		TreeItem item = index [0] != -1 ? items [index [0]] : null;
+		if (item != null) item.index = i;
+		children [i++] = item;
+		valid = OS.gtk_tree_model_iter_next (modelHandle, iter);
+	}
+	OS.g_free (iter);
+	if (parentItem != null) {
+		parentItem.childItems = children;
+	} else {
+		rootItems = children;
+	}
+	return children;
+}
+
+/*
+* Records that a child of the parent is looked up in the model because
+* the cached children have been dropped, and returns whether they should
+* be fetched again.
+*/
+boolean childMissed (TreeItem parentItem) {
+	int misses = parentItem != null ? ++parentItem.childMisses : ++rootMisses;
+	if (misses < MAX_MISSES) return false;
+	if (parentItem != null) {
+		parentItem.childMisses = 0;
+	} else {
+		rootMisses = 0;
+	}
+	return true;
+}
+
+int getChildCount (TreeItem parentItem) {
+	if (parentItem == null) return rootCount;
+	if (parentItem.childCount == -1) {
+		parentItem.childCount = OS.gtk_tree_model_iter_n_children (modelHandle, parentItem.handle);
+	}
+	return parentItem.childCount;
+}
+
+int getChildIndex (TreeItem item) {
+	TreeItem parentItem = item.parentItem;
+	TreeItem [] children = parentItem != null ? parentItem.childItems : rootItems;
+	if (children == null && childMissed (parentItem)) children = getChildItems (parentItem);
+	int index = item.index;
+	if (children != null && index < children.length && children [index] == item) return index;
+	long /*int*/ path = OS.gtk_tree_model_get_path (modelHandle, item.handle);
+	int depth = OS.gtk_tree_path_get_depth (path);
+	int [] indices = new int [depth];
+	OS.memmove (indices, OS.gtk_tree_path_get_indices (path), 4 * depth);
+	OS.gtk_tree_path_free (path);
+	return item.index = indices [depth - 1];
+}
+
+/*
+* Records that a row has been inserted in the model. The item is null
+* when the row of a virtual tree is inserted without an item.
+*/
+void childInserted (TreeItem parentItem, int index, TreeItem item) {
+	int count = getChildCount (parentItem);
+	TreeItem [] children = parentItem != null ? parentItem.childItems : rootItems;
+	if (children != null) {
+		if (count - index <= MAX_SHIFT) {
+			if (count == children.length) {
+				TreeItem [] newChildren = new TreeItem [Math.max (4, count * 3 / 2)];
+				System.arraycopy (children, 0, newChildren, 0, count);
+				children = newChildren;
+			}
+			System.arraycopy (children, index, children, index + 1, count - index);
+			children [index] = item;
+			for (int i=index + 1; i<=count; i++) {
+				if (children [i] != null) children [i].index = i;
+			}
+		} else {
+			children = null;
 		}
+	}
+	if (item != null) {
+		item.parentItem = parentItem;
+		item.index = index;
+	}
+	if (parentItem != null) {
+		parentItem.childItems = children;
+		parentItem.childCount = count + 1;
+		parentItem.childMisses = 0;
 	} else {
-		int i = 0;
-		int[] index = new int [1];
-		long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
-		boolean valid = OS.gtk_tree_model_iter_children (modelHandle, iter, parent);
-		while (valid) {
-			OS.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
-			result [i++] = items [index [0]];
-			valid = OS.gtk_tree_model_iter_next (modelHandle, iter);
+		rootItems = children;
+		rootCount = count + 1;
+		rootMisses = 0;
+	}
+}
+
+void childRemoved (TreeItem parentItem, int index) {
+	int count = getChildCount (parentItem);
+	TreeItem [] children = parentItem != null ? parentItem.childItems : rootItems;
+	if (children != null) {
+		if (count - index <= MAX_SHIFT) {
+			System.arraycopy (children, index + 1, children, index, count - index - 1);
+			children [count - 1] = null;
+			for (int i=index; i<count - 1; i++) {
+				if (children [i] != null) children [i].index = i;
+			}
+		} else {
+			children = null;
 		}
-		OS.g_free (iter);
 	}
-	return result;
+	if (parentItem != null) {
+		parentItem.childItems = children;
+		parentItem.childCount = count - 1;
+		parentItem.childMisses = 0;
+	} else {
+		rootItems = children;
+		rootCount = count - 1;
+		rootMisses = 0;
+	}
+}
+
+void childCreated (TreeItem parentItem, int index, TreeItem item) {
+	TreeItem [] children = parentItem != null ? parentItem.childItems : rootItems;
+	if (children != null) children [index] = item;
+	item.parentItem = parentItem;
+	item.index = index;
 }
 
 /**
@@ -2495,19 +2788,8 @@ public int indexOf (TreeItem item) {
 	checkWidget();
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
 	if (item.isDisposed()) error (SWT.ERROR_INVALID_ARGUMENT);
-	int index = -1;
-	long /*int*/ path = OS.gtk_tree_model_get_path (modelHandle, item.handle);
-	int depth = OS.gtk_tree_path_get_depth (path);
-	if (depth == 1) {
-		long /*int*/ indices = OS.gtk_tree_path_get_indices (path);
-		if (indices != 0) {
-			int[] temp = new int[1];
-			OS.memmove (temp, indices, 4);
-			index = temp[0];
-		}
-	}
-	OS.gtk_tree_path_free (path);
-	return index;
+	if (item.parent != this || item.parentItem != null) return -1;
+	return getChildIndex (item);
 }
 
 @Override
@@ -2611,6 +2893,7 @@ void releaseChildren (boolean destroy) {
 		}
 		items = null;
 	}
+	rootItems = null;
 	if (columns != null) {
 		for (int i=0; i<columnCount; i++) {
 			TreeColumn column = columns [i];
@@ -2636,9 +2919,10 @@ void releaseWidget () {
 	currentItem = null;
 }
 
-void remove (long /*int*/ parentIter, int start, int end) {
+void remove (TreeItem parentItem, int start, int end) {
 	if (start > end) return;
-	int itemCount = OS.gtk_tree_model_iter_n_children (modelHandle, parentIter);
+	long /*int*/ parentIter = parentItem != null ? parentItem.handle : 0;
+	int itemCount = getChildCount (parentItem);
 	if (!(0 <= start && start <= end && end < itemCount)) {
 		error (SWT.ERROR_INVALID_RANGE);
 	}
@@ -2659,9 +2943,10 @@ void remove (long /*int*/ parentIter, int start, int end) {
 			OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 			OS.gtk_tree_store_remove (modelHandle, iter);
 			OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+			childRemoved (parentItem, start);
 		}
 	}
-	if (fixAccessibility ()) {
+	if (fixAccessibility () && updateCount == 0) {
 		ignoreAccessibility = false;
 		OS.g_object_notify (handle, OS.model);
 	}
@@ -2683,6 +2968,8 @@ public void removeAll () {
 		if (item != null && !item.isDisposed ()) item.release (false);
 	}
 	items = new TreeItem[4];
+	rootItems = NO_ITEMS;
+	rootCount = 0;
 	long /*int*/ selection = OS.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	if (fixAccessibility ()) {
@@ -2693,10 +2980,10 @@ public void removeAll () {
 	 * and this causes AAIOB in getId as items are already cleared but the model is not yet.
 	 * By disconnecting the model from the handle while clearing no intermediate signals are emitted.
 	 */
-	OS.gtk_tree_view_set_model(handle, 0);
+	if (updateCount == 0) OS.gtk_tree_view_set_model(handle, 0);
 	OS.gtk_tree_store_clear (modelHandle);
-	OS.gtk_tree_view_set_model(handle, modelHandle);
-	if (fixAccessibility ()) {
+	if (updateCount == 0) OS.gtk_tree_view_set_model(handle, modelHandle);
+	if (fixAccessibility () && updateCount == 0) {
 		ignoreAccessibility = false;
 		OS.g_object_notify (handle, OS.model);
 	}
@@ -3167,12 +3454,13 @@ public void setInsertMark (TreeItem item, boolean before) {
 	OS.gtk_tree_path_free (path [0]);
 }
 
-void setItemCount (long /*int*/ parentIter, int count) {
-	int itemCount = OS.gtk_tree_model_iter_n_children (modelHandle, parentIter);
+void setItemCount (TreeItem parentItem, int count) {
+	long /*int*/ parentIter = parentItem != null ? parentItem.handle : 0;
+	int itemCount = getChildCount (parentItem);
 	if (count == itemCount) return;
 	boolean isVirtual = (style & SWT.VIRTUAL) != 0;
 	if (!isVirtual) setRedraw (false);
-	remove (parentIter, count, itemCount - 1);
+	remove (parentItem, count, itemCount - 1);
 	if (isVirtual) {
 		if (fixAccessibility ()) {
 			ignoreAccessibility = true;
@@ -3183,14 +3471,15 @@ void setItemCount (long /*int*/ parentIter, int count) {
 			OS.gtk_tree_store_append (modelHandle, iter, parentIter);
 			OS.gtk_tree_store_set (modelHandle, iter, ID_COLUMN, -1, -1);
 			OS.g_free (iter);
+			childInserted (parentItem, i, null);
 		}
-		if (fixAccessibility ()) {
+		if (fixAccessibility () && updateCount == 0) {
 			ignoreAccessibility = false;
 			OS.g_object_notify (handle, OS.model);
 		}
 	} else {
 		for (int i=itemCount; i<count; i++) {
-			new TreeItem (this, parentIter, SWT.NONE, i, true);
+			new TreeItem (this, parentItem, SWT.NONE, i, true);
 		}
 	}
 	if (!isVirtual) setRedraw (true);
@@ -3212,7 +3501,7 @@ void setItemCount (long /*int*/ parentIter, int count) {
 public void setItemCount (int count) {
 	checkWidget ();
 	count = Math.max (0, count);
-	setItemCount (0, count);
+	setItemCount (null, count);
 }
 
 /**
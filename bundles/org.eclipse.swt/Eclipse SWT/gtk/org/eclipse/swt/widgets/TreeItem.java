@@ -36,6 +36,10 @@ import org.eclipse.swt.internal.gtk.*;
  */
 public class TreeItem extends Item {
 	Tree parent;
+	/* the parent item, the index in it and the children, see Tree.getChildItems() */
+	TreeItem parentItem;
+	TreeItem [] childItems;
+	int childCount = -1, childMisses, index;
 	Font font;
 	Font[] cellFont;
 	boolean cached, grayed, isExpanded;
@@ -73,7 +77,7 @@ public class TreeItem extends Item {
  * @see Widget#getStyle
  */
 public TreeItem (Tree parent, int style) {
-	this (checkNull (parent), 0, style, -1, true);
+	this (checkNull (parent), null, style, -1, true);
 }
 
 /**
@@ -109,7 +113,7 @@ public TreeItem (Tree parent, int style) {
  * @see Widget#getStyle
  */
 public TreeItem (Tree parent, int style, int index) {
-	this (checkNull (parent), 0, style, checkIndex (index), true);
+	this (checkNull (parent), null, style, checkIndex (index), true);
 }
 
 /**
@@ -143,7 +147,7 @@ public TreeItem (Tree parent, int style, int index) {
  * @see Widget#getStyle
  */
 public TreeItem (TreeItem parentItem, int style) {
-	this (checkNull (parentItem).parent, parentItem.handle, style, -1, true);
+	this (checkNull (parentItem).parent, parentItem, style, -1, true);
 }
 
 /**
@@ -179,17 +183,18 @@ public TreeItem (TreeItem parentItem, int style) {
  * @see Widget#getStyle
  */
 public TreeItem (TreeItem parentItem, int style, int index) {
-	this (checkNull (parentItem).parent, parentItem.handle, style, checkIndex (index), true);
+	this (checkNull (parentItem).parent, parentItem, style, checkIndex (index), true);
 }
 
-TreeItem (Tree parent, long /*int*/ parentIter, int style, int index, boolean create) {
+TreeItem (Tree parent, TreeItem parentItem, int style, int index, boolean create) {
 	super (parent, style);
 	this.parent = parent;
 	if (create) {
-		parent.createItem (this, parentIter, index);
+		parent.createItem (this, parentItem, index);
 	} else {
 		handle = OS.g_malloc (OS.GtkTreeIter_sizeof ());
-		OS.gtk_tree_model_iter_nth_child (parent.modelHandle, handle, parentIter, index);
+		OS.gtk_tree_model_iter_nth_child (parent.modelHandle, handle, parentItem != null ? parentItem.handle : 0, index);
+		parent.childCreated (parentItem, index, this);
 	}
 }
 
@@ -783,7 +788,7 @@ Rectangle getImageBoundsInPixels (int index) {
 public int getItemCount () {
 	checkWidget();
 	if (!parent.checkData (this)) error (SWT.ERROR_WIDGET_DISPOSED);
-	return OS.gtk_tree_model_iter_n_children (parent.modelHandle, handle);
+	return parent.getChildCount (this);
 }
 
 /**
@@ -807,9 +812,8 @@ public TreeItem getItem (int index) {
 	checkWidget();
 	if (index < 0) error (SWT.ERROR_INVALID_RANGE);
 	if (!parent.checkData (this)) error (SWT.ERROR_WIDGET_DISPOSED);
-	int itemCount = OS.gtk_tree_model_iter_n_children (parent.modelHandle, handle);
-	if (index >= itemCount)  error (SWT.ERROR_INVALID_RANGE);
-	return  parent._getItem (handle, index);
+	if (index >= parent.getChildCount (this))  error (SWT.ERROR_INVALID_RANGE);
+	return  parent._getItem (this, index);
 }
 
 /**
@@ -831,7 +835,7 @@ public TreeItem getItem (int index) {
 public TreeItem [] getItems () {
 	checkWidget();
 	if (!parent.checkData (this)) error (SWT.ERROR_WIDGET_DISPOSED);
-	return parent.getItems (handle);
+	return parent.getItems (this);
 }
 
 @Override
@@ -871,19 +875,7 @@ public Tree getParent () {
  */
 public TreeItem getParentItem () {
 	checkWidget();
-	long /*int*/ path = OS.gtk_tree_model_get_path (parent.modelHandle, handle);
-	TreeItem item = null;
-	int depth = OS.gtk_tree_path_get_depth (path);
-	if (depth > 1) {
-		OS.gtk_tree_path_up (path);
-		long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
-		if (OS.gtk_tree_model_get_iter (parent.modelHandle, iter, path)) {
-			item = parent._getItem (iter);
-		}
-		OS.g_free (iter);
-	}
-	OS.gtk_tree_path_free (path);
-	return item;
+	return parentItem;
 }
 
 @Override
@@ -1029,28 +1021,8 @@ public int indexOf (TreeItem item) {
 	checkWidget();
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
 	if (item.isDisposed()) error (SWT.ERROR_INVALID_ARGUMENT);
-	int index = -1;
-	boolean isParent = false;
-	long /*int*/ currentPath = OS.gtk_tree_model_get_path (parent.modelHandle, handle);
-	long /*int*/ parentPath = OS.gtk_tree_model_get_path (parent.modelHandle, item.handle);
-	int depth = OS.gtk_tree_path_get_depth (parentPath);
-	if (depth > 1 && OS.gtk_tree_path_up(parentPath)) {
-		if (OS.gtk_tree_path_compare(currentPath, parentPath) == 0) isParent = true;
-	}
-	OS.gtk_tree_path_free (currentPath);
-	OS.gtk_tree_path_free (parentPath);
-	if (!isParent) return index;
-	long /*int*/ path = OS.gtk_tree_model_get_path (parent.modelHandle, item.handle);
-	if (depth > 1) {
-		long /*int*/ indices = OS.gtk_tree_path_get_indices (path);
-		if (indices != 0) {
-			int[] temp = new int[depth];
-			OS.memmove (temp, indices, 4 * temp.length);
-			index = temp[temp.length - 1];
-		}
-	}
-	OS.gtk_tree_path_free (path);
-	return index;
+	if (item.parentItem != this) return -1;
+	return parent.getChildIndex (item);
 }
 
 @Override
@@ -1067,6 +1039,8 @@ void releaseHandle () {
 	handle = 0;
 	super.releaseHandle ();
 	parent = null;
+	parentItem = null;
+	childItems = null;
 }
 
 @Override
@@ -1089,7 +1063,7 @@ void releaseWidget () {
 public void removeAll () {
 	checkWidget ();
 	long /*int*/ modelHandle = parent.modelHandle;
-	int length = OS.gtk_tree_model_iter_n_children (modelHandle, handle);
+	int length = parent.getChildCount (this);
 	if (length == 0) return;
 	long /*int*/ iter = OS.g_malloc (OS.GtkTreeIter_sizeof ());
 	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
@@ -1107,9 +1081,10 @@ public void removeAll () {
 			OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 			OS.gtk_tree_store_remove (modelHandle, iter);
 			OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+			parent.childRemoved (this, 0);
 		}
 	}
-	if (parent.fixAccessibility ()) {
+	if (parent.fixAccessibility () && parent.updateCount == 0) {
 		parent.ignoreAccessibility = false;
 		OS.g_object_notify (parent.handle, OS.model);
 	}
@@ -1631,7 +1606,7 @@ public void setImage (Image [] images) {
 public void setItemCount (int count) {
 	checkWidget ();
 	count = Math.max (0, count);
-	parent.setItemCount (handle, count);
+	parent.setItemCount (this, count);
 }
 
 /**
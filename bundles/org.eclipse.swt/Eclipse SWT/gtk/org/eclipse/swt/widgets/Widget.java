@@ -102,6 +102,9 @@ public abstract class Widget {
 	/* Should sub-windows be checked when EnterNotify received */
 	static final int CHECK_SUBWINDOW = 1<<25;
 
+	/* A scheduled layout pass must visit this widget hierarchy */
+	static final int LAYOUT_SCHEDULED = 1<<26;
+
 	/* Bidi "auto" text direction */
 	static final int HAS_AUTO_DIRECTION = 0;
 
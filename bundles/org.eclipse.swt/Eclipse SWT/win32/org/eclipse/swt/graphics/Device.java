@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
 package org.eclipse.swt.graphics;
 
 
+import java.util.concurrent.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.gdip.*;
@@ -33,6 +35,7 @@ public abstract class Device implements Drawable {
 	Error [] errors;
 	Object [] objects;
 	Object trackingLock;
+	int trackingSampleRate = 1, trackingCount;
 
 	/**
 	 * Palette
@@ -52,6 +55,10 @@ public abstract class Device implements Drawable {
 	/* System Font */
 	Font systemFont;
 
+	/* Shared colors and fonts, see getColor(RGB) and getFont(FontData) */
+	ConcurrentHashMap<RGB, Color> sharedColors = new ConcurrentHashMap<> ();
+	ConcurrentHashMap<String, Font> sharedFonts = new ConcurrentHashMap<> ();
+
 	/* Font Enumeration */
 	int nFonts = 256;
 	LOGFONT [] logFonts;
@@ -131,6 +138,7 @@ public Device(DeviceData data) {
 		if (data != null) {
 			debug = data.debug;
 			tracking = data.tracking;
+			if (data.trackingSampleRate > 1) trackingSampleRate = data.trackingSampleRate;
 		}
 		if (tracking) {
 			errors = new Error [128];
@@ -397,6 +405,7 @@ public DeviceData getDeviceData () {
 	DeviceData data = new DeviceData ();
 	data.debug = debug;
 	data.tracking = tracking;
+	data.trackingSampleRate = trackingSampleRate;
 	if (tracking) {
 		synchronized (trackingLock) {
 			int count = 0, length = objects.length;
@@ -421,6 +430,35 @@ public DeviceData getDeviceData () {
 	return data;
 }
 
+/**
+ * Returns a text report of the graphics objects that are tracked by the
+ * receiver and not yet disposed. The report counts the objects by type,
+ * and by type and allocation site for the objects whose stack was sampled.
+ * The allocation site is the first caller outside of the graphics package.
+ * <p>
+ * Objects are only tracked when the receiver was created with a
+ * <code>DeviceData</code> whose <code>tracking</code> field is
+ * <code>true</code>. Otherwise, the report is empty.
+ * </p>
+ *
+ * @return the report of the live graphics objects
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see DeviceData#tracking
+ * @see DeviceData#trackingSampleRate
+ *
+ * @since 3.106
+ */
+public String getTrackingReport () {
+	checkDevice ();
+	if (!tracking) return "";
+	DeviceData data = getDeviceData ();
+	return TrackingReport.getReport (data.objects, data.errors, trackingSampleRate);
+}
+
 /**
  * Returns a rectangle which describes the area of the
  * receiver which is capable of displaying data.
@@ -437,6 +475,42 @@ public Rectangle getClientArea () {
 	return getBounds ();
 }
 
+/**
+ * Returns a color with the given RGB values that is shared by
+ * every caller that asks the receiver for the same values, instead
+ * of creating a new color for each of them.
+ * <p>
+ * The color is reference counted. Every call to this method must be
+ * balanced by one call to <code>releaseColor(Color)</code>, which disposes
+ * the color when it is no longer used by any caller. Calling
+ * <code>dispose()</code> on a shared color has no effect.
+ * </p>
+ *
+ * @param rgb the RGB values of the color
+ * @return the shared color
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rgb argument is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the red, green or blue components of the argument are not between 0 and 255</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #releaseColor(Color)
+ *
+ * @since 3.106
+ */
+public Color getColor (RGB rgb) {
+	checkDevice ();
+	if (rgb == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedColors.compute (new RGB (rgb.red, rgb.green, rgb.blue), (key, color) -> {
+		if (color == null) color = new Color (this, key);
+		color.sharedCount++;
+		return color;
+	});
+}
+
 /**
  * Returns the bit depth of the screen, which is the number of
  * bits it takes to represent the number of unique colors that
@@ -478,6 +552,47 @@ public Point getDPI () {
 	return DPIUtil.autoScaleDown(new Point (dpiX, dpiY));
 }
 
+/**
+ * Returns a font described by the given font data that is shared by
+ * every caller that asks the receiver for the same font data, instead
+ * of creating a new font for each of them.
+ * <p>
+ * The font is reference counted. Every call to this method must be
+ * balanced by one call to <code>releaseFont(Font)</code>, which disposes
+ * the font when it is no longer used by any caller. Calling
+ * <code>dispose()</code> on a shared font has no effect.
+ * </p>
+ *
+ * @param fd the FontData that describes the desired font
+ * @return the shared font
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the fd argument is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if a font could not be created from the given font data</li>
+ * </ul>
+ *
+ * @see #releaseFont(Font)
+ *
+ * @since 3.106
+ */
+public Font getFont (FontData fd) {
+	checkDevice ();
+	if (fd == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedFonts.compute (fd.toString (), (key, font) -> {
+		if (font == null) {
+			font = new Font (this, fd);
+			font.sharedKey = key;
+		}
+		font.sharedCount++;
+		return font;
+	});
+}
+
 /**
  * Returns DPI in x direction. In the modern monitors DPI for
  * X and Y directions is same.
@@ -875,11 +990,19 @@ public boolean loadFont (String path) {
 }
 
 void new_Object (Object object) {
+	boolean sample = trackingSampleRate <= 1;
+	if (!sample) {
+		synchronized (trackingLock) {
+			sample = trackingCount++ % trackingSampleRate == 0;
+		}
+	}
+	/* Capture the stack outside of the lock, it is the expensive part */
+	Error error = sample ? new Error () : null;
 	synchronized (trackingLock) {
 		for (int i=0; i<objects.length; i++) {
 			if (objects [i] == null) {
 				objects [i] = object;
-				errors [i] = new Error ();
+				errors [i] = error;
 				return;
 			}
 		}
@@ -889,7 +1012,7 @@ void new_Object (Object object) {
 		objects = newObjects;
 		Error [] newErrors = new Error [errors.length + 128];
 		System.arraycopy (errors, 0, newErrors, 0, errors.length);
-		newErrors [errors.length] = new Error ();
+		newErrors [errors.length] = error;
 		errors = newErrors;
 	}
 }
@@ -942,6 +1065,78 @@ void printErrors () {
 	}
 }
 
+/**
+ * Releases one reference to a color that was returned by
+ * <code>getColor(RGB)</code>. The color is disposed when the last
+ * reference to it is released.
+ *
+ * @param color the shared color to release
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the color is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the color is not shared by the receiver</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getColor(RGB)
+ *
+ * @since 3.106
+ */
+public void releaseColor (Color color) {
+	checkDevice ();
+	if (color == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	boolean [] shared = new boolean [1], last = new boolean [1];
+	if (color.device == this && !color.isDisposed ()) {
+		sharedColors.computeIfPresent (color.getRGB (), (key, value) -> {
+			if (value != color) return value;
+			shared [0] = true;
+			if (--color.sharedCount > 0) return value;
+			last [0] = true;
+			return null;
+		});
+	}
+	if (!shared [0]) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	if (last [0]) color.dispose ();
+}
+
+/**
+ * Releases one reference to a font that was returned by
+ * <code>getFont(FontData)</code>. The font is disposed when the last
+ * reference to it is released.
+ *
+ * @param font the shared font to release
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the font is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the font is not shared by the receiver</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getFont(FontData)
+ *
+ * @since 3.106
+ */
+public void releaseFont (Font font) {
+	checkDevice ();
+	if (font == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	boolean [] shared = new boolean [1], last = new boolean [1];
+	if (font.device == this && font.sharedKey != null) {
+		sharedFonts.computeIfPresent (font.sharedKey, (key, value) -> {
+			if (value != font) return value;
+			shared [0] = true;
+			if (--font.sharedCount > 0) return value;
+			last [0] = true;
+			return null;
+		});
+	}
+	if (!shared [0]) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	if (last [0]) font.dispose ();
+}
+
 /**
  * Releases any internal resources back to the operating
  * system and clears all fields except the device handle.
@@ -966,6 +1161,18 @@ void printErrors () {
  * @see #destroy
  */
 protected void release () {
+	/* Dispose the shared colors and fonts that are still in use */
+	for (Color color : sharedColors.values ()) {
+		color.sharedCount = 0;
+		color.dispose ();
+	}
+	sharedColors.clear ();
+	for (Font font : sharedFonts.values ()) {
+		font.sharedCount = 0;
+		font.dispose ();
+	}
+	sharedFonts.clear ();
+
 	if (gdipToken != null) {
 		if (fontCollection != 0) {
 			Gdip.PrivateFontCollection_delete(fontCollection);
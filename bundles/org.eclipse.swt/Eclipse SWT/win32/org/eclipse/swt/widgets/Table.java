@@ -85,7 +85,7 @@ public class Table extends Composite {
 	boolean customDraw, dragStarted, explorerTheme, firstColumnImage, fixScrollWidth, tipRequested, wasSelected, wasResized, painted;
 	boolean ignoreActivate, ignoreSelect, ignoreShrink, ignoreResize, ignoreColumnMove, ignoreColumnResize, fullRowSelect, settingItemHeight;
 	boolean headerItemDragging;
-	int itemHeight, lastIndexOf, lastWidth, sortDirection, resizeCount, selectionForeground, hotIndex;
+	int itemHeight, lastIndexOf, lastWidth, sortDirection, resizeCount, selectionForeground, hotIndex, updateCount;
 	int headerBackground = -1;
 	int headerForeground = -1;
 	static /*final*/ long /*int*/ HeaderProc;
@@ -448,6 +448,31 @@ public void addSelectionListener (SelectionListener listener) {
 	addListener (SWT.DefaultSelection,typedListener);
 }
 
+/**
+ * Starts a batch of changes to the items of the receiver. Until the
+ * matching call to <code>endUpdate()</code>, the receiver is not drawn,
+ * so that adding, removing and changing items does not redraw the
+ * receiver once for every item.
+ * <p>
+ * Calls to this method may be nested; the batch ends with the outermost
+ * call to <code>endUpdate()</code>.
+ * </p>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #endUpdate()
+ *
+ * @since 3.106
+ */
+public void beginUpdate () {
+	checkWidget ();
+	if (updateCount++ != 0) return;
+	setRedraw (false);
+}
+
 @Override
 long /*int*/ callWindowProc (long /*int*/ hwnd, int msg, long /*int*/ wParam, long /*int*/ lParam) {
 	return callWindowProc (hwnd, msg, wParam, lParam, false);
@@ -2241,6 +2266,26 @@ void destroyItem (TableItem item) {
 	setDeferResize (false);
 }
 
+/**
+ * Ends a batch of changes to the items of the receiver that was started
+ * with <code>beginUpdate()</code>. When the outermost batch ends, the
+ * receiver is redrawn.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #beginUpdate()
+ *
+ * @since 3.106
+ */
+public void endUpdate () {
+	checkWidget ();
+	if (updateCount == 0 || --updateCount != 0) return;
+	setRedraw (true);
+}
+
 void fixCheckboxImageList (boolean fixScroll) {
 	/*
 	* Bug in Windows.  When the state image list is larger than the
@@ -4811,6 +4856,58 @@ public void setItemCount (int count) {
 	setDeferResize (false);
 }
 
+/**
+ * Sets the texts of consecutive items in the receiver, starting with
+ * the item at the given zero-relative index. Each row of the array
+ * holds the texts of one item, indexed by column. A <code>null</code>
+ * text leaves the text of that cell unchanged. When the rows extend past
+ * the last item, items are added to the receiver as if by
+ * <code>setItemCount()</code>.
+ * <p>
+ * This is equivalent to calling <code>TableItem.setText(String[])</code>
+ * for every row. The rows are written in a batch, see
+ * <code>beginUpdate()</code>.
+ * </p>
+ *
+ * @param start the index of the first item to set
+ * @param rows the texts of the items
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rows are null</li>
+ *    <li>ERROR_INVALID_RANGE - if the start index is not between 0 and the number of elements in the list (inclusive)</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see TableItem#setText(String[])
+ *
+ * @since 3.106
+ */
+public void setItems (int start, String [][] rows) {
+	checkWidget ();
+	if (rows == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int itemCount = getItemCount ();
+	if (!(0 <= start && start <= itemCount)) error (SWT.ERROR_INVALID_RANGE);
+	if (rows.length == 0) return;
+	beginUpdate ();
+	try {
+		if (start + rows.length > itemCount) setItemCount (start + rows.length);
+		int count = Math.max (1, columnCount);
+		for (int i = 0; i < rows.length; i++) {
+			String [] row = rows [i];
+			if (row == null) continue;
+			TableItem item = _getItem (start + i);
+			for (int j = 0; j < Math.min (count, row.length); j++) {
+				if (row [j] != null) item.setText (j, row [j]);
+			}
+		}
+	} finally {
+		endUpdate ();
+	}
+}
+
 void setItemHeight (boolean fixScroll) {
 	/*
 	* Bug in Windows.  Making any change to an item that
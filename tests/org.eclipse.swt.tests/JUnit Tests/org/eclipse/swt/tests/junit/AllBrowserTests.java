@@ -21,6 +21,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	Test_org_eclipse_swt_browser_Browser.class,
+	Test_org_eclipse_swt_browser_JSONParser.class,
 	org.eclipse.swt.tests.junit.browser.Test_BrowserSuite.class,
 })
 public class AllBrowserTests {
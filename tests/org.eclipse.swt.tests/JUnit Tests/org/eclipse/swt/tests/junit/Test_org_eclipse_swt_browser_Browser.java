@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -890,6 +890,52 @@ boolean evaluate_number_helper(Double testNum) {
 	return passed;
 }
 
+/**
+ * Test the evaluateAsync() api that returns a number (Double).
+ * Only wait till success. Otherwise timeout after 3 seconds.
+ */
+@Test
+public void test_evaluateAsync() {
+	assumeFalse(webkit1SkipMsg(), isWebkit1); // Bug 509411
+	final AtomicReference<Object> returnValue = new AtomicReference<>();
+	browser.addProgressListener(new ProgressAdapter() {
+		@Override
+		public void completed(ProgressEvent event) {
+			browser.evaluateAsync("return 123").thenAccept(returnValue::set);
+		}
+	});
+
+	browser.setText("<html><body>HelloWorld</body></html>");
+	shell.open();
+	boolean passed = waitForPassCondition(() -> Double.valueOf(123).equals(returnValue.get()));
+	assertTrue("evaluateAsync did not return a value. Or test timed out.", passed);
+}
+
+/**
+ * Test the evaluateAsync() api that evaluates several scripts at once.
+ * Only wait till success. Otherwise timeout after 3 seconds.
+ */
+@Test
+public void test_evaluateAsync_array() {
+	assumeFalse(webkit1SkipMsg(), isWebkit1); // Bug 509411
+	final AtomicReference<Object[]> returnValue = new AtomicReference<>();
+	browser.addProgressListener(new ProgressAdapter() {
+		@Override
+		public void completed(ProgressEvent event) {
+			browser.evaluateAsync(new String[] {"return 1", "return \"two\"", "return true"}).thenAccept(returnValue::set);
+		}
+	});
+
+	browser.setText("<html><body>HelloWorld</body></html>");
+	shell.open();
+	boolean passed = waitForPassCondition(() -> {
+		Object[] result = returnValue.get();
+		return result != null && result.length == 3 && Double.valueOf(1).equals(result[0])
+				&& "two".equals(result[1]) && Boolean.TRUE.equals(result[2]);
+	});
+	assertTrue("evaluateAsync did not return the values. Or test timed out.", passed);
+}
+
 /**
  * Test the evaluate() api that returns a boolean. Functionality based on Snippet308.
  * Only wait till success. Otherwise timeout after 3 seconds.
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.browser.Browser;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for the JSON parser of the WebKit browser on GTK,
+ * which parses the values of BrowserFunction arguments and evaluate()
+ * when the org.eclipse.swt.browser.WebKitJSON property is set. The parser
+ * is not public, so it is called by reflection.
+ */
+public class Test_org_eclipse_swt_browser_JSONParser {
+	Method parse, parseArguments;
+
+@Before
+public void setUp() throws Exception {
+	Class<?> parser;
+	try {
+		parser = Class.forName("org.eclipse.swt.browser.JSONParser", true, Browser.class.getClassLoader());
+	} catch (ClassNotFoundException e) {
+		parser = null;
+	}
+	assumeTrue("JSONParser is only available on GTK", parser != null);
+	parse = parser.getDeclaredMethod("parse", String.class);
+	parse.setAccessible(true);
+	parseArguments = parser.getDeclaredMethod("parseArguments", String.class);
+	parseArguments.setAccessible(true);
+}
+
+Object parse(String text) {
+	return invoke(parse, text);
+}
+
+Object[] parseArguments(String text) {
+	return (Object[]) invoke(parseArguments, text);
+}
+
+static Object invoke(Method method, String text) {
+	try {
+		return method.invoke(null, text);
+	} catch (InvocationTargetException e) {
+		if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+		throw new AssertionError(e.getCause());
+	} catch (IllegalAccessException e) {
+		throw new AssertionError(e);
+	}
+}
+
+void assertInvalid(String text) {
+	try {
+		parse(text);
+		fail("No exception thrown for " + text);
+	} catch (IllegalArgumentException e) {
+	}
+}
+
+@Test
+public void test_literals() {
+	assertNull(parse("null"));
+	assertEquals(Boolean.TRUE, parse("true"));
+	assertEquals(Boolean.FALSE, parse(" \t\r\nfalse\n"));
+	assertEquals("", parse("\"\""));
+	assertEquals("text", parse("\"text\""));
+}
+
+@Test
+public void test_escapes() {
+	assertEquals("a\"b\\c/d\be\ff\ng\rh\ti", parse("\"a\\\"b\\\\c\\/d\\be\\ff\\ng\\rh\\ti\""));
+	assertEquals("\\", parse("\"\\\\\""));
+	assertEquals("before\nafter", parse("\"before\\nafter\""));
+}
+
+@Test
+public void test_unicodeEscapes() {
+	assertEquals("A", parse("\"\\u0041\""));
+	assertEquals("\u00e9\u00E9", parse("\"\\u00e9\\u00E9\""));
+	assertEquals("\u0000", parse("\"\\u0000\""));
+	/* A character outside the basic plane is escaped as a surrogate pair */
+	assertEquals("x\uD83D\uDE00y", parse("\"x\\uD83D\\uDE00y\""));
+}
+
+@Test
+public void test_numbers() {
+	assertEquals(0.0, parse("0"));
+	assertEquals(42.0, parse("42"));
+	assertEquals(-17.0, parse("-17"));
+	assertEquals(1.5, parse("1.5"));
+	assertEquals(-0.25, parse("-0.25"));
+	assertEquals(1000.0, parse("1e3"));
+	assertEquals(0.001, parse("1E-3"));
+	assertEquals(-250.0, parse("-2.5e+2"));
+	assertEquals(Double.MAX_VALUE, parse("1.7976931348623157e308"));
+}
+
+@Test
+public void test_negativeZero() {
+	Object zero = parse("-0");
+	assertTrue(zero instanceof Double);
+	assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits((Double) zero));
+	zero = parse("-0.0");
+	assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits((Double) zero));
+}
+
+@Test
+public void test_longNumbers() {
+	/* Integers of up to 15 digits are parsed without Double.parseDouble() */
+	assertEquals(123456789012345.0, parse("123456789012345"));
+	assertEquals(-999999999999999.0, parse("-999999999999999"));
+	assertEquals(Double.parseDouble("1234567890123456789"), parse("1234567890123456789"));
+	assertEquals(Double.parseDouble("9007199254740993"), parse("9007199254740993"));
+	assertEquals(Double.parseDouble("-123456789012345678901234567890"), parse("-123456789012345678901234567890"));
+}
+
+@Test
+public void test_topLevelArray() {
+	assertArrayEquals(new Object[0], (Object[]) parse("[]"));
+	assertArrayEquals(new Object[] {1.0, 2.0}, (Object[]) parse("[1,2]"));
+	assertArrayEquals(new Object[] {1.0, "a", null, true}, (Object[]) parse(" [ 1 , \"a\" , null , true ] "));
+	assertArrayEquals(new Object[] {1.0, 2.0}, parseArguments("[1,2]"));
+}
+
+@Test
+public void test_nestedArrays() {
+	Object[] result = (Object[]) parse("[[1,2.5,-3],[],[\"a\",[4]],[[]]]");
+	assertEquals(4, result.length);
+	assertArrayEquals(new double[] {1, 2.5, -3}, (double[]) result[0], 0);
+	assertArrayEquals(new Object[0], (Object[]) result[1]);
+	Object[] mixed = (Object[]) result[2];
+	assertEquals("a", mixed[0]);
+	assertArrayEquals(new double[] {4}, (double[]) mixed[1], 0);
+	assertArrayEquals(new Object[] {new Object[0]}, (Object[]) result[3]);
+}
+
+@Test
+public void test_numberArraySwitchesToObjects() {
+	/* A nested array of numbers becomes an Object[] at its first other element */
+	Object[] result = (Object[]) parse("[[1,2,null,3],[4,\"5\"],[6,[7]]]");
+	assertArrayEquals(new Object[] {1.0, 2.0, null, 3.0}, (Object[]) result[0]);
+	assertArrayEquals(new Object[] {4.0, "5"}, (Object[]) result[1]);
+	Object[] nested = (Object[]) result[2];
+	assertEquals(6.0, nested[0]);
+	assertArrayEquals(new double[] {7}, (double[]) nested[1], 0);
+
+	/* Arrays that grow past their initial capacity, before and after the switch */
+	StringBuilder numbers = new StringBuilder("[[");
+	double[] expected = new double[40];
+	for (int i = 0; i < expected.length; i++) {
+		if (i > 0) numbers.append(',');
+		numbers.append(i);
+		expected[i] = i;
+	}
+	String text = numbers.toString();
+	assertArrayEquals(expected, (double[]) ((Object[]) parse(text + "]]"))[0], 0);
+	Object[] objects = (Object[]) ((Object[]) parse(text + ",\"x\"]]"))[0];
+	assertEquals(expected.length + 1, objects.length);
+	for (int i = 0; i < expected.length; i++) {
+		assertEquals(expected[i], objects[i]);
+	}
+	assertEquals("x", objects[expected.length]);
+}
+
+@Test
+public void test_malformed() {
+	String[] texts = {
+		"", " ", "[", "]", "[1,]", "[,1]", "[1 2]", "[1]]", "{}", "{\"a\":1}",
+		"tru", "nul", "True", "undefined", "1 2", "\"abc", "\"abc\\\"", "\"\\x\"",
+		"\"\\u12\"", "\"\\u12g4\"", "\"\\u+123\"", "-", "+1", ".5", "1e", "1.2.3", "--1", "0x10",
+	};
+	for (String text : texts) {
+		assertInvalid(text);
+	}
+	try {
+		parseArguments("1");
+		fail("No exception thrown for arguments that are not an array");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
+}
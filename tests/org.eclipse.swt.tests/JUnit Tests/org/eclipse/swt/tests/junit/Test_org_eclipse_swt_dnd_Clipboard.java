@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Supplier;
+
+import org.eclipse.swt.dnd.ChannelTransfer;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.DND;
+import org.eclipse.swt.dnd.RTFTransfer;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.dnd.TransferData;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.dnd.Clipboard
+ *
+ * @see org.eclipse.swt.dnd.Clipboard
+ */
+public class Test_org_eclipse_swt_dnd_Clipboard {
+	Display display;
+	Clipboard clipboard;
+
+static class TestChannelTransfer extends ChannelTransfer {
+	static final String TYPE_NAME = "org.eclipse.swt.tests.junit.channel";
+	static final int TYPE_ID = registerType(TYPE_NAME);
+	static final TestChannelTransfer INSTANCE = new TestChannelTransfer();
+
+	@Override
+	protected int[] getTypeIds() {
+		return new int[] {TYPE_ID};
+	}
+
+	@Override
+	protected String[] getTypeNames() {
+		return new String[] {TYPE_NAME};
+	}
+}
+
+@Before
+public void setUp() {
+	display = Display.getDefault();
+	clipboard = new Clipboard(display);
+}
+
+@After
+public void tearDown() {
+	clipboard.dispose();
+}
+
+static byte[] read(ReadableByteChannel channel) throws IOException {
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	ByteBuffer buffer = ByteBuffer.allocate(1000);
+	try {
+		while (channel.read(buffer) != -1) {
+			buffer.flip();
+			out.write(buffer.array(), 0, buffer.limit());
+			buffer.clear();
+		}
+	} finally {
+		channel.close();
+	}
+	return out.toByteArray();
+}
+
+/* Runs the event loop until the condition holds or a few seconds have passed */
+void waitFor(Supplier<Boolean> condition) {
+	long end = System.currentTimeMillis() + 5000;
+	while (!condition.get() && System.currentTimeMillis() < end) {
+		if (!display.readAndDispatch()) display.sleep();
+	}
+}
+
+@Test
+public void test_ChannelTransfer_getContentsTwice() throws IOException {
+	byte[] data = new byte[200000];
+	for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+	Supplier<ReadableByteChannel> supplier = () -> Channels.newChannel(new ByteArrayInputStream(data));
+	clipboard.setContents(new Object[] {supplier}, new Transfer[] {TestChannelTransfer.INSTANCE}, DND.CLIPBOARD);
+
+	// the data is converted again for every paste, from a new channel
+	for (int i = 0; i < 2; i++) {
+		ReadableByteChannel channel = (ReadableByteChannel) clipboard.getContents(TestChannelTransfer.INSTANCE, DND.CLIPBOARD);
+		assertArrayEquals(data, read(channel));
+	}
+}
+
+@Test
+public void test_setContentSuppliers() {
+	int[] calls = new int[2];
+	Supplier<?> text = () -> {
+		calls[0]++;
+		return "Hello World";
+	};
+	Supplier<?> rtf = () -> {
+		calls[1]++;
+		return null;
+	};
+	clipboard.setContentSuppliers(new Supplier<?>[] {text, rtf}, new Transfer[] {TextTransfer.getInstance(), RTFTransfer.getInstance()}, DND.CLIPBOARD);
+	for (int i = 0; i < 2; i++) {
+		assertEquals("Hello World", clipboard.getContents(TextTransfer.getInstance(), DND.CLIPBOARD));
+		assertNull(clipboard.getContents(RTFTransfer.getInstance(), DND.CLIPBOARD));
+	}
+	// a supplier is invoked once, also when it provides no data
+	assertEquals(1, calls[0]);
+	assertEquals(1, calls[1]);
+}
+
+@Test
+public void test_getContentsAsync() {
+	clipboard.setContents(new Object[] {"Hello World"}, new Transfer[] {TextTransfer.getInstance()}, DND.CLIPBOARD);
+	Object[] result = new Object[1];
+	boolean[] called = new boolean[1];
+	clipboard.getContentsAsync(TextTransfer.getInstance(), DND.CLIPBOARD, data -> {
+		result[0] = data;
+		called[0] = true;
+	});
+	// the consumer is called from the event loop, not before the method returns
+	assertFalse(called[0]);
+	waitFor(() -> called[0]);
+	assertTrue(called[0]);
+	assertEquals("Hello World", result[0]);
+}
+
+@Test
+public void test_getContentsAsync_unavailableType() {
+	clipboard.setContents(new Object[] {"Hello World"}, new Transfer[] {TextTransfer.getInstance()}, DND.CLIPBOARD);
+	Object[] result = new Object[] {this};
+	clipboard.getContentsAsync(RTFTransfer.getInstance(), data -> result[0] = data);
+	waitFor(() -> result[0] != this);
+	assertNull(result[0]);
+}
+
+@Test
+public void test_getAvailableTypesAsync() {
+	clipboard.setContents(new Object[] {"Hello World"}, new Transfer[] {TextTransfer.getInstance()}, DND.CLIPBOARD);
+	TransferData[][] result = new TransferData[1][];
+	clipboard.getAvailableTypesAsync(DND.CLIPBOARD, types -> result[0] = types);
+	waitFor(() -> result[0] != null);
+	boolean text = false;
+	for (TransferData type : result[0]) {
+		if (TextTransfer.getInstance().isSupportedType(type)) text = true;
+	}
+	assertTrue(text);
+}
+
+@Test
+public void test_getContentsAsync_disposed() {
+	clipboard.setContents(new Object[] {"Hello World"}, new Transfer[] {TextTransfer.getInstance()}, DND.CLIPBOARD);
+	boolean[] called = new boolean[1];
+	Clipboard other = new Clipboard(display);
+	other.getContentsAsync(TextTransfer.getInstance(), data -> called[0] = true);
+	other.dispose();
+	// a runnable posted after the request runs after it
+	boolean[] done = new boolean[1];
+	display.asyncExec(() -> done[0] = true);
+	waitFor(() -> done[0]);
+	assertFalse(called[0]);
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,9 @@
 package org.eclipse.swt.tests.junit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -454,6 +456,37 @@ public void test_toString() {
 	}
 }
 
+@Test
+public void test_sharedColor() {
+	Color color = display.getColor(new RGB(10, 20, 30));
+	assertSame(color, display.getColor(new RGB(10, 20, 30)));
+	assertEquals(new RGB(10, 20, 30), color.getRGB());
+
+	// dispose() has no effect on a shared color
+	color.dispose();
+	assertFalse(color.isDisposed());
+
+	// the color is disposed when the last reference is released
+	display.releaseColor(color);
+	assertFalse(color.isDisposed());
+	display.releaseColor(color);
+	assertTrue(color.isDisposed());
+	try {
+		display.releaseColor(color);
+		fail("No exception thrown for a color that is no longer shared");
+	} catch (IllegalArgumentException e) {
+	}
+
+	Color other = new Color(display, 10, 20, 30);
+	try {
+		display.releaseColor(other);
+		fail("No exception thrown for a color that is not shared");
+	} catch (IllegalArgumentException e) {
+	} finally {
+		other.dispose();
+	}
+}
+
 /* custom */
 Display display;
 }
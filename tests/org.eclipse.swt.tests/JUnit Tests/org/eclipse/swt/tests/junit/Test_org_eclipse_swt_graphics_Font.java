@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ package org.eclipse.swt.tests.junit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -354,4 +355,26 @@ public void test_toString() {
 	assertNotNull(font.toString());
 }
 
+@Test
+public void test_sharedFont() {
+	FontData data = new FontData(SwtTestUtil.testFontName, 10, SWT.BOLD);
+	Font font = display.getFont(data);
+	assertSame(font, display.getFont(new FontData(SwtTestUtil.testFontName, 10, SWT.BOLD)));
+
+	// dispose() has no effect on a shared font
+	font.dispose();
+	assertFalse(font.isDisposed());
+
+	// the font is disposed when the last reference is released
+	display.releaseFont(font);
+	assertFalse(font.isDisposed());
+	display.releaseFont(font);
+	assertTrue(font.isDisposed());
+	try {
+		display.releaseFont(font);
+		fail("No exception thrown for a font that is no longer shared");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
 }
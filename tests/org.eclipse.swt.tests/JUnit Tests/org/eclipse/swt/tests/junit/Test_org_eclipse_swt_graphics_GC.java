@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
@@ -637,6 +642,58 @@ public void test_textExtentLjava_lang_StringI() {
 	assertTrue(pt.y > 0);
 }
 
+@Test
+public void test_textExtent_measuredOnWorkerThread() throws Exception {
+	/* The text measurer of the device only exists on GTK */
+	Object measurer = display.getData("org.eclipse.swt.internal.gtk.textMeasurer");
+	if (measurer == null) return;
+	Method textExtent = measurer.getClass().getMethod("textExtent", Font.class, String.class, int.class);
+	String text = "a&bc\tdef\nghi";
+	int flags = SWT.DRAW_MNEMONIC | SWT.DRAW_TAB | SWT.DRAW_DELIMITER;
+	Font font = new Font(display, "Sans", 12, SWT.NORMAL);
+	try {
+		gc.setFont(font);
+		Point expected = gc.textExtent(text, flags);
+		Point measured = CompletableFuture.supplyAsync(() -> {
+			try {
+				return (Point) textExtent.invoke(measurer, font, text, flags);
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+		}).get();
+		assertEquals(expected, measured);
+	} finally {
+		gc.setFont(null);
+		font.dispose();
+	}
+	/* A disposed font is not measured, even if its extents were cached */
+	try {
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return textExtent.invoke(measurer, font, text, flags);
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+		}).get();
+		fail("No exception thrown for a disposed font");
+	} catch (ExecutionException e) {
+		Throwable cause = e.getCause().getCause();
+		assertTrue(cause instanceof InvocationTargetException);
+		assertSWTProblem("Incorrect exception thrown for a disposed font", SWT.ERROR_INVALID_ARGUMENT, cause.getCause());
+	}
+	/* A font that may reuse the handle of the disposed one is measured again */
+	Font largeFont = new Font(display, "Sans", 24, SWT.NORMAL);
+	try {
+		gc.setFont(largeFont);
+		Point large = gc.textExtent(text, flags);
+		assertEquals(large, textExtent.invoke(measurer, largeFont, text, flags));
+		assertTrue(large.y > gc.getFontMetrics().getHeight());
+	} finally {
+		gc.setFont(null);
+		largeFont.dispose();
+	}
+}
+
 @Test
 public void test_toString() {
 	String s = gc.toString();
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.swt.internal.LongHashMap;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.internal.LongHashMap
+ *
+ * @see org.eclipse.swt.internal.LongHashMap
+ */
+public class Test_org_eclipse_swt_internal_LongHashMap {
+
+/* The slot of a key in a table of the given capacity, computed like LongHashMap does */
+static int slot(long key, int capacity) {
+	key ^= key >>> 33;
+	key *= 0xff51afd7ed558ccdL;
+	key ^= key >>> 33;
+	return (int) key & (capacity - 1);
+}
+
+/* Returns count keys that go to the given slot of a table of the given capacity */
+static long[] keysInSlot(int slot, int capacity, int count) {
+	long[] keys = new long[count];
+	int found = 0;
+	for (long key = 1; found < count; key++) {
+		if (slot(key, capacity) == slot) keys[found++] = key;
+	}
+	return keys;
+}
+
+static void assertMap(Map<Long, String> expected, LongHashMap<String> map) {
+	assertEquals(expected.size(), map.size());
+	assertEquals(expected.isEmpty(), map.isEmpty());
+	for (Map.Entry<Long, String> entry : expected.entrySet()) {
+		assertTrue(map.containsKey(entry.getKey()));
+		assertEquals(entry.getValue(), map.get(entry.getKey()));
+	}
+	long[] keys = map.keys();
+	Arrays.sort(keys);
+	long[] expectedKeys = new long[expected.size()];
+	int index = 0;
+	for (long key : expected.keySet()) expectedKeys[index++] = key;
+	Arrays.sort(expectedKeys);
+	assertTrue(Arrays.equals(expectedKeys, keys));
+	List<String> values = new ArrayList<>();
+	for (String value : map) values.add(value);
+	List<String> expectedValues = new ArrayList<>(expected.values());
+	values.sort(null);
+	expectedValues.sort(null);
+	assertEquals(expectedValues, values);
+	List<String> copiedValues = map.values();
+	copiedValues.sort(null);
+	assertEquals(expectedValues, copiedValues);
+}
+
+@Test
+public void test_putGetRemove() {
+	LongHashMap<String> map = new LongHashMap<>();
+	assertTrue(map.isEmpty());
+	assertNull(map.get(1));
+	assertNull(map.put(1, "one"));
+	assertEquals("one", map.put(1, "uno"));
+	assertEquals("uno", map.get(1));
+	assertEquals(1, map.size());
+	assertNull(map.remove(2));
+	assertEquals("uno", map.remove(1));
+	assertNull(map.remove(1));
+	assertFalse(map.containsKey(1));
+	assertTrue(map.isEmpty());
+}
+
+@Test
+public void test_zeroAndNegativeKeys() {
+	LongHashMap<String> map = new LongHashMap<>();
+	Map<Long, String> expected = new HashMap<>();
+	assertFalse(map.containsKey(0));
+	map.put(0, null);
+	expected.put(0L, null);
+	assertTrue(map.containsKey(0));
+	assertMap(expected, map);
+	for (long key : new long[] {0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 0xffffffffL}) {
+		map.put(key, Long.toString(key));
+		expected.put(key, Long.toString(key));
+	}
+	assertMap(expected, map);
+	assertEquals("0", map.remove(0));
+	expected.remove(0L);
+	assertFalse(map.containsKey(0));
+	assertMap(expected, map);
+}
+
+@Test
+public void test_collisions() {
+	LongHashMap<String> map = new LongHashMap<>();
+	Map<Long, String> expected = new HashMap<>();
+	/* The default map holds 8 keys in 16 slots without growing */
+	long[] keys = keysInSlot(15, 16, 4);
+	long[] next = keysInSlot(0, 16, 2);
+	for (long key : keys) {
+		map.put(key, "a" + key);
+		expected.put(key, "a" + key);
+	}
+	for (long key : next) {
+		map.put(key, "b" + key);
+		expected.put(key, "b" + key);
+	}
+	assertMap(expected, map);
+	for (long key : keysInSlot(15, 16, 8)) {
+		if (!expected.containsKey(key)) assertNull(map.get(key));
+	}
+}
+
+@Test
+public void test_removeRehashesRun() {
+	/* A run that wraps around the end of the table and mixes two home slots */
+	long[] keys = keysInSlot(14, 16, 3);
+	long[] next = keysInSlot(15, 16, 2);
+	long[] wrapped = keysInSlot(0, 16, 2);
+	long[] all = new long[] {keys[0], next[0], keys[1], wrapped[0], keys[2], next[1], wrapped[1]};
+	for (int removed = 0; removed < all.length; removed++) {
+		LongHashMap<String> map = new LongHashMap<>();
+		Map<Long, String> expected = new HashMap<>();
+		for (long key : all) {
+			map.put(key, "v" + key);
+			expected.put(key, "v" + key);
+		}
+		assertEquals("v" + all[removed], map.remove(all[removed]));
+		expected.remove(all[removed]);
+		assertMap(expected, map);
+		assertNull(map.get(all[removed]));
+		/* The slot that was freed can be used again */
+		map.put(all[removed], "w");
+		expected.put(all[removed], "w");
+		assertMap(expected, map);
+	}
+}
+
+@Test
+public void test_growth() {
+	LongHashMap<String> map = new LongHashMap<>(4);
+	Map<Long, String> expected = new HashMap<>();
+	for (long key = 1; key <= 10000; key++) {
+		long handle = key << 4;
+		map.put(handle, Long.toString(handle));
+		expected.put(handle, Long.toString(handle));
+		if (Long.bitCount(key) == 1) assertMap(expected, map);
+	}
+	assertMap(expected, map);
+	for (long key = 1; key <= 10000; key += 2) {
+		long handle = key << 4;
+		assertEquals(Long.toString(handle), map.remove(handle));
+		expected.remove(handle);
+	}
+	assertMap(expected, map);
+	map.clear();
+	expected.clear();
+	assertMap(expected, map);
+	map.put(16, "16");
+	assertEquals("16", map.get(16));
+}
+
+@Test
+public void test_randomOperations() {
+	Random random = new Random(1);
+	LongHashMap<String> map = new LongHashMap<>();
+	Map<Long, String> expected = new HashMap<>();
+	for (int i = 0; i < 20000; i++) {
+		/* Few distinct keys, so that removals break up runs of colliding keys */
+		long key = random.nextInt(64) - 8;
+		if (random.nextInt(3) == 0) {
+			assertEquals(expected.remove(key), map.remove(key));
+		} else {
+			String value = Integer.toString(i);
+			assertEquals(expected.put(key, value), map.put(key, value));
+		}
+		assertEquals(expected.size(), map.size());
+		if (i % 1000 == 0) assertMap(expected, map);
+	}
+	assertMap(expected, map);
+}
+
+}
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.layout.GridLayout
+ * <p>
+ * The children are changed between layouts, so that the grid that the
+ * layout keeps from the previous pass has to be built again.
+ * </p>
+ *
+ * @see org.eclipse.swt.layout.GridLayout
+ */
+public class Test_org_eclipse_swt_layout_GridLayout {
+	Shell shell;
+	Composite composite;
+	GridLayout layout;
+	Control a, b, c;
+
+@Before
+public void setUp() {
+	shell = new Shell();
+	composite = new Composite(shell, SWT.NONE);
+	layout = new GridLayout(2, false);
+	layout.marginWidth = layout.marginHeight = 0;
+	layout.horizontalSpacing = layout.verticalSpacing = 5;
+	composite.setLayout(layout);
+	composite.setSize(200, 200);
+	a = child(10, 10);
+	b = child(20, 10);
+	c = child(10, 20);
+}
+
+@After
+public void tearDown() {
+	shell.dispose();
+}
+
+Control child(int width, int height) {
+	Composite child = new Composite(composite, SWT.NONE);
+	GridData data = new GridData(width, height);
+	data.verticalAlignment = SWT.TOP;
+	child.setLayoutData(data);
+	return child;
+}
+
+static GridData data(Control control) {
+	return (GridData) control.getLayoutData();
+}
+
+static void assertBounds(int x, int y, int width, int height, Control control) {
+	assertEquals(new Rectangle(x, y, width, height), control.getBounds());
+}
+
+void assertInitialBounds() {
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(15, 0, 20, 10, b);
+	assertBounds(0, 15, 10, 20, c);
+}
+
+@Test
+public void test_layout() {
+	composite.layout(true);
+	assertInitialBounds();
+	/* Laying out again without changes keeps the bounds */
+	composite.layout(false);
+	assertInitialBounds();
+}
+
+@Test
+public void test_addChild() {
+	composite.layout(true);
+	Control d = child(30, 10);
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(15, 0, 20, 10, b);
+	assertBounds(0, 15, 10, 20, c);
+	assertBounds(15, 15, 30, 10, d);
+}
+
+@Test
+public void test_removeChild() {
+	composite.layout(true);
+	a.dispose();
+	composite.layout(true);
+	assertBounds(0, 0, 20, 10, b);
+	assertBounds(25, 0, 10, 20, c);
+
+	/* A new child in place of the disposed one */
+	Control d = child(10, 10);
+	d.moveAbove(b);
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, d);
+	assertBounds(15, 0, 20, 10, b);
+	assertBounds(0, 15, 10, 20, c);
+}
+
+@Test
+public void test_excludeChild() {
+	composite.layout(true);
+	data(b).exclude = true;
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(15, 0, 10, 20, c);
+
+	data(b).exclude = false;
+	composite.layout(true);
+	assertInitialBounds();
+}
+
+@Test
+public void test_changeHorizontalSpan() {
+	composite.layout(true);
+	data(a).horizontalSpan = 2;
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(0, 15, 20, 10, b);
+	assertBounds(25, 15, 10, 20, c);
+
+	data(a).horizontalSpan = 1;
+	composite.layout(true);
+	assertInitialBounds();
+}
+
+@Test
+public void test_changeVerticalSpan() {
+	composite.layout(true);
+	data(a).verticalSpan = 2;
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(15, 0, 20, 10, b);
+	assertBounds(15, 15, 10, 20, c);
+
+	data(a).verticalSpan = 1;
+	composite.layout(true);
+	assertInitialBounds();
+}
+
+@Test
+public void test_replaceLayoutData() {
+	composite.layout(true);
+	GridData data = new GridData(10, 10);
+	data.verticalAlignment = SWT.TOP;
+	data.horizontalSpan = 2;
+	a.setLayoutData(data);
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(0, 15, 20, 10, b);
+	assertBounds(25, 15, 10, 20, c);
+}
+
+@Test
+public void test_reorderChildren() {
+	composite.layout(true);
+	c.moveAbove(a);
+	composite.layout(true);
+	assertBounds(0, 0, 10, 20, c);
+	assertBounds(25, 0, 10, 10, a);
+	assertBounds(0, 25, 20, 10, b);
+}
+
+@Test
+public void test_changeNumColumns() {
+	composite.layout(true);
+	layout.numColumns = 3;
+	composite.layout(true);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(15, 0, 20, 10, b);
+	assertBounds(40, 0, 10, 20, c);
+
+	layout.numColumns = 2;
+	composite.layout(true);
+	assertInitialBounds();
+}
+
+@Test
+public void test_resize() {
+	data(b).horizontalAlignment = SWT.FILL;
+	data(b).grabExcessHorizontalSpace = true;
+	composite.setSize(100, 100);
+	composite.layout(true);
+	assertBounds(15, 0, 85, 10, b);
+	/* Only the bounds change, the children stay in their cells */
+	composite.setSize(150, 100);
+	composite.layout(false);
+	assertBounds(0, 0, 10, 10, a);
+	assertBounds(15, 0, 135, 10, b);
+	assertBounds(0, 15, 10, 20, c);
+}
+
+@Test
+public void test_minimumWidth() {
+	layout.numColumns = 1;
+	a.dispose();
+	b.dispose();
+	GridData data = data(c);
+	data.widthHint = SWT.DEFAULT;
+	data.grabExcessHorizontalSpace = true;
+	data.minimumWidth = 100;
+	assertEquals(100, composite.computeSize(SWT.DEFAULT, SWT.DEFAULT, true).x);
+	/* Flushing the cache measures the child again for the new minimum */
+	data.minimumWidth = 150;
+	assertEquals(150, composite.computeSize(SWT.DEFAULT, SWT.DEFAULT, true).x);
+}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -406,6 +406,108 @@ public void test_setItemCountI() {
 	tree.getItem(39);
 }
 
+@Test
+public void test_indexOf_frontInserts() {
+	// inserting far from the end of the siblings drops their cached indices
+	int count = 200;
+	for (int i = 0; i < count; i++) {
+		TreeItem item = new TreeItem(tree, SWT.NONE, 0);
+		item.setText("Item " + i);
+		assertEquals(item, tree.getItem(0));
+		assertEquals(0, tree.indexOf(item));
+	}
+	for (int i = 0; i < count; i += 7) {
+		TreeItem item = tree.getItem(i);
+		assertEquals("Item " + (count - 1 - i), item.getText());
+		assertEquals(i, tree.indexOf(item));
+		assertNull(item.getParentItem());
+	}
+	TreeItem[] items = tree.getItems();
+	for (int i = 0; i < count; i++) {
+		assertEquals(tree.getItem(i), items[i]);
+		assertEquals(i, tree.indexOf(items[i]));
+	}
+	// remove from the front, one item at a time
+	for (int i = 0; i < 100; i++) {
+		tree.getItem(0).dispose();
+		assertEquals(count - 1 - i, tree.getItemCount());
+		assertEquals(items[i + 1], tree.getItem(0));
+		assertEquals(0, tree.indexOf(items[i + 1]));
+	}
+	assertEquals(count - 1 - 100, tree.indexOf(items[count - 1]));
+}
+
+@Test
+public void test_indexOf_readsAfterFarInsert() {
+	// the cached children are fetched again after a few lookups in the model
+	TreeItem parent = new TreeItem(tree, SWT.NONE);
+	int count = 100;
+	for (int i = 0; i < count; i++) {
+		new TreeItem(parent, SWT.NONE).setText("Item " + i);
+	}
+	TreeItem first = new TreeItem(parent, SWT.NONE, 0);
+	for (int pass = 0; pass < 3; pass++) {
+		for (int i = 0; i < count; i++) {
+			TreeItem item = parent.getItem(i + 1);
+			assertEquals("Item " + i, item.getText());
+			assertEquals(i + 1, parent.indexOf(item));
+			assertEquals(parent, item.getParentItem());
+		}
+	}
+	assertEquals(0, parent.indexOf(first));
+	// another far insert drops the children that were fetched again
+	TreeItem second = new TreeItem(parent, SWT.NONE, 1);
+	assertEquals(second, parent.getItem(1));
+	assertEquals(2, parent.indexOf(parent.getItem(2)));
+	assertEquals("Item 0", parent.getItem(2).getText());
+	assertEquals(count + 2, parent.getItemCount());
+	assertEquals(count + 1, parent.indexOf(parent.getItem(count + 1)));
+}
+
+@Test
+public void test_setItemCount_removeRange() {
+	int count = 200;
+	TreeItem[] items = new TreeItem[count];
+	for (int i = 0; i < count; i++) {
+		items[i] = new TreeItem(tree, SWT.NONE);
+		items[i].setText("Item " + i);
+	}
+	// removes the items from 50 to the end with a single range
+	tree.setItemCount(50);
+	assertEquals(50, tree.getItemCount());
+	for (int i = 0; i < count; i++) {
+		assertEquals(i >= 50, items[i].isDisposed());
+	}
+	for (int i = 0; i < 50; i++) {
+		assertEquals(items[i], tree.getItem(i));
+		assertEquals(i, tree.indexOf(items[i]));
+	}
+	tree.setItemCount(count);
+	assertEquals(count, tree.getItemCount());
+	assertEquals(49, tree.indexOf(items[49]));
+	assertEquals(150, tree.indexOf(tree.getItem(150)));
+}
+
+@Test
+public void test_indexOf_virtual() {
+	tree = new Tree(shell, SWT.VIRTUAL);
+	int count = 300;
+	tree.setItemCount(count);
+	// rows of a virtual tree get their item when it is requested
+	TreeItem item = tree.getItem(250);
+	assertEquals(250, tree.indexOf(item));
+	assertNull(item.getParentItem());
+	new TreeItem(tree, SWT.NONE, 0);
+	assertEquals(count + 1, tree.getItemCount());
+	assertEquals(item, tree.getItem(251));
+	assertEquals(251, tree.indexOf(item));
+	TreeItem[] items = tree.getItems();
+	assertEquals(count + 1, items.length);
+	for (int i = 0; i < items.length; i += 10) {
+		assertEquals(i, tree.indexOf(items[i]));
+	}
+}
+
 @Test
 public void test_setLinesVisibleZ() {
 	assertFalse(tree.getLinesVisible());
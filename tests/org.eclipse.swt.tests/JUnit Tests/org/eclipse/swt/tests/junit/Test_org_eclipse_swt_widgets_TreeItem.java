@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -690,6 +690,52 @@ public void test_getItems() {
 	}
 }
 
+@Test
+public void test_getParentItem_frontInserts() {
+	// inserting far from the end of the siblings drops their cached indices
+	int count = 200;
+	for (int i = 0; i < count; i++) {
+		TreeItem item = new TreeItem(treeItem, SWT.NONE, 0);
+		item.setText("Item " + i);
+		assertEquals(item, treeItem.getItem(0));
+		assertEquals(0, treeItem.indexOf(item));
+		assertEquals(treeItem, item.getParentItem());
+	}
+	TreeItem[] items = treeItem.getItems();
+	for (int i = 0; i < count; i++) {
+		assertEquals("Item " + (count - 1 - i), items[i].getText());
+		assertEquals(items[i], treeItem.getItem(i));
+		assertEquals(i, treeItem.indexOf(items[i]));
+		assertEquals(treeItem, items[i].getParentItem());
+	}
+	for (int i = 0; i < 100; i++) {
+		treeItem.getItem(0).dispose();
+	}
+	assertEquals(count - 100, treeItem.getItemCount());
+	assertEquals(items[100], treeItem.getItem(0));
+	assertEquals(count - 101, treeItem.indexOf(items[count - 1]));
+}
+
+@Test
+public void test_setItemCount_removeRange() {
+	int count = 200;
+	TreeItem[] items = new TreeItem[count];
+	for (int i = 0; i < count; i++) {
+		items[i] = new TreeItem(treeItem, SWT.NONE);
+	}
+	treeItem.setItemCount(50);
+	assertEquals(50, treeItem.getItemCount());
+	assertTrue(items[50].isDisposed());
+	for (int i = 0; i < 50; i++) {
+		assertEquals(items[i], treeItem.getItem(i));
+		assertEquals(i, treeItem.indexOf(items[i]));
+	}
+	treeItem.setItemCount(count);
+	TreeItem item = treeItem.getItem(150);
+	assertEquals(150, treeItem.indexOf(item));
+	assertEquals(treeItem, item.getParentItem());
+}
+
 @Test
 public void test_getParent() {
 	assertEquals(tree, treeItem.getParent());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,18 @@
  *******************************************************************************/
 package org.eclipse.swt.tests.junit;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.GC;
@@ -108,6 +114,141 @@ public void test_notifyListenersILorg_eclipse_swt_widgets_Event() {
 	if (gc != null) gc.dispose();
 }
 @Test
+public void test_notifyListeners_hookDuringNotify() {
+	List<String> calls = new ArrayList<>();
+	Listener second = e -> calls.add("second");
+	Listener first = e -> {
+		calls.add("first");
+		if (calls.size() == 1) widget.addListener(e.type, second);
+	};
+	for (int type : new int[] {60, 63, 64, 1000}) {
+		calls.clear();
+		widget.addListener(type, first);
+		widget.notifyListeners(type, new Event());
+		assertEquals(Arrays.asList("first", "second"), calls);
+		assertArrayEquals(new Listener[] {first, second}, widget.getListeners(type));
+		widget.removeListener(type, first);
+		widget.removeListener(type, second);
+		assertFalse(widget.isListening(type));
+	}
+}
+@Test
+public void test_notifyListeners_unhookDuringNotify() {
+	List<String> calls = new ArrayList<>();
+	Listener[] removed = new Listener[1];
+	Listener first = e -> {
+		calls.add("first");
+		widget.removeListener(e.type, removed[0]);
+	};
+	Listener second = e -> calls.add("second");
+	Listener third = e -> calls.add("third");
+	for (int type : new int[] {63, 64, 1000}) {
+		/* the first listener removes the next listener */
+		calls.clear();
+		removed[0] = second;
+		widget.addListener(type, first);
+		widget.addListener(type, second);
+		widget.addListener(type, third);
+		widget.notifyListeners(type, new Event());
+		assertEquals(Arrays.asList("first", "third"), calls);
+		assertArrayEquals(new Listener[] {first, third}, widget.getListeners(type));
+
+		/* the first listener removes itself */
+		calls.clear();
+		removed[0] = first;
+		widget.addListener(type, second);
+		widget.notifyListeners(type, new Event());
+		assertEquals(Arrays.asList("first", "third", "second"), calls);
+		assertArrayEquals(new Listener[] {third, second}, widget.getListeners(type));
+		widget.removeListener(type, second);
+		widget.removeListener(type, third);
+		assertFalse(widget.isListening(type));
+	}
+}
+@Test
+public void test_notifyListeners_unhookDuringNestedNotify() {
+	List<String> calls = new ArrayList<>();
+	int outer = 1000, inner = 63;
+	Listener innerFirst = e -> calls.add("innerFirst");
+	Listener innerThird = e -> calls.add("innerThird");
+	Listener innerSecond = e -> calls.add("innerSecond");
+	Listener outerFirst = e -> {
+		calls.add("outerFirst");
+		widget.removeListener(inner, innerFirst);
+		widget.notifyListeners(inner, new Event());
+		/* the removed listener is only compacted when the outer event is done */
+		widget.addListener(inner, innerThird);
+		assertArrayEquals(new Listener[] {innerSecond, innerThird}, widget.getListeners(inner));
+		widget.removeListener(inner, innerThird);
+		assertArrayEquals(new Listener[] {innerSecond}, widget.getListeners(inner));
+	};
+	Listener outerSecond = e -> calls.add("outerSecond");
+	widget.addListener(outer, outerFirst);
+	widget.addListener(outer, outerSecond);
+	widget.addListener(inner, innerFirst);
+	widget.addListener(inner, innerSecond);
+	widget.notifyListeners(outer, new Event());
+	assertEquals(Arrays.asList("outerFirst", "innerSecond", "outerSecond"), calls);
+
+	/* after the compaction, listeners are still hooked and notified in order */
+	widget.addListener(inner, innerThird);
+	assertArrayEquals(new Listener[] {innerSecond, innerThird}, widget.getListeners(inner));
+	calls.clear();
+	widget.notifyListeners(inner, new Event());
+	assertEquals(Arrays.asList("innerSecond", "innerThird"), calls);
+	widget.removeListener(inner, innerSecond);
+	widget.removeListener(inner, innerThird);
+	assertFalse(widget.isListening(inner));
+	widget.removeListener(outer, outerFirst);
+	widget.removeListener(outer, outerSecond);
+	assertFalse(widget.isListening(outer));
+}
+@Test
+public void test_notifyListeners_stopWhenTypeIsNone() {
+	List<String> calls = new ArrayList<>();
+	Listener first = e -> {
+		calls.add("first");
+		e.type = SWT.None;
+	};
+	Listener second = e -> calls.add("second");
+	for (int type : new int[] {63, 1000}) {
+		calls.clear();
+		widget.addListener(type, first);
+		widget.addListener(type, second);
+		widget.notifyListeners(type, new Event());
+		assertEquals(Arrays.asList("first"), calls);
+		widget.removeListener(type, first);
+		widget.removeListener(type, second);
+	}
+}
+@Test
+public void test_notifyListeners_retargetWhenTypeChanges() {
+	List<String> calls = new ArrayList<>();
+	int first = 63, second = 1000;
+	Listener retarget = e -> {
+		calls.add("retarget " + e.type);
+		e.type = e.type == first ? second : first;
+	};
+	Listener after = e -> calls.add("after " + e.type);
+	Listener other = e -> calls.add("other " + e.type);
+	widget.addListener(first, retarget);
+	widget.addListener(first, after);
+	widget.addListener(second, other);
+	widget.notifyListeners(first, new Event());
+	/* The remaining listeners of the original type are not notified */
+	assertEquals(Arrays.asList("retarget 63", "other 1000"), calls);
+
+	/* Changing the type back to a type that was notified stops the event */
+	calls.clear();
+	widget.addListener(second, retarget);
+	widget.notifyListeners(first, new Event());
+	assertEquals(Arrays.asList("retarget 63", "other 1000", "retarget 1000"), calls);
+	widget.removeListener(first, retarget);
+	widget.removeListener(first, after);
+	widget.removeListener(second, other);
+	widget.removeListener(second, retarget);
+}
+@Test
 public void test_removeListenerILorg_eclipse_swt_widgets_Listener() {
 	// this method is further tested by all of the removeTypedListener tests
 	try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -257,6 +257,40 @@ public void test_imageDrawing() {
 	disposeMeter(meter);
 }
 
+public void test_polylineDrawing() {
+	PerformanceMeter meter = createMeterWithoutSummary("Draw polylines and polygons on an image");
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		int width = 640;
+		int height = 480;
+		Image image = new Image(display, width, height);
+		Color color1 = new Color(display, 0xff, 0, 0xff);
+		Color color2 = new Color(display, 0, 0xff, 0xff);
+		int[] points = new int[2000];
+		for(int i = 0; i < points.length; i += 2) {
+			points[i] = (i * 7) % width;
+			points[i + 1] = (i * 13) % height;
+		}
+		meter.start();
+		GC gc = new GC(image);
+		for(int i = 0; i < 1000; i++) {
+			gc.setForeground((i & 1) == 0 ? color1 : color2);
+			gc.setBackground((i & 1) == 0 ? color2 : color1);
+			gc.drawPolyline(points);
+			gc.fillPolygon(points);
+			gc.drawPolygon(points);
+		}
+		gc.dispose();
+		meter.stop();
+		image.dispose();
+		color1.dispose();
+		color2.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
 public void test_windowDrawing() {
 	PerformanceMeter meter = createMeter("Draw on a window");
 	Performance performance= Performance.getDefault();
@@ -416,6 +450,7 @@ public static java.util.List<String> methodNames() {
 	methodNames.add("test_createComposites");
 	methodNames.add("test_createWidgets");
 	methodNames.add("test_imageDrawing");
+	methodNames.add("test_polylineDrawing");
 	methodNames.add("test_windowDrawing");
 	methodNames.add("test_stringDrawing");
 	methodNames.add("test_fastStringDrawing");
@@ -428,6 +463,7 @@ protected void runTest() {
 	else if (getName().equals("test_createWidgets")) test_createWidgets();
 	else if (getName().equals("test_layout")) test_layout();
 	else if (getName().equals("test_imageDrawing")) test_imageDrawing();
+	else if (getName().equals("test_polylineDrawing")) test_polylineDrawing();
 	else if (getName().equals("test_windowDrawing")) test_windowDrawing();
 	else if (getName().equals("test_stringDrawing")) test_stringDrawing();
 	else if (getName().equals("test_fastStringDrawing")) test_fastStringDrawing();